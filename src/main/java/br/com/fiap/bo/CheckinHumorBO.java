@@ -1,14 +1,36 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.dao.AgregadoHumorDAO;
+import br.com.fiap.dao.AgregadoHumorReativoDAO;
 import br.com.fiap.dao.CheckinHumorDAO;
+import br.com.fiap.dao.DiarioCheckinHumor;
 import br.com.fiap.dao.FuncionarioDAO;
+import br.com.fiap.dao.UnidadeDeTrabalho;
 import br.com.fiap.to.CheckinHumorTO;
-import br.com.fiap.to.FuncionarioTO;
 import br.com.fiap.to.RelatorioHumorTO;
+import br.com.fiap.to.RelatorioQuestionarioTO;
 import br.com.fiap.to.CheckinHumorAnonimoTO;
 import br.com.fiap.exception.AcessoNegadoException;
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.exception.CheckinDuplicadoException;
+import br.com.fiap.exception.FuncionarioInativoException;
+import br.com.fiap.exception.PersistenciaException;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.PerfilAcessoTO;
+import br.com.fiap.to.ResultadoLoteTO;
+import br.com.fiap.to.SerieHumorEquipeTO;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.config.ConfigProvider;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * Gerencia a lógica de negócio do Questionário de Humor.
@@ -17,53 +39,461 @@ import java.util.ArrayList;
 public class CheckinHumorBO {
 
     private final CheckinHumorDAO dao = new CheckinHumorDAO();
+    private final AgregadoHumorDAO agregadoDAO = new AgregadoHumorDAO();
+    private final AgregadoHumorReativoDAO agregadoReativoDAO = new AgregadoHumorReativoDAO();
     private final FuncionarioDAO funcionarioDAO = new FuncionarioDAO();
+    private final FuncionarioBO funcionarioBO = new FuncionarioBO();
     private static final int ID_FUNCAO_RH = 5;
 
+    // Tamanho dos lotes de INSERT (addBatch), entre 1 e o máximo
+    private static final int TAMANHO_LOTE_MAXIMO = 1000;
+    private static final int TAMANHO_LOTE = Math.max(1, Math.min(TAMANHO_LOTE_MAXIMO, ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.lote.tamanho", Integer.class).orElse(500)));
+
+    // Tamanho de página do histórico anonimizado (padrão e teto)
+    private static final int LIMITE_PAGINA_PADRAO = 100;
+    private static final int LIMITE_PAGINA_MAXIMO = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.historico.limite-maximo", Integer.class).orElse(500);
+
+    // Linhas trazidas do banco por round trip na exportação em streaming
+    private static final int FETCH_SIZE_EXPORTACAO = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.exportacao.fetch-size", Integer.class).orElse(1000);
+
+    // Janela padrão e máxima (em dias) das consultas por período do Dashboard
+    private static final int JANELA_SERIE_PADRAO_DIAS = 90;
+    private static final int JANELA_SERIE_MAXIMA_DIAS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.dashboard.serie.janela-maxima-dias", Integer.class).orElse(731);
+
     /**
      * Salva um novo Check-in. Impede registros duplicados na mesma data.
-     * @return O CheckinHumorTO salvo ou null se já houver registro na data.
+     * A unicidade diária é verificada pelo próprio INSERT (constraint UK_H_HUMOR_FUNC_DATA),
+     * em um único comando, sem consulta prévia. O agregado por equipe do Dashboard é
+     * atualizado na mesma transação.
+     * @return O CheckinHumorTO salvo ou null em caso de erro de persistência.
+     * @throws CheckinDuplicadoException Se já houver registro do funcionário na data.
+     * @throws FuncionarioInativoException Se o funcionário não existir ou tiver sido excluído.
+     * @throws BancoIndisponivelException Se o banco estiver inacessível (ver registrarNoDiario).
+     */
+    public CheckinHumorTO save(CheckinHumorTO checkin) throws CheckinDuplicadoException {
+
+        validarFuncionarioAtivo(checkin.getFuncionarioId());
+
+        return UnidadeDeTrabalho.executar(() -> {
+            CheckinHumorTO salvo = dao.save(checkin);
+
+            if (salvo == null || !agregadoDAO.registrarCheckins(List.of(salvo))) {
+                return null;
+            }
+            return salvo;
+        });
+    }
+
+    /**
+     * Indica se o POST /checkins está no modo de gravação assíncrona (write-behind).
+     */
+    public boolean isGravacaoAssincrona() {
+        return FilaCheckinHumor.isHabilitada();
+    }
+
+    /**
+     * Aceita um novo Check-in para gravação assíncrona (write-behind), sem commit na requisição.
+     * A unicidade diária é verificada contra os check-ins aguardando gravação e contra o banco;
+     * o INSERT em lote da gravadora ainda ignora uma eventual duplicidade concorrente.
+     * @return true se o check-in foi enfileirado; false se a fila estiver cheia (tente novamente).
+     * @throws CheckinDuplicadoException Se já houver registro (ou registro pendente) do funcionário na data.
+     * @throws FuncionarioInativoException Se o funcionário não existir ou tiver sido excluído.
+     */
+    public boolean enfileirar(CheckinHumorTO checkin) throws CheckinDuplicadoException {
+
+        validarFuncionarioAtivo(checkin.getFuncionarioId());
+
+        if (!FilaCheckinHumor.reservar(checkin)) {
+            throw new CheckinDuplicadoException("Você já registrou o humor para esta data.");
+        }
+
+        boolean jaRegistrado;
+        try {
+            jaRegistrado = dao.findByFuncionarioAndDate(checkin.getFuncionarioId(), checkin.getDataCheckin()) != null;
+        } catch (RuntimeException e) {
+            FilaCheckinHumor.liberar(checkin);
+            throw e;
+        }
+
+        if (jaRegistrado) {
+            FilaCheckinHumor.liberar(checkin);
+            throw new CheckinDuplicadoException("Você já registrou o humor para esta data.");
+        }
+        return FilaCheckinHumor.enfileirar(checkin);
+    }
+
+    /**
+     * Registra o check-in no diário local quando o banco está inacessível, para gravação posterior
+     * por reprocessarDiario. A unicidade diária e o funcionário ativo são verificados no reprocessamento
+     * (salvarLote), pois o banco não pode ser consultado neste momento.
+     * @return true se o check-in está gravado em disco no diário; false se o diário estiver desabilitado ou falhar.
+     */
+    public boolean registrarNoDiario(CheckinHumorTO checkin) {
+        return DiarioCheckinHumor.isHabilitado() && DiarioCheckinHumor.registrar(checkin);
+    }
+
+    /**
+     * Grava no banco os check-ins do diário local, segmento a segmento, em lotes (salvarLote).
+     * Idempotente: registros já gravados (reprocessamento interrompido) são ignorados pela unicidade diária.
+     * Um segmento só é removido do diário após todos os seus lotes serem confirmados.
+     * Um lote recusado por outro motivo que não o banco inacessível é regravado registro a registro:
+     * os registros recusados (dado inválido, funcionário inexistente ou excluído) vão para a quarentena
+     * do diário, sem impedir o descarte do segmento nem o reprocessamento dos seguintes.
+     * @return Quantidade de check-ins reprocessados (gravados ou movidos para a quarentena).
+     * @throws BancoIndisponivelException Se o banco continuar indisponível (o restante fica para o próximo ciclo).
+     * @throws PersistenciaException Se um check-in recusado não puder ser gravado na quarentena.
+     */
+    public int reprocessarDiario() {
+        long inicio = System.nanoTime();
+        int total = 0;
+
+        try {
+            for (Path segmento : DiarioCheckinHumor.selarSegmentos()) {
+                List<CheckinHumorTO> registros = DiarioCheckinHumor.ler(segmento);
+                int rejeitados = 0;
+                for (int i = 0; i < registros.size(); i += TAMANHO_LOTE) {
+                    List<CheckinHumorTO> lote = registros.subList(i, Math.min(i + TAMANHO_LOTE, registros.size()));
+                    try {
+                        rejeitados += quarentenarRecusados(lote, salvarLote(lote));
+                    } catch (BancoIndisponivelException e) {
+                        throw e;
+                    } catch (PersistenciaException e) {
+                        rejeitados += reprocessarIndividualmente(lote);
+                    }
+                }
+                DiarioCheckinHumor.descartar(segmento, registros.size(), rejeitados);
+                total += registros.size();
+            }
+        } finally {
+            DiarioCheckinHumor.registrarCicloReprocessamento(total, System.nanoTime() - inicio);
+        }
+        return total;
+    }
+
+    // Método auxiliar: Grava cada check-in do lote em sua própria transação; os recusados vão para a quarentena.
+    // Com o banco inacessível, a BancoIndisponivelException interrompe o ciclo (o segmento é mantido).
+    private int reprocessarIndividualmente(List<CheckinHumorTO> lote) {
+        int rejeitados = 0;
+        for (CheckinHumorTO checkin : lote) {
+            try {
+                rejeitados += quarentenarRecusados(List.of(checkin), salvarLote(List.of(checkin)));
+            } catch (BancoIndisponivelException e) {
+                throw e;
+            } catch (PersistenciaException e) {
+                quarentenar(checkin, e.getMessage());
+                rejeitados++;
+            }
+        }
+        return rejeitados;
+    }
+
+    // Método auxiliar: Move para a quarentena os check-ins com status INVALIDO (funcionário inexistente ou excluído)
+    private static int quarentenarRecusados(List<CheckinHumorTO> lote, List<String> status) {
+        int rejeitados = 0;
+        for (int i = 0; i < status.size(); i++) {
+            if (ResultadoLoteTO.INVALIDO.equals(status.get(i))) {
+                quarentenar(lote.get(i), "funcionário inexistente ou excluído");
+                rejeitados++;
+            }
+        }
+        return rejeitados;
+    }
+
+    private static void quarentenar(CheckinHumorTO checkin, String motivo) {
+        if (!DiarioCheckinHumor.quarentenar(checkin, motivo)) {
+            // Sem a quarentena, o segmento é mantido para não perder o registro
+            throw new PersistenciaException("Erro ao mover check-in recusado para a quarentena do diário.");
+        }
+    }
+
+    /**
+     * Quantidade de check-ins persistidos por transação na ingestão em lote.
+     */
+    public int getTamanhoLote() {
+        return TAMANHO_LOTE;
+    }
+
+    /**
+     * Salva um lote de Check-ins (já validados) em uma única transação.
+     * A regra de unicidade diária (inclusive duplicidades dentro do próprio lote) é aplicada
+     * pelo INSERT em batch, que ignora os registros que violariam a constraint.
+     * Check-ins de funcionários inexistentes ou excluídos (verificados em conjunto, em uma consulta)
+     * não são inseridos e retornam INVALIDO.
+     * Os check-ins inseridos são contabilizados no agregado por equipe na mesma transação.
+     * @param checkins Lista com no máximo getTamanhoLote() check-ins.
+     * @return Os status (CRIADO, DUPLICADO ou INVALIDO), na mesma ordem da lista recebida.
+     * @throws BancoIndisponivelException Se o banco estiver inacessível (falha transitória: o lote pode ser repetido).
+     * @throws PersistenciaException Se o lote não puder ser persistido por outro motivo (ex: dado inválido em um registro).
      */
-    public CheckinHumorTO save(CheckinHumorTO checkin) {
+    public ArrayList<String> salvarLote(List<CheckinHumorTO> checkins) {
 
-        // REGRA DE NEGÓCIO: VERIFICAR DUPLICIDADE DIÁRIA
-        CheckinHumorTO checkinExistente = dao.findByFuncionarioAndDate(
-                checkin.getFuncionarioId(),
-                checkin.getDataCheckin()
-        );
+        List<Integer> ids = new ArrayList<>(checkins.size());
+        for (CheckinHumorTO checkin : checkins) {
+            ids.add(checkin.getFuncionarioId());
+        }
+
+        return UnidadeDeTrabalho.executar(() -> {
+            HashSet<Integer> ativos = funcionarioDAO.findIdsAtivos(ids);
+            if (ativos == null) {
+                throw new PersistenciaException("Erro ao verificar os funcionários do lote de check-ins.");
+            }
+
+            List<CheckinHumorTO> validos = new ArrayList<>(checkins.size());
+            for (CheckinHumorTO checkin : checkins) {
+                if (ativos.contains(checkin.getFuncionarioId())) {
+                    validos.add(checkin);
+                }
+            }
+
+            int[] linhasAfetadas = validos.isEmpty() ? new int[0] : dao.saveLote(validos);
+            if (linhasAfetadas == null) {
+                throw new PersistenciaException("Erro ao persistir o lote de check-ins no banco de dados.");
+            }
+
+            ArrayList<String> status = new ArrayList<>(checkins.size());
+            List<CheckinHumorTO> inseridos = new ArrayList<>();
+            int posicao = 0;
+            for (CheckinHumorTO checkin : checkins) {
+                if (!ativos.contains(checkin.getFuncionarioId())) {
+                    status.add(ResultadoLoteTO.INVALIDO);
+                } else if (linhasAfetadas[posicao++] == 0) {
+                    status.add(ResultadoLoteTO.DUPLICADO);
+                } else {
+                    // SUCCESS_NO_INFO (-2): o driver não informou a contagem, o registro foi aceito
+                    status.add(ResultadoLoteTO.CRIADO);
+                    inseridos.add(checkin);
+                }
+            }
+
+            if (!agregadoDAO.registrarCheckins(inseridos)) {
+                throw new PersistenciaException("Erro ao atualizar o agregado de humor do lote de check-ins.");
+            }
+            return status;
+        });
+    }
 
-        if (checkinExistente != null) {
-            return null; // Retorna null se houver duplicidade
+    // Método auxiliar: Rejeita check-ins de funcionários inexistentes ou excluídos (cache de perfis de acesso)
+    private void validarFuncionarioAtivo(int funcionarioId) throws FuncionarioInativoException {
+        if (!funcionarioBO.isAtivo(funcionarioId)) {
+            throw new FuncionarioInativoException("Funcionário não encontrado ou inativo.");
         }
-        return dao.save(checkin);
     }
 
     /**
      * Retorna todo o histórico de Check-ins para auditoria, sem o ID do funcionário (ANONIMIZADO).
      * Implementa a REGRA: Apenas RH (ID_FUNCAO = 5) pode acessar.
-     * @param solicitanteId ID do funcionário que está requisitando o histórico.
+     * @param solicitante Perfil do funcionário que está requisitando o histórico (null se não autenticado).
      * @return O histórico completo de Check-ins (Anonimizado).
      * @throws AcessoNegadoException Se o solicitante não for do RH.
      */
-    public ArrayList<CheckinHumorAnonimoTO> findAllAnonimo(int solicitanteId) throws AcessoNegadoException {
+    public ArrayList<CheckinHumorAnonimoTO> findAllAnonimo(PerfilAcessoTO solicitante) throws AcessoNegadoException {
 
-        // Valida Permissão do Solicitante
-        FuncionarioTO solicitante = funcionarioDAO.findByCodigo(solicitanteId);
+        return UnidadeDeTrabalho.executar(() -> {
+            validarAcessoHistorico(solicitante);
 
+            // Se a permissão for concedida, busca os dados anonimizados
+            return dao.findAllAnonimo();
+        });
+    }
+
+    /**
+     * Retorna uma página do histórico de Check-ins (ANONIMIZADO), paginada por cursor.
+     * Implementa a REGRA: Apenas RH (ID_FUNCAO = 5) pode acessar.
+     * @param solicitante Perfil do funcionário que está requisitando o histórico (null se não autenticado).
+     * @param cursor Token opaco retornado na página anterior (null para a primeira página).
+     * @param limite Tamanho da página (limitado a humanize.checkin.historico.limite-maximo).
+     * @param de Data inicial (inclusiva) opcional.
+     * @param ate Data final (inclusiva) opcional.
+     * @return A página de Check-ins e o cursor da próxima página (null se for a última),
+     * ou null em caso de erro na consulta.
+     * @throws AcessoNegadoException Se o solicitante não for do RH.
+     * @throws IllegalArgumentException Se o cursor for inválido.
+     */
+    public PaginaTO<CheckinHumorAnonimoTO> findAnonimoPaginado(PerfilAcessoTO solicitante, String cursor, Integer limite,
+                                                               LocalDate de, LocalDate ate) throws AcessoNegadoException {
+
+        int tamanho = (limite == null || limite <= 0) ? LIMITE_PAGINA_PADRAO : Math.min(limite, LIMITE_PAGINA_MAXIMO);
+
+        LocalDate cursorData = null;
+        int cursorId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                cursorData = LocalDate.parse(partes[0]);
+                cursorId = Integer.parseInt(partes[1]);
+            } catch (DateTimeParseException | IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Cursor de paginação inválido.", e);
+            }
+        }
+
+        LocalDate dataCursor = cursorData;
+        int idCursor = cursorId;
+
+        return UnidadeDeTrabalho.executar(() -> {
+            validarAcessoHistorico(solicitante);
+
+            // Busca um registro a mais para saber se existe próxima página
+            ArrayList<CheckinHumorAnonimoTO> itens = dao.findAnonimoPaginado(dataCursor, idCursor, de, ate, tamanho + 1);
+            if (itens == null) {
+                return null;
+            }
+
+            String proximoCursor = null;
+            if (itens.size() > tamanho) {
+                itens.remove(tamanho);
+                CheckinHumorAnonimoTO ultimo = itens.get(tamanho - 1);
+                proximoCursor = codificarCursor(ultimo.getDataCheckin(), ultimo.getId());
+            }
+            return new PaginaTO<>(itens, proximoCursor);
+        });
+    }
+
+    /**
+     * Exporta todo o histórico de Check-ins (ANONIMIZADO) em streaming, sem materializar a lista.
+     * A autorização deve ser validada antes com validarAcessoHistorico, pois a escrita
+     * ocorre depois que a resposta HTTP já foi iniciada.
+     * @param consumidor Destino de cada registro lido.
+     * @throws IOException Se a leitura ou a escrita for interrompida.
+     */
+    public void exportarAnonimo(CheckinHumorDAO.ConsumidorRegistro<CheckinHumorAnonimoTO> consumidor) throws IOException {
+        dao.exportarAnonimo(FETCH_SIZE_EXPORTACAO, consumidor);
+    }
+
+    /**
+     * Implementa a REGRA: Apenas RH (ID_FUNCAO = 5) pode acessar o histórico BRUTO.
+     * @param solicitante Perfil do funcionário que está requisitando o histórico (null se não autenticado).
+     * @throws AcessoNegadoException Se o solicitante não for do RH.
+     */
+    public void validarAcessoHistorico(PerfilAcessoTO solicitante) throws AcessoNegadoException {
         if (solicitante == null || solicitante.getIdFuncao() != ID_FUNCAO_RH) {
             throw new AcessoNegadoException("Acesso negado. Apenas o RH pode consultar o histórico BRUTO de Check-ins.");
         }
+    }
 
-        // Se a permissão for concedida, busca os dados anonimizados
-        return dao.findAllAnonimo(); 
+    // O cursor é opaco para o cliente: Base64 URL de "data|idHumor" do último item da página
+    private static String codificarCursor(LocalDate data, int id) {
+        String valor = data + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
      * Consulta os dados agregados (média de energia/humor por equipe) para o Dashboard.
-     * @return Lista de RelatorioHumorTO.
+     * @return Lista de RelatorioHumorTO ou null em caso de erro de persistência.
      */
     public ArrayList<RelatorioHumorTO> consultarRelatorioHumor() {
-        // O cálculo é delegado ao DAO (AVG e GROUP BY). O filtro de equipe/perfil é delegado ao Resource.
-        return dao.findMediaHumorPorEquipe();
+        // Lido do agregado mantido incrementalmente (uma linha por equipe)
+        return agregadoDAO.findMediaHumorPorEquipe();
+    }
+
+    /**
+     * Consulta os dados agregados de uma única equipe (visão de Tech Leads e Gerentes).
+     * O filtro por equipe é aplicado diretamente no SQL.
+     * @param equipeId ID da equipe do solicitante.
+     * @return Lista de RelatorioHumorTO (vazia ou com a equipe informada), ou null em caso de erro de persistência.
+     */
+    public ArrayList<RelatorioHumorTO> consultarRelatorioHumorEquipe(int equipeId) {
+        return agregadoDAO.findMediaHumorDaEquipe(equipeId);
+    }
+
+    /**
+     * Consulta a série temporal de humor por equipe (dia, semana ISO ou mês) a partir do rollup diário.
+     * Sem datas informadas, considera os últimos 90 dias até hoje.
+     * Por semana ou mês, o início é alinhado ao início do período (segunda-feira ou dia 1), para que o
+     * primeiro ponto seja completo e rotulado dentro do intervalo; o último ponto pode ser parcial.
+     * @param equipeId ID da equipe do solicitante (Gestores) ou null para todas as equipes (RH).
+     * @param de Primeiro dia do intervalo (opcional).
+     * @param ate Último dia do intervalo (opcional).
+     * @param granularidade "dia", "semana" ou "mes" (opcional, padrão "dia").
+     * @return Lista de SerieHumorEquipeTO ou null em caso de erro de persistência.
+     * @throws IllegalArgumentException Se a granularidade ou o intervalo forem inválidos.
+     */
+    public ArrayList<SerieHumorEquipeTO> consultarSerieHumor(Integer equipeId, LocalDate de, LocalDate ate, String granularidade) {
+        String granularidadeEfetiva = normalizarGranularidade(granularidade);
+        LocalDate[] intervalo = resolverIntervalo(de, ate);
+        return agregadoDAO.findSerieHumor(equipeId, intervalo[0], intervalo[1], granularidadeEfetiva);
+    }
+
+    /**
+     * Variante reativa de consultarSerieHumor (humanize.acesso-dados = reativo).
+     * Os parâmetros são validados na chamada, antes da consulta.
+     * @return Uni com a lista de SerieHumorEquipeTO, ou com null em caso de erro de persistência.
+     * @throws IllegalArgumentException Se a granularidade ou o intervalo forem inválidos.
+     */
+    public Uni<ArrayList<SerieHumorEquipeTO>> consultarSerieHumorReativo(Integer equipeId, LocalDate de, LocalDate ate, String granularidade) {
+        String granularidadeEfetiva = normalizarGranularidade(granularidade);
+        LocalDate[] intervalo = resolverIntervalo(de, ate);
+        return agregadoReativoDAO.findSerieHumor(equipeId, intervalo[0], intervalo[1], granularidadeEfetiva);
+    }
+
+    // Método auxiliar: Granularidade padrão ("dia") e validação dos valores aceitos
+    private static String normalizarGranularidade(String granularidade) {
+        String granularidadeEfetiva = (granularidade == null || granularidade.isBlank())
+                ? AgregadoHumorDAO.GRANULARIDADE_DIA
+                : granularidade.trim().toLowerCase();
+        if (!granularidadeEfetiva.equals(AgregadoHumorDAO.GRANULARIDADE_DIA)
+                && !granularidadeEfetiva.equals(AgregadoHumorDAO.GRANULARIDADE_SEMANA)
+                && !granularidadeEfetiva.equals(AgregadoHumorDAO.GRANULARIDADE_MES)) {
+            throw new IllegalArgumentException("Granularidade inválida. Utilize 'dia', 'semana' ou 'mes'.");
+        }
+        return granularidadeEfetiva;
+    }
+
+    /**
+     * Variante reativa do Dashboard (humanize.acesso-dados = reativo), lida do mesmo agregado.
+     * @param equipeId ID da equipe do solicitante (Gestores) ou null para todas as equipes (RH).
+     * @return Uni com a lista de RelatorioHumorTO, ou com null em caso de erro (como em consultarSerieHumorReativo).
+     */
+    public Uni<ArrayList<RelatorioHumorTO>> consultarRelatorioHumorReativo(Integer equipeId) {
+        return agregadoReativoDAO.findMediaHumor(equipeId).collect().asList().map(ArrayList<RelatorioHumorTO>::new)
+                .onFailure().recoverWithItem(e -> null);
+    }
+
+    /**
+     * Consulta o relatório completo do questionário por equipe: médias das escalas numéricas
+     * (energia e conexão) e a distribuição de frequência de cada resposta categórica.
+     * Calculado no banco em uma única leitura; sem datas informadas, considera os últimos 90 dias.
+     * @param equipeId ID da equipe do solicitante (Gestores) ou null para todas as equipes (RH).
+     * @param de Primeiro dia do intervalo (opcional).
+     * @param ate Último dia do intervalo (opcional).
+     * @return Lista de RelatorioQuestionarioTO ou null em caso de erro de persistência.
+     * @throws IllegalArgumentException Se o intervalo for inválido.
+     */
+    public ArrayList<RelatorioQuestionarioTO> consultarRelatorioQuestionario(Integer equipeId, LocalDate de, LocalDate ate) {
+        LocalDate[] intervalo = resolverIntervalo(de, ate);
+        return agregadoDAO.findRelatorioQuestionario(equipeId, intervalo[0], intervalo[1]);
+    }
+
+    // Método auxiliar: Aplica a janela padrão do Dashboard e valida o intervalo {inicio, fim}
+    private static LocalDate[] resolverIntervalo(LocalDate de, LocalDate ate) {
+        LocalDate fim = ate != null ? ate : LocalDate.now();
+        LocalDate inicio = de != null ? de : fim.minusDays(JANELA_SERIE_PADRAO_DIAS - 1);
+        if (inicio.isAfter(fim)) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à data final.");
+        }
+        if (inicio.plusDays(JANELA_SERIE_MAXIMA_DIAS).isBefore(fim)) {
+            throw new IllegalArgumentException("O intervalo máximo de consulta é de " + JANELA_SERIE_MAXIMA_DIAS + " dias.");
+        }
+        return new LocalDate[] {inicio, fim};
+    }
+
+    /**
+     * Recalcula do zero o agregado de humor por equipe a partir do histórico de Check-ins.
+     * Implementa a REGRA: Apenas RH (ID_FUNCAO = 5) pode executar.
+     * @param solicitante Perfil do funcionário que está requisitando a reconstrução (null se não autenticado).
+     * @return true se o agregado foi reconstruído.
+     * @throws AcessoNegadoException Se o solicitante não for do RH.
+     */
+    public boolean reconstruirAgregados(PerfilAcessoTO solicitante) throws AcessoNegadoException {
+
+        return UnidadeDeTrabalho.executar(() -> {
+            if (solicitante == null || solicitante.getIdFuncao() != ID_FUNCAO_RH) {
+                throw new AcessoNegadoException("Acesso negado. Apenas o RH pode reconstruir os agregados do Dashboard.");
+            }
+            return agregadoDAO.reconstruir();
+        });
     }
-}
\ No newline at end of file
+}
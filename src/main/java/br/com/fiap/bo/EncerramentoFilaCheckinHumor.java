@@ -0,0 +1,19 @@
+package br.com.fiap.bo;
+
+import io.quarkus.runtime.ShutdownEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+/**
+ * Esvazia a fila de gravação assíncrona (write-behind) de check-ins no encerramento da aplicação,
+ * antes de o pool de conexões ser fechado.
+ */
+@ApplicationScoped
+public class EncerramentoFilaCheckinHumor {
+
+    void aoEncerrar(@Observes ShutdownEvent evento) {
+        if (FilaCheckinHumor.isHabilitada()) {
+            FilaCheckinHumor.encerrar();
+        }
+    }
+}
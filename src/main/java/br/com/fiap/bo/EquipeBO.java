@@ -1,22 +1,75 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.cache.CacheReferencia;
+import br.com.fiap.cache.RespostaJsonPreSerializada;
 import br.com.fiap.dao.EquipeDAO;
+import br.com.fiap.dao.EquipeReativoDAO;
 import br.com.fiap.to.EquipeTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.Uni;
 import java.util.ArrayList;
 
 /**
  * Gerencia a lógica de negócio para a entidade Equipe.
  * Atua como intermediário entre o Resource e o DAO para as consultas de referência.
+ * A lista de equipes muda raramente e é mantida em cache (TTL configurável).
  */
 public class EquipeBO {
 
     private final EquipeDAO dao = new EquipeDAO();
+    private final EquipeReativoDAO daoReativo = new EquipeReativoDAO();
+
+    // Compartilhado entre as instâncias do BO (uma por Resource)
+    private static final CacheReferencia<String, ArrayList<EquipeTO>> CACHE = new CacheReferencia<>("equipes");
+    private static final String CHAVE_TODAS = "todas";
+
+    // Resposta JSON da lista completa, refeita apenas quando a lista em cache muda
+    private static final RespostaJsonPreSerializada JSON_TODOS = new RespostaJsonPreSerializada();
 
     /**
      * Busca e retorna a lista de todas as Equipes cadastradas.
      * @return ArrayList de EquipeTO.
      */
     public ArrayList<EquipeTO> findAll() {
-        return dao.findAll();
+        ArrayList<EquipeTO> lista = CACHE.obter(CHAVE_TODAS, this::carregarTodos);
+        return lista != null ? new ArrayList<>(lista) : new ArrayList<>();
+    }
+
+    /**
+     * Variante reativa de findAll (humanize.acesso-dados = reativo), com o mesmo cache.
+     * @return Uni com a lista de EquipeTO.
+     */
+    public Uni<ArrayList<EquipeTO>> findAllReativo() {
+        return CACHE.obterReativo(CHAVE_TODAS, this::carregarTodosReativo)
+                .map(lista -> lista != null ? new ArrayList<>(lista) : new ArrayList<>());
+    }
+
+    /**
+     * Lista completa já serializada em JSON (e gzip), para escrita direta na resposta.
+     * A serialização é refeita somente quando a lista em cache muda.
+     * @return A serialização, ou null se não houver equipes cadastradas.
+     */
+    public RespostaJsonPreSerializada.Serializacao findAllSerializado(ObjectMapper objectMapper) {
+        ArrayList<EquipeTO> lista = CACHE.obter(CHAVE_TODAS, this::carregarTodos);
+        return lista != null ? JSON_TODOS.obter(lista, objectMapper) : null;
+    }
+
+    /**
+     * Variante reativa de findAllSerializado (humanize.acesso-dados = reativo), com o mesmo cache.
+     */
+    public Uni<RespostaJsonPreSerializada.Serializacao> findAllSerializadoReativo(ObjectMapper objectMapper) {
+        return CACHE.obterReativo(CHAVE_TODAS, this::carregarTodosReativo)
+                .map(lista -> lista != null ? JSON_TODOS.obter(lista, objectMapper) : null);
+    }
+
+    // Método auxiliar: Carga do cache; lista vazia (tabela vazia ou erro no DAO) não é armazenada
+    private ArrayList<EquipeTO> carregarTodos() {
+        ArrayList<EquipeTO> resultado = dao.findAll();
+        return resultado.isEmpty() ? null : resultado;
+    }
+
+    private Uni<ArrayList<EquipeTO>> carregarTodosReativo() {
+        return daoReativo.findAll().collect().asList()
+                .map(resultado -> resultado.isEmpty() ? null : new ArrayList<>(resultado));
     }
-}
\ No newline at end of file
+}
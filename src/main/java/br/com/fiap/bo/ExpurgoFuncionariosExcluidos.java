@@ -0,0 +1,61 @@
+package br.com.fiap.bo;
+
+import br.com.fiap.exception.PersistenciaException;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Executa periodicamente, em segundo plano, o expurgo dos funcionários excluídos logicamente
+ * (FuncionarioBO.expurgarExcluidos): a exclusão na requisição HTTP apenas marca DT_EXCLUSAO.
+ */
+@ApplicationScoped
+public class ExpurgoFuncionariosExcluidos {
+
+    private static final boolean HABILITADO = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.funcionario.expurgo.habilitado", Boolean.class).orElse(true);
+    private static final long INTERVALO_MS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.funcionario.expurgo.intervalo-ms", Long.class).orElse(60000L);
+
+    private final FuncionarioBO bo = new FuncionarioBO();
+    private ScheduledExecutorService agendador;
+
+    void aoIniciar(@Observes StartupEvent evento) {
+        if (!HABILITADO) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "humanize-expurgo-funcionarios");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::expurgar, INTERVALO_MS, INTERVALO_MS, TimeUnit.MILLISECONDS);
+    }
+
+    void aoEncerrar(@Observes ShutdownEvent evento) {
+        if (agendador != null) {
+            // Interrompe a pausa entre lotes; o expurgo é retomado na próxima execução
+            agendador.shutdownNow();
+        }
+    }
+
+    private void expurgar() {
+        try {
+            int expurgados = bo.expurgarExcluidos();
+            if (expurgados > 0) {
+                System.err.println("Expurgo: " + expurgados + " funcionários excluídos removidos definitivamente.");
+            }
+        } catch (PersistenciaException e) {
+            System.err.println("Erro no expurgo de funcionários excluídos: " + e.getMessage());
+        } catch (RuntimeException e) {
+            // Não deixa a exceção cancelar os próximos ciclos do agendador
+            System.err.println("Erro inesperado no expurgo de funcionários excluídos: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package br.com.fiap.bo;
+
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.exception.PersistenciaException;
+import br.com.fiap.to.CheckinHumorTO;
+import br.com.fiap.to.ResultadoLoteTO;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fila de gravação assíncrona (write-behind) dos check-ins de humor.
+ * Com humanize.checkin.write-behind.habilitado = true, o POST /checkins valida o check-in,
+ * verifica a unicidade diária e apenas o enfileira (202 ACCEPTED). Uma thread gravadora
+ * retira os check-ins em lotes e os persiste por CheckinHumorBO.salvarLote: um único commit
+ * por lote (group commit), em vez de um commit por requisição no pico de acessos.
+ *
+ * O lote é gravado quando atinge o tamanho configurado ou quando o check-in mais antigo
+ * aguarda a latência máxima. A fila é limitada: quando cheia, o check-in é recusado
+ * (o Resource responde 503 com Retry-After). No encerramento da aplicação, a fila é esvaziada.
+ */
+public final class FilaCheckinHumor {
+
+    private static final boolean HABILITADO = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.write-behind.habilitado", Boolean.class).orElse(false);
+    private static final int CAPACIDADE = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.write-behind.capacidade", Integer.class).orElse(10000);
+    // Tamanho dos lotes da gravadora, entre 1 e o máximo (com 0, a fila nunca seria esvaziada)
+    private static final int TAMANHO_LOTE_MAXIMO = 1000;
+    private static final int TAMANHO_LOTE = Math.max(1, Math.min(TAMANHO_LOTE_MAXIMO, ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.write-behind.lote.tamanho", Integer.class).orElse(200)));
+    private static final long LATENCIA_MAXIMA_MS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.write-behind.latencia-maxima-ms", Long.class).orElse(50L);
+    private static final long ESPERA_ENCERRAMENTO_MS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.write-behind.espera-encerramento-ms", Long.class).orElse(10000L);
+
+    // Tentativas de gravação de um lote com o banco inacessível, antes de enviá-lo ao diário local
+    private static final int TENTATIVAS_GRAVACAO = 3;
+    private static final long INTERVALO_TENTATIVA_MS = 200;
+
+    // Espera máxima da gravadora por um check-in antes de reavaliar o encerramento
+    private static final long ESPERA_CICLO_MS = 500;
+
+    private static final BlockingQueue<CheckinHumorTO> FILA = new ArrayBlockingQueue<>(CAPACIDADE);
+
+    // Chaves (funcionário + data) enfileiradas e ainda não gravadas: unicidade diária dentro da fila
+    private static final Set<String> PENDENTES = ConcurrentHashMap.newKeySet();
+
+    private static final LongAdder ENFILEIRADOS = new LongAdder();
+    private static final LongAdder GRAVADOS = new LongAdder();
+    private static final LongAdder RECUSADOS = new LongAdder();
+    private static final LongAdder NO_DIARIO = new LongAdder();
+    private static final LongAdder DESCARTADOS = new LongAdder();
+
+    private static volatile boolean encerrando;
+    private static final Thread GRAVADORA;
+
+    static {
+        if (HABILITADO) {
+            GRAVADORA = new Thread(() -> executarGravadora(new CheckinHumorBO()), "humanize-checkin-write-behind");
+            GRAVADORA.setDaemon(true);
+            GRAVADORA.start();
+        } else {
+            GRAVADORA = null;
+        }
+    }
+
+    private FilaCheckinHumor() {
+    }
+
+    /**
+     * Indica se o modo de gravação assíncrona está habilitado.
+     */
+    public static boolean isHabilitada() {
+        return HABILITADO;
+    }
+
+    /**
+     * Tempo sugerido (em segundos) para o cliente tentar novamente quando a fila estiver cheia.
+     */
+    public static int getSegundosNovaTentativa() {
+        return (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(LATENCIA_MAXIMA_MS * 10));
+    }
+
+    /**
+     * Reserva a chave (funcionário + data) do check-in na fila.
+     * @return false se já houver um check-in do funcionário na mesma data aguardando gravação.
+     */
+    static boolean reservar(CheckinHumorTO checkin) {
+        return PENDENTES.add(chave(checkin.getFuncionarioId(), checkin.getDataCheckin()));
+    }
+
+    /**
+     * Libera a chave reservada sem enfileirar (check-in recusado).
+     */
+    static void liberar(CheckinHumorTO checkin) {
+        PENDENTES.remove(chave(checkin.getFuncionarioId(), checkin.getDataCheckin()));
+    }
+
+    /**
+     * Enfileira um check-in já validado e com a chave reservada, sem bloquear.
+     * @return true se enfileirado; false se a fila estiver cheia ou em encerramento (a chave é liberada).
+     */
+    static boolean enfileirar(CheckinHumorTO checkin) {
+        if (!encerrando && FILA.offer(checkin)) {
+            ENFILEIRADOS.increment();
+            return true;
+        }
+        liberar(checkin);
+        RECUSADOS.increment();
+        return false;
+    }
+
+    /**
+     * Interrompe o recebimento de novos check-ins e aguarda a gravação dos que estão na fila
+     * (até humanize.checkin.write-behind.espera-encerramento-ms).
+     */
+    public static void encerrar() {
+        if (encerrando) {
+            return;
+        }
+        encerrando = true;
+        if (GRAVADORA == null) {
+            return;
+        }
+        try {
+            GRAVADORA.join(ESPERA_ENCERRAMENTO_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!FILA.isEmpty()) {
+            System.err.println("Encerramento com " + FILA.size() + " check-ins não gravados na fila de write-behind.");
+        }
+    }
+
+    /**
+     * Retorna os contadores da fila (profundidade, enfileirados, gravados, recusados, enviados ao diário e descartados)
+     * e se a thread gravadora está ativa (1) ou não (0).
+     */
+    public static Map<String, Long> getEstatisticas() {
+        Map<String, Long> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("profundidade", (long) FILA.size());
+        estatisticas.put("capacidade", (long) CAPACIDADE);
+        estatisticas.put("enfileirados", ENFILEIRADOS.sum());
+        estatisticas.put("gravados", GRAVADOS.sum());
+        estatisticas.put("recusados", RECUSADOS.sum());
+        estatisticas.put("noDiario", NO_DIARIO.sum());
+        estatisticas.put("descartados", DESCARTADOS.sum());
+        estatisticas.put("gravadoraAtiva", GRAVADORA != null && GRAVADORA.isAlive() ? 1L : 0L);
+        return estatisticas;
+    }
+
+    // Laço da thread gravadora: monta lotes por tamanho ou latência e os grava até o encerramento
+    static void executarGravadora(CheckinHumorBO bo) {
+        List<CheckinHumorTO> lote = new ArrayList<>(TAMANHO_LOTE);
+
+        while (!encerrando || !FILA.isEmpty()) {
+            try {
+                montarLote(lote);
+            } catch (InterruptedException e) {
+                // Sem interrupções previstas: o encerramento é sinalizado por 'encerrando'
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (lote.isEmpty()) {
+                continue;
+            }
+            try {
+                gravar(bo, lote);
+            } catch (RuntimeException e) {
+                // Uma falha inesperada não pode encerrar a gravadora (a fila encheria e todo check-in receberia 503)
+                DESCARTADOS.add(lote.size());
+                System.err.println("Erro inesperado na gravadora de check-ins, lote de " + lote.size() + " descartado: " + e);
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    // Método auxiliar: Aguarda o primeiro check-in e completa o lote até o tamanho ou a latência máxima.
+    // A espera pelo primeiro é limitada para que o encerramento seja percebido; no encerramento, apenas drena.
+    static void montarLote(List<CheckinHumorTO> lote) throws InterruptedException {
+        if (encerrando) {
+            FILA.drainTo(lote, TAMANHO_LOTE);
+            return;
+        }
+
+        CheckinHumorTO primeiro = FILA.poll(ESPERA_CICLO_MS, TimeUnit.MILLISECONDS);
+        if (primeiro == null) {
+            return;
+        }
+        lote.add(primeiro);
+        long prazo = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LATENCIA_MAXIMA_MS);
+
+        while (lote.size() < TAMANHO_LOTE) {
+            if (FILA.drainTo(lote, TAMANHO_LOTE - lote.size()) > 0) {
+                continue;
+            }
+            long restante = prazo - System.nanoTime();
+            if (restante <= 0) {
+                return;
+            }
+            CheckinHumorTO proximo = FILA.poll(restante, TimeUnit.NANOSECONDS);
+            if (proximo == null) {
+                return;
+            }
+            lote.add(proximo);
+        }
+    }
+
+    // Método auxiliar: Grava o lote em uma transação e libera as chaves reservadas.
+    // Banco inacessível (BancoIndisponivelException): novas tentativas e, persistindo a falha, o lote vai para o diário local.
+    // Outras falhas (ex: um registro com dado inválido): o lote é regravado registro a registro e somente
+    // os registros que falham são descartados, sem perder os demais check-ins já aceitos (202).
+    static void gravar(CheckinHumorBO bo, List<CheckinHumorTO> lote) {
+        try {
+            for (int tentativa = 1; ; tentativa++) {
+                try {
+                    contabilizar(lote, bo.salvarLote(lote));
+                    return;
+                } catch (BancoIndisponivelException e) {
+                    System.err.println("Banco indisponível ao gravar lote de " + lote.size() + " check-ins (tentativa "
+                            + tentativa + "/" + TENTATIVAS_GRAVACAO + "): " + e.getMessage());
+                    if (tentativa == TENTATIVAS_GRAVACAO) {
+                        registrarNoDiario(bo, lote);
+                        return;
+                    }
+                } catch (PersistenciaException e) {
+                    System.err.println("Erro ao gravar lote de " + lote.size() + " check-ins, gravando registro a registro: " + e.getMessage());
+                    gravarIndividualmente(bo, lote);
+                    return;
+                }
+                esperar(INTERVALO_TENTATIVA_MS * tentativa);
+            }
+        } finally {
+            for (CheckinHumorTO checkin : lote) {
+                liberar(checkin);
+            }
+        }
+    }
+
+    // Método auxiliar: Grava cada check-in em sua própria transação, isolando os registros que falham
+    private static void gravarIndividualmente(CheckinHumorBO bo, List<CheckinHumorTO> lote) {
+        for (int i = 0; i < lote.size(); i++) {
+            CheckinHumorTO checkin = lote.get(i);
+            try {
+                contabilizar(List.of(checkin), bo.salvarLote(List.of(checkin)));
+            } catch (BancoIndisponivelException e) {
+                // Conexão perdida durante a regravação: o restante do lote vai para o diário local
+                registrarNoDiario(bo, lote.subList(i, lote.size()));
+                return;
+            } catch (PersistenciaException e) {
+                descartar(checkin, e.getMessage());
+            }
+        }
+    }
+
+    // Método auxiliar: Banco fora do ar: os check-ins vão para o diário local (DiarioCheckinHumor), quando habilitado
+    private static void registrarNoDiario(CheckinHumorBO bo, List<CheckinHumorTO> checkins) {
+        for (CheckinHumorTO checkin : checkins) {
+            if (bo.registrarNoDiario(checkin)) {
+                NO_DIARIO.increment();
+            } else {
+                descartar(checkin, "diário local desabilitado ou indisponível");
+            }
+        }
+    }
+
+    private static void descartar(CheckinHumorTO checkin, String motivo) {
+        DESCARTADOS.increment();
+        System.err.println("Check-in descartado pela fila de write-behind (" + motivo + "): funcionário "
+                + checkin.getFuncionarioId() + ", data " + checkin.getDataCheckin());
+    }
+
+    // Método auxiliar: Conta os check-ins gravados (CRIADO ou DUPLICADO) e os recusados no lote (INVALIDO: funcionário inativo)
+    private static void contabilizar(List<CheckinHumorTO> lote, List<String> status) {
+        for (int i = 0; i < status.size(); i++) {
+            if (ResultadoLoteTO.INVALIDO.equals(status.get(i))) {
+                descartar(lote.get(i), "funcionário inexistente ou excluído");
+            } else {
+                GRAVADOS.increment();
+            }
+        }
+    }
+
+    // Método auxiliar: Pausa entre tentativas (no encerramento, não pausa)
+    private static void esperar(long milissegundos) {
+        if (encerrando) {
+            return;
+        }
+        try {
+            Thread.sleep(milissegundos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String chave(int funcionarioId, LocalDate data) {
+        return funcionarioId + "|" + data;
+    }
+}
@@ -1,22 +1,75 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.cache.CacheReferencia;
+import br.com.fiap.cache.RespostaJsonPreSerializada;
 import br.com.fiap.dao.FuncaoDAO;
+import br.com.fiap.dao.FuncaoReativoDAO;
 import br.com.fiap.to.FuncaoTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.Uni;
 import java.util.ArrayList;
 
 /**
  * Gerencia a lógica de negócio para a entidade Função.
  * Atua como intermediário entre o Resource e o DAO para as consultas de referência (findAll).
+ * A lista de funções muda raramente e é mantida em cache (TTL configurável).
  */
 public class FuncaoBO {
 
     private final FuncaoDAO dao = new FuncaoDAO();
+    private final FuncaoReativoDAO daoReativo = new FuncaoReativoDAO();
+
+    // Compartilhado entre as instâncias do BO (uma por Resource)
+    private static final CacheReferencia<String, ArrayList<FuncaoTO>> CACHE = new CacheReferencia<>("funcoes");
+    private static final String CHAVE_TODAS = "todas";
+
+    // Resposta JSON da lista completa, refeita apenas quando a lista em cache muda
+    private static final RespostaJsonPreSerializada JSON_TODOS = new RespostaJsonPreSerializada();
 
     /**
      * Busca e retorna a lista de todas as Funções cadastradas.
      * @return ArrayList de FuncaoTO.
      */
     public ArrayList<FuncaoTO> findAll() {
-        return dao.findAll();
+        ArrayList<FuncaoTO> lista = CACHE.obter(CHAVE_TODAS, this::carregarTodos);
+        return lista != null ? new ArrayList<>(lista) : new ArrayList<>();
+    }
+
+    /**
+     * Variante reativa de findAll (humanize.acesso-dados = reativo), com o mesmo cache.
+     * @return Uni com a lista de FuncaoTO.
+     */
+    public Uni<ArrayList<FuncaoTO>> findAllReativo() {
+        return CACHE.obterReativo(CHAVE_TODAS, this::carregarTodosReativo)
+                .map(lista -> lista != null ? new ArrayList<>(lista) : new ArrayList<>());
+    }
+
+    /**
+     * Lista completa já serializada em JSON (e gzip), para escrita direta na resposta.
+     * A serialização é refeita somente quando a lista em cache muda.
+     * @return A serialização, ou null se não houver funções cadastradas.
+     */
+    public RespostaJsonPreSerializada.Serializacao findAllSerializado(ObjectMapper objectMapper) {
+        ArrayList<FuncaoTO> lista = CACHE.obter(CHAVE_TODAS, this::carregarTodos);
+        return lista != null ? JSON_TODOS.obter(lista, objectMapper) : null;
+    }
+
+    /**
+     * Variante reativa de findAllSerializado (humanize.acesso-dados = reativo), com o mesmo cache.
+     */
+    public Uni<RespostaJsonPreSerializada.Serializacao> findAllSerializadoReativo(ObjectMapper objectMapper) {
+        return CACHE.obterReativo(CHAVE_TODAS, this::carregarTodosReativo)
+                .map(lista -> lista != null ? JSON_TODOS.obter(lista, objectMapper) : null);
+    }
+
+    // Método auxiliar: Carga do cache; lista vazia (tabela vazia ou erro no DAO) não é armazenada
+    private ArrayList<FuncaoTO> carregarTodos() {
+        ArrayList<FuncaoTO> resultado = dao.findAll();
+        return resultado.isEmpty() ? null : resultado;
+    }
+
+    private Uni<ArrayList<FuncaoTO>> carregarTodosReativo() {
+        return daoReativo.findAll().collect().asList()
+                .map(resultado -> resultado.isEmpty() ? null : new ArrayList<>(resultado));
     }
-}
\ No newline at end of file
+}
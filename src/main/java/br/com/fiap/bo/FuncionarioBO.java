@@ -1,13 +1,35 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.cache.CacheReferencia;
+import br.com.fiap.dao.AgregadoHumorDAO;
 import br.com.fiap.dao.CheckinHumorDAO;
+import br.com.fiap.dao.EquipeDAO;
+import br.com.fiap.dao.FuncaoDAO;
 import br.com.fiap.dao.FuncionarioDAO;
+import br.com.fiap.dao.FuncionarioReativoDAO;
 import br.com.fiap.dao.FuncionarioRecursoDAO;
+import br.com.fiap.dao.UnidadeDeTrabalho;
+import br.com.fiap.to.ExclusaoFuncionariosTO;
+import br.com.fiap.to.FavoritosTO;
 import br.com.fiap.to.FuncionarioTO;
+import br.com.fiap.to.PerfilAcessoTO;
 import br.com.fiap.to.RecursoBemEstarTO;
+import br.com.fiap.to.ResultadoExclusaoTO;
+import br.com.fiap.to.ResultadoLoteTO;
 import br.com.fiap.exception.AcessoNegadoException;
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.exception.PersistenciaException;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.config.ConfigProvider;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.CRC32;
 
 /**
  * Camada de Lógica de Negócios (Business Object).
@@ -16,36 +38,67 @@ import java.util.ArrayList;
 public class FuncionarioBO {
 
     private final FuncionarioDAO funcionarioDAO = new FuncionarioDAO();
+    private final FuncionarioReativoDAO funcionarioReativoDAO = new FuncionarioReativoDAO();
     private final FuncionarioRecursoDAO funcRecursoDAO = new FuncionarioRecursoDAO();
     private final CheckinHumorDAO checkinDAO = new CheckinHumorDAO();
+    private final AgregadoHumorDAO agregadoDAO = new AgregadoHumorDAO();
+    private final EquipeDAO equipeDAO = new EquipeDAO();
+    private final FuncaoDAO funcaoDAO = new FuncaoDAO();
 
     private static final int ID_FUNCAO_RH = 5;
 
+    // Funcionários por transação na importação em lote (limitado ao tamanho de uma cláusula IN)
+    private static final int TAMANHO_LOTE_IMPORTACAO = Math.min(1000, ConfigProvider.getConfig()
+            .getOptionalValue("humanize.funcionario.importacao.lote.tamanho", Integer.class).orElse(500));
+
+    // Expurgo de funcionários excluídos: registros por lote, pausa entre lotes e funcionários por ciclo
+    private static final int EXPURGO_TAMANHO_LOTE = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.funcionario.expurgo.lote", Integer.class).orElse(500);
+    private static final long EXPURGO_PAUSA_MS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.funcionario.expurgo.pausa-ms", Long.class).orElse(200L);
+    private static final int EXPURGO_FUNCIONARIOS_POR_CICLO = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.funcionario.expurgo.funcionarios-por-ciclo", Integer.class).orElse(50);
+
+    // Máximo de IDs por exclusão em lote (pedido explícito de IDs)
+    private static final int LIMITE_EXCLUSAO_LOTE = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.funcionario.exclusao-lote.limite", Integer.class).orElse(5000);
+
+    // Perfis de acesso (função e equipe) por ID_FUNC, invalidados por update/delete.
+    // O TTL limita a defasagem quando a alteração ocorre em outra instância da aplicação.
+    private static final CacheReferencia<Integer, PerfilAcessoTO> CACHE_PERFIS = new CacheReferencia<>("perfis-acesso",
+            ConfigProvider.getConfig().getOptionalValue("humanize.cache.perfil.ttl-segundos", Long.class).orElse(60L),
+            ConfigProvider.getConfig().getOptionalValue("humanize.cache.perfil.tamanho-maximo", Integer.class).orElse(10000));
+
+    // Favoritos por ID_FUNC, invalidados pelas escritas nos favoritos e nos recursos de bem-estar.
+    // A versão é derivada do conteúdo: uma recarga sem alteração mantém o mesmo ETag (também entre instâncias).
+    private static final CacheReferencia<Integer, FavoritosTO> CACHE_FAVORITOS = new CacheReferencia<>("favoritos",
+            ConfigProvider.getConfig().getOptionalValue("humanize.cache.favoritos.ttl-segundos", Long.class).orElse(300L),
+            ConfigProvider.getConfig().getOptionalValue("humanize.cache.favoritos.tamanho-maximo", Integer.class).orElse(10000));
+
     /**
      * Implementa a REGRA: Apenas usuários com ID_FUNCAO = 5 (RH) podem cadastrar novos funcionários.
+     * A validação de permissão, a unicidade do e-mail e a inserção compartilham uma única transação.
      */
-    public FuncionarioTO cadastrarNovoFuncionario(FuncionarioTO novoFuncionario, int solicitanteId)
+    public FuncionarioTO cadastrarNovoFuncionario(FuncionarioTO novoFuncionario, PerfilAcessoTO solicitante)
             throws AcessoNegadoException, RuntimeException {
 
-        // Valida Permissão do Solicitante
-        FuncionarioTO solicitante = funcionarioDAO.findByCodigo(solicitanteId);
-
-        if (solicitante == null || solicitante.getIdFuncao() != ID_FUNCAO_RH) {
-            throw new AcessoNegadoException("Acesso negado. Apenas usuários do RH podem realizar o cadastro de novos funcionários.");
-        }
+        return UnidadeDeTrabalho.executar(() -> {
+            // Valida Permissão do Solicitante
+            validarAcessoCadastro(solicitante);
 
-        // Aplica Regras de Negócio de Dados (Unicidade do E-mail)
-        if (funcionarioDAO.findByEmail(novoFuncionario.getEmail()) != null) {
-            throw new RuntimeException("O e-mail informado já está cadastrado.");
-        }
+            // Aplica Regras de Negócio de Dados (Unicidade do E-mail)
+            if (funcionarioDAO.findByEmail(novoFuncionario.getEmail()) != null) {
+                throw new RuntimeException("O e-mail informado já está cadastrado.");
+            }
 
-        FuncionarioTO resultado = funcionarioDAO.save(novoFuncionario);
+            FuncionarioTO resultado = funcionarioDAO.save(novoFuncionario);
 
-        if (resultado == null) {
-            throw new RuntimeException("Erro ao persistir o novo funcionário no banco de dados.");
-        }
+            if (resultado == null) {
+                throw new RuntimeException("Erro ao persistir o novo funcionário no banco de dados.");
+            }
 
-        return resultado;
+            return resultado;
+        });
     }
 
     /**
@@ -63,44 +116,360 @@ public class FuncionarioBO {
         return funcionarioDAO.findByCodigo(id);
     }
 
+    /**
+     * Retorna o perfil de acesso (função e equipe) do funcionário para verificações de autorização.
+     * Servido do cache em memória; o banco só é consultado na primeira vez ou após invalidação/expiração.
+     * @param id ID do funcionário.
+     * @return O PerfilAcessoTO ou null se o funcionário não existir ou tiver sido excluído.
+     * @throws BancoIndisponivelException Se o banco estiver inacessível (nada é armazenado no cache).
+     */
+    public PerfilAcessoTO buscarPerfilAcesso(int id) {
+        return CACHE_PERFIS.obter(id, () -> funcionarioDAO.findPerfilAcesso(id));
+    }
+
+    /**
+     * Indica se o funcionário existe e está ativo (não excluído), pelo cache de perfis de acesso,
+     * invalidado na exclusão.
+     * @throws BancoIndisponivelException Se o banco estiver inacessível.
+     */
+    public boolean isAtivo(int id) {
+        return buscarPerfilAcesso(id) != null;
+    }
+
+    /**
+     * Variante reativa de buscarPerfilAcesso (humanize.acesso-dados = reativo), com o mesmo cache.
+     */
+    public Uni<PerfilAcessoTO> buscarPerfilAcessoReativo(int id) {
+        return CACHE_PERFIS.obterReativo(id, () -> funcionarioReativoDAO.findPerfilAcesso(id));
+    }
+
     public FuncionarioTO findByEmail(String email) {
         return funcionarioDAO.findByEmail(email);
     }
 
+    /**
+     * Implementa a REGRA: Apenas usuários com ID_FUNCAO = 5 (RH) podem cadastrar novos funcionários.
+     * Usada pelo cadastro individual e, uma única vez por arquivo, pela importação em lote.
+     * @throws AcessoNegadoException Se o solicitante não for do RH.
+     */
+    public void validarAcessoCadastro(PerfilAcessoTO solicitante) throws AcessoNegadoException {
+        if (solicitante == null || solicitante.getIdFuncao() != ID_FUNCAO_RH) {
+            throw new AcessoNegadoException("Acesso negado. Apenas usuários do RH podem realizar o cadastro de novos funcionários.");
+        }
+    }
+
+    /**
+     * Quantidade de funcionários persistidos por transação na importação em lote.
+     */
+    public int getTamanhoLoteImportacao() {
+        return TAMANHO_LOTE_IMPORTACAO;
+    }
+
+    /**
+     * Importa um lote de funcionários (já validados e com a permissão do solicitante verificada)
+     * em uma única transação: a unicidade dos e-mails e a existência das equipes e funções são
+     * verificadas em conjunto (uma consulta de cada para o lote) e os novos funcionários são
+     * inseridos com JDBC batching.
+     * E-mails já cadastrados, ou repetidos dentro do próprio lote, não são inseridos (DUPLICADO);
+     * linhas com equipe ou função inexistente também não (INVALIDO, com a mensagem), sem falhar o lote.
+     * @param funcionarios Lista com no máximo getTamanhoLoteImportacao() funcionários.
+     * @param resultados Resultado de cada funcionário, na mesma ordem, preenchido com o status (e a mensagem).
+     * @throws PersistenciaException Se o lote não puder ser persistido (nenhum resultado é preenchido).
+     */
+    public void importarLote(List<FuncionarioTO> funcionarios, List<ResultadoLoteTO> resultados) {
+
+        List<String> emails = new ArrayList<>(funcionarios.size());
+        Set<Integer> equipes = new LinkedHashSet<>();
+        Set<Integer> funcoes = new LinkedHashSet<>();
+        for (FuncionarioTO funcionario : funcionarios) {
+            emails.add(funcionario.getEmail());
+            equipes.add(funcionario.getEquipeId());
+            funcoes.add(funcionario.getIdFuncao());
+        }
+
+        ArrayList<String> status = new ArrayList<>(funcionarios.size());
+        ArrayList<String> mensagens = new ArrayList<>(funcionarios.size());
+
+        UnidadeDeTrabalho.executar(() -> {
+            Set<String> utilizados = funcionarioDAO.findEmailsCadastrados(emails);
+            Set<Integer> equipesExistentes = equipeDAO.findIdsExistentes(new ArrayList<>(equipes));
+            Set<Integer> funcoesExistentes = funcaoDAO.findIdsExistentes(new ArrayList<>(funcoes));
+            if (utilizados == null || equipesExistentes == null || funcoesExistentes == null) {
+                throw new PersistenciaException("Erro ao verificar os e-mails, equipes e funções do lote de funcionários.");
+            }
+
+            List<FuncionarioTO> novos = new ArrayList<>();
+            for (FuncionarioTO funcionario : funcionarios) {
+                if (!equipesExistentes.contains(funcionario.getEquipeId())) {
+                    status.add(ResultadoLoteTO.INVALIDO);
+                    mensagens.add("Equipe " + funcionario.getEquipeId() + " não encontrada.");
+                } else if (!funcoesExistentes.contains(funcionario.getIdFuncao())) {
+                    status.add(ResultadoLoteTO.INVALIDO);
+                    mensagens.add("Função " + funcionario.getIdFuncao() + " não encontrada.");
+                } else if (utilizados.add(funcionario.getEmail())) {
+                    status.add(ResultadoLoteTO.CRIADO);
+                    mensagens.add(null);
+                    novos.add(funcionario);
+                } else {
+                    status.add(ResultadoLoteTO.DUPLICADO);
+                    mensagens.add(null);
+                }
+            }
+
+            if (!novos.isEmpty() && !funcionarioDAO.saveLote(novos)) {
+                throw new PersistenciaException("Erro ao persistir o lote de funcionários no banco de dados.");
+            }
+            return null;
+        });
+
+        // Somente após o commit: em caso de falha, os resultados permanecem sem status
+        for (int i = 0; i < status.size(); i++) {
+            resultados.get(i).setStatus(status.get(i));
+            resultados.get(i).setMensagem(mensagens.get(i));
+        }
+    }
+
+    /**
+     * Atualiza os dados do funcionário. Na troca de equipe, o histórico de Check-ins do
+     * funcionário é transferido entre os agregados do Dashboard na mesma transação.
+     */
     public FuncionarioTO update(FuncionarioTO funcionario) {
-        return funcionarioDAO.update(funcionario);
+
+        FuncionarioTO atualizado = UnidadeDeTrabalho.executar(() -> {
+            FuncionarioTO atual = funcionarioDAO.findByCodigo(funcionario.getId());
+            if (atual == null) {
+                return null;
+            }
+
+            FuncionarioTO resultado = funcionarioDAO.update(funcionario);
+
+            if (resultado != null && atual.getEquipeId() != funcionario.getEquipeId()) {
+                // Em ordem crescente de ID_EQUIPE, como nas atualizações em conjunto: transferências
+                // cruzadas (A -> B e B -> A) bloqueiam as linhas do agregado na mesma ordem, sem deadlock (ORA-00060)
+                boolean transferido = atual.getEquipeId() < funcionario.getEquipeId()
+                        ? agregadoDAO.ajustarHistoricoFuncionario(funcionario.getId(), atual.getEquipeId(), -1)
+                                && agregadoDAO.ajustarHistoricoFuncionario(funcionario.getId(), funcionario.getEquipeId(), 1)
+                        : agregadoDAO.ajustarHistoricoFuncionario(funcionario.getId(), funcionario.getEquipeId(), 1)
+                                && agregadoDAO.ajustarHistoricoFuncionario(funcionario.getId(), atual.getEquipeId(), -1);
+                if (!transferido) {
+                    return null;
+                }
+            }
+            return resultado;
+        });
+        CACHE_PERFIS.invalidar(funcionario.getId()); // Após o commit: função/equipe podem ter mudado
+        return atualizado;
     }
 
     /**
-     * Exclusão em Cascata Manual (BO Orchestration).
-     * Remove dependências (Check-ins e Favoritos) antes de remover o usuário.
+     * Exclusão lógica do funcionário (DT_EXCLUSAO), com efeito imediato para login e consultas.
+     * O histórico do funcionário é descontado do agregado do Dashboard na mesma transação;
+     * check-ins e favoritos são removidos depois, em pequenos lotes, por expurgarExcluidos.
      */
     public boolean delete(int id) {
-        checkinDAO.deleteByFuncionarioId(id);
+        boolean excluido = UnidadeDeTrabalho.executar(() -> {
+            FuncionarioTO funcionario = funcionarioDAO.findByCodigo(id);
+            if (funcionario == null) {
+                return false;
+            }
+
+            if (!agregadoDAO.ajustarHistoricoFuncionario(id, funcionario.getEquipeId(), -1)) {
+                return false;
+            }
+
+            boolean removido = funcionarioDAO.delete(id);
+            if (!removido) {
+                UnidadeDeTrabalho.marcarRollback();
+            }
+            return removido;
+        });
+        CACHE_PERFIS.invalidar(id);
+        return excluido;
+    }
+
+    /**
+     * Exclusão em lote (desligamento de uma área inteira), por lista de IDs ou por equipe.
+     * Implementa a REGRA: Apenas RH (ID_FUNCAO = 5) pode excluir em lote.
+     * Em uma única transação e em conjunto (cláusulas IN), sem laço por funcionário: bloqueia os
+     * funcionários ativos, desconta o histórico do agregado do Dashboard e os exclui logicamente.
+     * Se qualquer etapa falhar, nada é excluído. Check-ins e favoritos ficam para o expurgo.
+     * @return O resultado por ID (EXCLUIDO ou NAO_ENCONTRADO), na ordem do pedido (ou dos IDs da equipe).
+     * @throws AcessoNegadoException Se o solicitante não for do RH.
+     * @throws IllegalArgumentException Se o pedido não informar exatamente um critério ou exceder o limite de IDs.
+     * @throws PersistenciaException Se a exclusão não puder ser concluída (nada é excluído).
+     */
+    public ArrayList<ResultadoExclusaoTO> deleteEmLote(ExclusaoFuncionariosTO pedido, PerfilAcessoTO solicitante)
+            throws AcessoNegadoException {
+
+        if (solicitante == null || solicitante.getIdFuncao() != ID_FUNCAO_RH) {
+            throw new AcessoNegadoException("Acesso negado. Apenas usuários do RH podem excluir funcionários em lote.");
+        }
+
+        boolean porIds = pedido != null && pedido.getIds() != null && !pedido.getIds().isEmpty();
+        boolean porEquipe = pedido != null && pedido.getEquipeId() != null;
+        if (porIds == porEquipe) {
+            throw new IllegalArgumentException("Informe a lista de IDs ou o ID da equipe (apenas um dos dois).");
+        }
+        if (porIds && pedido.getIds().size() > LIMITE_EXCLUSAO_LOTE) {
+            throw new IllegalArgumentException("A exclusão em lote aceita no máximo " + LIMITE_EXCLUSAO_LOTE + " IDs por requisição.");
+        }
+
+        ArrayList<ResultadoExclusaoTO> resultados = UnidadeDeTrabalho.executar(() -> {
+            List<Integer> solicitados = porIds
+                    ? new ArrayList<>(new LinkedHashSet<>(pedido.getIds()))
+                    : funcionarioDAO.bloquearPorEquipe(pedido.getEquipeId());
+            List<Integer> existentes = porIds ? funcionarioDAO.bloquearExistentes(solicitados) : solicitados;
+            if (solicitados == null || existentes == null) {
+                throw new PersistenciaException("Erro ao localizar os funcionários para exclusão.");
+            }
+
+            if (!existentes.isEmpty()) {
+                if (!agregadoDAO.descontarHistoricoFuncionarios(existentes)
+                        || funcionarioDAO.deleteEmConjunto(existentes) != existentes.size()) {
+                    throw new PersistenciaException("Erro ao excluir os funcionários em lote. Nenhum funcionário foi excluído.");
+                }
+            }
+
+            Set<Integer> excluidos = new HashSet<>(existentes);
+            ArrayList<ResultadoExclusaoTO> lista = new ArrayList<>(solicitados.size());
+            for (Integer id : solicitados) {
+                lista.add(new ResultadoExclusaoTO(id, excluidos.contains(id)
+                        ? ResultadoExclusaoTO.EXCLUIDO
+                        : ResultadoExclusaoTO.NAO_ENCONTRADO));
+            }
+            return lista;
+        });
+
+        // Após o commit
+        for (ResultadoExclusaoTO resultado : resultados) {
+            CACHE_PERFIS.invalidar(resultado.getFuncionarioId());
+        }
+        return resultados;
+    }
+
+    /**
+     * Expurgo dos funcionários excluídos logicamente: remove check-ins em lotes de
+     * humanize.funcionario.expurgo.lote registros, cada um em sua própria transação curta e com
+     * pausa entre os lotes, para não disputar bloqueios com as gravações de check-in.
+     * Por fim, remove os favoritos e a linha do funcionário. Pode ser interrompido e retomado.
+     * @return Quantidade de funcionários totalmente expurgados no ciclo.
+     */
+    public int expurgarExcluidos() {
+        ArrayList<Integer> pendentes = funcionarioDAO.findExcluidosPendentes(EXPURGO_FUNCIONARIOS_POR_CICLO);
+        if (pendentes == null) {
+            return 0;
+        }
+
+        int expurgados = 0;
+        for (int id : pendentes) {
+            if (!expurgar(id)) {
+                break;
+            }
+            expurgados++;
+        }
+        return expurgados;
+    }
+
+    // Método auxiliar: Expurga um funcionário; false em caso de erro ou interrupção (retomado no próximo ciclo)
+    private boolean expurgar(int id) {
+        int removidos;
+        do {
+            removidos = checkinDAO.deleteLoteByFuncionarioId(id, EXPURGO_TAMANHO_LOTE);
+            if (removidos < 0) {
+                return false;
+            }
+            if (removidos == EXPURGO_TAMANHO_LOTE && !pausarExpurgo()) {
+                return false;
+            }
+        } while (removidos == EXPURGO_TAMANHO_LOTE);
 
-        funcionarioDAO.deleteRecursosAssociados(id);
+        boolean expurgado = UnidadeDeTrabalho.executar(() -> funcionarioDAO.deleteRecursosAssociados(id) && funcionarioDAO.expurgar(id));
+        CACHE_FAVORITOS.invalidar(id);
+        return expurgado;
+    }
 
-        return funcionarioDAO.delete(id);
+    private static boolean pausarExpurgo() {
+        try {
+            Thread.sleep(EXPURGO_PAUSA_MS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
     /**
      * Adiciona um recurso à lista de favoritos do funcionário.
      */
     public boolean associarRecurso(int idFunc, int idRecurso) {
-        return funcRecursoDAO.associarRecurso(idFunc, idRecurso);
+        boolean associado = funcRecursoDAO.associarRecurso(idFunc, idRecurso);
+        CACHE_FAVORITOS.invalidar(idFunc);
+        return associado;
+    }
+
+    /**
+     * Define (ou substitui) toda a lista de favoritos do funcionário em uma única transação,
+     * com operações em conjunto: remove os que saíram e insere os novos (MERGE, sem exceções de duplicidade).
+     * IDs repetidos são considerados uma única vez; IDs de recursos inexistentes são ignorados.
+     * @return A lista de favoritos resultante, ou null se o funcionário não existir.
+     * @throws PersistenciaException Se a lista não puder ser substituída (nada é alterado).
+     */
+    public ArrayList<RecursoBemEstarTO> substituirRecursosFavoritos(int idFunc, List<Integer> idsRecursos) {
+        List<Integer> ids = idsRecursos == null ? List.of()
+                : new ArrayList<>(new LinkedHashSet<>(idsRecursos.stream().filter(Objects::nonNull).toList()));
+
+        ArrayList<RecursoBemEstarTO> lista = UnidadeDeTrabalho.executar(() -> {
+            if (funcionarioDAO.findByCodigo(idFunc) == null) {
+                return null;
+            }
+            if (!funcRecursoDAO.substituirRecursos(idFunc, ids)) {
+                throw new PersistenciaException("Erro ao salvar a lista de recursos favoritos no banco de dados.");
+            }
+            ArrayList<RecursoBemEstarTO> resultado = funcRecursoDAO.findRecursosByFuncionario(idFunc);
+            if (resultado == null) {
+                throw new PersistenciaException("Erro ao consultar a lista de recursos favoritos no banco de dados.");
+            }
+            return resultado;
+        });
+        CACHE_FAVORITOS.invalidar(idFunc); // Após o commit
+        return lista;
     }
 
     /**
      * Remove um recurso da lista de favoritos do funcionário.
      */
     public boolean desassociarRecurso(int idFunc, int idRecurso) {
-        return funcRecursoDAO.desassociarRecurso(idFunc, idRecurso);
+        boolean desassociado = funcRecursoDAO.desassociarRecurso(idFunc, idRecurso);
+        CACHE_FAVORITOS.invalidar(idFunc);
+        return desassociado;
     }
 
     /**
-     * Lista todos os recursos favoritos de um funcionário.
+     * Retorna os favoritos do funcionário com a sua versão (ETag), a partir do cache.
+     * A lista retornada é compartilhada pelo cache e não deve ser alterada.
+     * @return Os favoritos, ou null em caso de erro na consulta.
      */
-    public ArrayList<RecursoBemEstarTO> listarRecursosFavoritos(int idFunc) {
-        return funcRecursoDAO.findRecursosByFuncionario(idFunc);
+    public FavoritosTO buscarFavoritos(int idFunc) {
+        return CACHE_FAVORITOS.obter(idFunc, () -> {
+            ArrayList<RecursoBemEstarTO> recursos = funcRecursoDAO.findRecursosByFuncionario(idFunc);
+            return recursos != null ? new FavoritosTO(recursos, versaoFavoritos(recursos)) : null;
+        });
+    }
+
+    /**
+     * Invalida os favoritos em cache de todos os funcionários (após escritas nos recursos de bem-estar).
+     */
+    static void invalidarCacheFavoritos() {
+        CACHE_FAVORITOS.invalidarTudo();
+    }
+
+    // Método auxiliar: Versão dos favoritos (CRC32 do conteúdo da lista, na ordem retornada pelo DAO)
+    private static String versaoFavoritos(List<RecursoBemEstarTO> recursos) {
+        CRC32 crc = new CRC32();
+        for (RecursoBemEstarTO recurso : recursos) {
+            String linha = recurso.getId() + "|" + recurso.getNome() + "|" + recurso.getTipo() + "|" + recurso.getLink() + "\n";
+            crc.update(linha.getBytes(StandardCharsets.UTF_8));
+        }
+        return recursos.size() + "-" + Long.toHexString(crc.getValue());
     }
 }
\ No newline at end of file
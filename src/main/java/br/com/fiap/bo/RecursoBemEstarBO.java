@@ -1,49 +1,138 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.cache.CacheReferencia;
+import br.com.fiap.cache.RespostaJsonPreSerializada;
 import br.com.fiap.dao.RecursoBemEstarDAO;
+import br.com.fiap.dao.RecursoBemEstarReativoDAO;
 import br.com.fiap.to.RecursoBemEstarTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.Uni;
 import java.util.ArrayList;
 
 /**
  * Gerencia a lógica de negócio e orquestra as operações CRUD para os Recursos de Bem-Estar.
  * Esta classe atua como intermediário entre o Resource e o DAO.
+ * As consultas (findAll/findById) são mantidas em cache e invalidadas a cada escrita.
  */
 public class RecursoBemEstarBO {
 
     private final RecursoBemEstarDAO dao = new RecursoBemEstarDAO();
+    private final RecursoBemEstarReativoDAO daoReativo = new RecursoBemEstarReativoDAO();
+
+    // Compartilhados entre as instâncias do BO (uma por Resource)
+    private static final CacheReferencia<String, ArrayList<RecursoBemEstarTO>> CACHE_LISTA = new CacheReferencia<>("recursos");
+    private static final CacheReferencia<Integer, RecursoBemEstarTO> CACHE_POR_ID = new CacheReferencia<>("recursos-por-id");
+    private static final String CHAVE_TODOS = "todos";
+
+    // Resposta JSON da lista completa, refeita apenas quando a lista em cache muda
+    private static final RespostaJsonPreSerializada JSON_TODOS = new RespostaJsonPreSerializada();
 
     /**
      * Salva um novo Recurso de Bem-Estar no banco.
      */
     public RecursoBemEstarTO save(RecursoBemEstarTO recurso) {
-        return dao.save(recurso);
+        RecursoBemEstarTO salvo = dao.save(recurso);
+        invalidarCache();
+        return salvo;
     }
 
     /**
      * Busca todos os recursos cadastrados.
      */
     public ArrayList<RecursoBemEstarTO> findAll() {
-        return dao.findAll();
+        return copiarTodos(CACHE_LISTA.obter(CHAVE_TODOS, this::carregarTodos));
     }
 
     /**
      * Busca um recurso pelo seu ID.
      */
     public RecursoBemEstarTO findById(int id) {
-        return dao.findById(id);
+        // Cópia: a instância em cache é compartilhada entre as requisições
+        return copiar(CACHE_POR_ID.obter(id, () -> dao.findById(id)));
+    }
+
+    /**
+     * Variante reativa de findAll (humanize.acesso-dados = reativo), com o mesmo cache.
+     */
+    public Uni<ArrayList<RecursoBemEstarTO>> findAllReativo() {
+        return CACHE_LISTA.obterReativo(CHAVE_TODOS, this::carregarTodosReativo)
+                .map(RecursoBemEstarBO::copiarTodos);
+    }
+
+    /**
+     * Lista completa já serializada em JSON (e gzip), para escrita direta na resposta.
+     * A serialização é refeita somente quando a lista em cache muda.
+     * @return A serialização, ou null se não houver recursos cadastrados.
+     */
+    public RespostaJsonPreSerializada.Serializacao findAllSerializado(ObjectMapper objectMapper) {
+        ArrayList<RecursoBemEstarTO> lista = CACHE_LISTA.obter(CHAVE_TODOS, this::carregarTodos);
+        return lista != null ? JSON_TODOS.obter(lista, objectMapper) : null;
+    }
+
+    /**
+     * Variante reativa de findAllSerializado (humanize.acesso-dados = reativo), com o mesmo cache.
+     */
+    public Uni<RespostaJsonPreSerializada.Serializacao> findAllSerializadoReativo(ObjectMapper objectMapper) {
+        return CACHE_LISTA.obterReativo(CHAVE_TODOS, this::carregarTodosReativo)
+                .map(lista -> lista != null ? JSON_TODOS.obter(lista, objectMapper) : null);
+    }
+
+    // Método auxiliar: Carga do cache; lista vazia (tabela vazia ou erro no DAO) não é armazenada
+    private ArrayList<RecursoBemEstarTO> carregarTodos() {
+        ArrayList<RecursoBemEstarTO> resultado = dao.findAll();
+        return resultado.isEmpty() ? null : resultado;
+    }
+
+    private Uni<ArrayList<RecursoBemEstarTO>> carregarTodosReativo() {
+        return daoReativo.findAll().collect().asList()
+                .map(resultado -> resultado.isEmpty() ? null : new ArrayList<>(resultado));
+    }
+
+    /**
+     * Variante reativa de findById (humanize.acesso-dados = reativo), com o mesmo cache.
+     */
+    public Uni<RecursoBemEstarTO> findByIdReativo(int id) {
+        return CACHE_POR_ID.obterReativo(id, () -> daoReativo.findById(id)).map(RecursoBemEstarBO::copiar);
     }
 
     /**
      * Atualiza um recurso existente no banco.
      */
     public RecursoBemEstarTO update(RecursoBemEstarTO recurso) {
-        return dao.update(recurso);
+        RecursoBemEstarTO atualizado = dao.update(recurso);
+        invalidarCache();
+        return atualizado;
     }
 
     /**
      * Exclui um recurso pelo seu ID.
      */
     public boolean delete(int id) {
-        return dao.delete(id);
+        boolean excluido = dao.delete(id);
+        invalidarCache();
+        return excluido;
+    }
+
+    // Método auxiliar: Copia a lista e cada recurso (as instâncias em cache são compartilhadas entre as requisições)
+    private static ArrayList<RecursoBemEstarTO> copiarTodos(ArrayList<RecursoBemEstarTO> lista) {
+        ArrayList<RecursoBemEstarTO> copia = new ArrayList<>();
+        if (lista != null) {
+            lista.forEach(recurso -> copia.add(copiar(recurso)));
+        }
+        return copia;
+    }
+
+    private static RecursoBemEstarTO copiar(RecursoBemEstarTO recurso) {
+        return recurso != null
+                ? new RecursoBemEstarTO(recurso.getId(), recurso.getNome(), recurso.getTipo(), recurso.getLink())
+                : null;
+    }
+
+    // Método auxiliar: Invalida as consultas em cache após qualquer escrita
+    // (inclusive os favoritos dos funcionários, que exibem os dados dos recursos)
+    private static void invalidarCache() {
+        CACHE_LISTA.invalidarTudo();
+        CACHE_POR_ID.invalidarTudo();
+        FuncionarioBO.invalidarCacheFavoritos();
     }
-}
\ No newline at end of file
+}
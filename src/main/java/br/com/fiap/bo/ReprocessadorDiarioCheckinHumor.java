@@ -0,0 +1,68 @@
+package br.com.fiap.bo;
+
+import br.com.fiap.dao.DiarioCheckinHumor;
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.exception.PersistenciaException;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reaplica periodicamente no banco os check-ins do diário local (DiarioCheckinHumor),
+ * registrados enquanto o banco estava inacessível. Enquanto o banco continuar fora do ar,
+ * o ciclo falha sem perder registros e é repetido no intervalo configurado. Check-ins recusados
+ * por erro permanente vão para a quarentena do diário, sem bloquear os demais.
+ */
+@ApplicationScoped
+public class ReprocessadorDiarioCheckinHumor {
+
+    private static final long INTERVALO_MS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.diario.intervalo-reprocessamento-ms", Long.class).orElse(5000L);
+
+    private final CheckinHumorBO bo = new CheckinHumorBO();
+    private ScheduledExecutorService agendador;
+
+    void aoIniciar(@Observes StartupEvent evento) {
+        if (!DiarioCheckinHumor.isHabilitado()) {
+            return;
+        }
+        agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "humanize-diario-checkins");
+            thread.setDaemon(true);
+            return thread;
+        });
+        agendador.scheduleWithFixedDelay(this::reprocessar, INTERVALO_MS, INTERVALO_MS, TimeUnit.MILLISECONDS);
+    }
+
+    void aoEncerrar(@Observes ShutdownEvent evento) {
+        if (agendador != null) {
+            agendador.shutdown();
+        }
+    }
+
+    // Um ciclo de reprocessamento: só acessa o banco se houver check-ins pendentes no diário
+    private void reprocessar() {
+        if (DiarioCheckinHumor.getPendentes() == 0) {
+            return;
+        }
+        try {
+            int reprocessados = bo.reprocessarDiario();
+            if (reprocessados > 0) {
+                System.err.println("Diário de check-ins: " + reprocessados + " registros gravados no banco.");
+            }
+        } catch (BancoIndisponivelException e) {
+            System.err.println("Diário de check-ins: banco ainda indisponível (" + e.getMessage() + ").");
+        } catch (PersistenciaException e) {
+            System.err.println("Diário de check-ins: reprocessamento interrompido (" + e.getMessage() + ").");
+        } catch (RuntimeException e) {
+            // Não deixa a exceção cancelar os próximos ciclos do agendador
+            System.err.println("Erro ao reprocessar o diário de check-ins: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package br.com.fiap.cache;
+
+import br.com.fiap.to.EstatisticasCacheTO;
+import io.smallrye.mutiny.Uni;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Cache em memória (por instância da aplicação) para dados de referência que mudam raramente
+ * (equipes, funções e recursos de bem-estar).
+ * Cada entrada expira após o TTL configurado e o número de entradas é limitado.
+ * Valores nulos (não encontrado ou erro no DAO) nunca são armazenados.
+ * Todos os caches criados ficam registrados para a exposição de estatísticas (GET /metricas/caches).
+ * @param <K> Tipo da chave.
+ * @param <V> Tipo do valor.
+ */
+public class CacheReferencia<K, V> {
+
+    // TTL e tamanho máximo padrão, configuráveis por application.properties
+    private static final long TTL_PADRAO_SEGUNDOS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.cache.referencia.ttl-segundos", Long.class).orElse(300L);
+    private static final int TAMANHO_MAXIMO_PADRAO = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.cache.referencia.tamanho-maximo", Integer.class).orElse(1000);
+
+    private static final List<CacheReferencia<?, ?>> CACHES = new CopyOnWriteArrayList<>();
+
+    private final String nome;
+    private final long ttlNanos;
+    private final int tamanhoMaximo;
+    private final ConcurrentHashMap<K, Entrada<V>> entradas = new ConcurrentHashMap<>();
+
+    // Incrementada a cada invalidação: uma carga iniciada antes dela não é armazenada (evita valor obsoleto)
+    private final AtomicLong geracao = new AtomicLong();
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+
+    private static final class Entrada<V> {
+        private final V valor;
+        private final long expiraEm;
+
+        private Entrada(V valor, long expiraEm) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+        }
+    }
+
+    /**
+     * Cria e registra um cache com o TTL e o tamanho máximo padrão.
+     * @param nome Nome exibido nas estatísticas.
+     */
+    public CacheReferencia(String nome) {
+        this(nome, TTL_PADRAO_SEGUNDOS, TAMANHO_MAXIMO_PADRAO);
+    }
+
+    public CacheReferencia(String nome, long ttlSegundos, int tamanhoMaximo) {
+        this.nome = nome;
+        this.ttlNanos = ttlSegundos * 1_000_000_000L;
+        this.tamanhoMaximo = tamanhoMaximo;
+        CACHES.add(this);
+    }
+
+    /**
+     * Retorna o valor da chave, carregando-o com o carregador em caso de ausência ou expiração.
+     * @param chave Chave buscada.
+     * @param carregador Consulta ao DAO executada somente em caso de falha no cache.
+     * @return O valor em cache ou o recém-carregado (pode ser null, que não é armazenado).
+     */
+    public V obter(K chave, Supplier<V> carregador) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada != null && entrada.expiraEm - System.nanoTime() > 0) {
+            acertos.increment();
+            return entrada.valor;
+        }
+
+        falhas.increment();
+        long geracaoCarga = geracao.get();
+        V valor = carregador.get();
+        armazenar(chave, valor, geracaoCarga);
+        return valor;
+    }
+
+    /**
+     * Variante reativa de obter: o carregador retorna um Uni (DAO reativo) e o valor
+     * é armazenado quando emitido, sem bloquear a thread chamadora.
+     * @param chave Chave buscada.
+     * @param carregador Consulta ao DAO reativo executada somente em caso de falha no cache.
+     * @return Uni com o valor em cache ou o recém-carregado (pode ser null, que não é armazenado).
+     */
+    public Uni<V> obterReativo(K chave, Supplier<Uni<V>> carregador) {
+        Entrada<V> entrada = entradas.get(chave);
+        if (entrada != null && entrada.expiraEm - System.nanoTime() > 0) {
+            acertos.increment();
+            return Uni.createFrom().item(entrada.valor);
+        }
+
+        falhas.increment();
+        long geracaoCarga = geracao.get();
+        return carregador.get().invoke(valor -> armazenar(chave, valor, geracaoCarga));
+    }
+
+    /**
+     * Remove uma chave do cache.
+     */
+    public void invalidar(K chave) {
+        geracao.incrementAndGet();
+        entradas.remove(chave);
+        invalidacoes.increment();
+    }
+
+    /**
+     * Remove todas as entradas do cache (utilizado após escritas na tabela de origem).
+     */
+    public void invalidarTudo() {
+        geracao.incrementAndGet();
+        entradas.clear();
+        invalidacoes.increment();
+    }
+
+    // Método auxiliar: Grava o valor carregado, exceto se nulo ou se houve invalidação durante a carga
+    private void armazenar(K chave, V valor, long geracaoCarga) {
+        if (valor != null && geracaoCarga == geracao.get()) {
+            liberarEspaco(chave);
+            entradas.put(chave, new Entrada<>(valor, System.nanoTime() + ttlNanos));
+            // Uma invalidação concorrente com o put remove a entrada recém-gravada
+            if (geracaoCarga != geracao.get()) {
+                entradas.remove(chave);
+            }
+        }
+    }
+
+    // Método auxiliar: Remove expirados e, se ainda cheio, descarta uma entrada qualquer
+    private void liberarEspaco(K chaveNova) {
+        if (entradas.size() < tamanhoMaximo || entradas.containsKey(chaveNova)) {
+            return;
+        }
+        long agora = System.nanoTime();
+        entradas.values().removeIf(entrada -> entrada.expiraEm - agora <= 0);
+
+        Iterator<K> chaves = entradas.keySet().iterator();
+        while (entradas.size() >= tamanhoMaximo && chaves.hasNext()) {
+            chaves.next();
+            chaves.remove();
+        }
+    }
+
+    /**
+     * Retorna um retrato das estatísticas deste cache.
+     */
+    public EstatisticasCacheTO getEstatisticas() {
+        long totalAcertos = acertos.sum();
+        long totalFalhas = falhas.sum();
+        long totalConsultas = totalAcertos + totalFalhas;
+        return new EstatisticasCacheTO(
+                nome,
+                entradas.size(),
+                tamanhoMaximo,
+                totalAcertos,
+                totalFalhas,
+                invalidacoes.sum(),
+                totalConsultas > 0 ? (double) totalAcertos / totalConsultas : 0.0
+        );
+    }
+
+    /**
+     * Retorna as estatísticas de todos os caches criados na aplicação.
+     */
+    public static ArrayList<EstatisticasCacheTO> getEstatisticasGerais() {
+        ArrayList<EstatisticasCacheTO> lista = new ArrayList<>();
+        for (CacheReferencia<?, ?> cache : CACHES) {
+            lista.add(cache.getEstatisticas());
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.fiap.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Mantém a resposta JSON já serializada (e a sua variante gzip) do valor atual de um
+ * CacheReferencia, para os endpoints de referência de maior volume (/equipes, /funcoes, /recursos).
+ * A serialização é refeita somente quando o valor em cache muda (nova instância após invalidação
+ * ou expiração); nas demais requisições, os bytes são escritos diretamente na resposta.
+ */
+public class RespostaJsonPreSerializada {
+
+    // Bytes do SHA-256 mantidos no ETag (128 bits)
+    private static final int TAMANHO_HASH_ETAG = 16;
+
+    private volatile Serializacao atual;
+
+    /**
+     * Corpo JSON pré-serializado, com a variante gzip e os ETags de cada representação.
+     */
+    public static final class Serializacao {
+        private final Object origem;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String etagGzip;
+
+        private Serializacao(Object origem, byte[] json) {
+            this.origem = origem;
+            this.json = json;
+            this.gzip = comprimir(json);
+            this.etag = etagForte(json);
+            // Representações com codificações diferentes precisam de ETags fortes diferentes
+            this.etagGzip = etag.substring(0, etag.length() - 1) + "-gzip\"";
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getEtagGzip() {
+            return etagGzip;
+        }
+    }
+
+    /**
+     * Retorna a serialização do valor, reaproveitando a anterior se o valor for a mesma
+     * instância (o valor armazenado no CacheReferencia, que não deve ser alterado).
+     * @param valor Valor atual do cache de dados.
+     * @param objectMapper ObjectMapper da aplicação (mesma configuração das demais respostas).
+     */
+    public Serializacao obter(Object valor, ObjectMapper objectMapper) {
+        Serializacao serializacao = atual;
+        if (serializacao != null && serializacao.origem == valor) {
+            return serializacao;
+        }
+
+        try {
+            serializacao = new Serializacao(valor, objectMapper.writeValueAsBytes(valor));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Erro ao serializar resposta de referência.", e);
+        }
+        atual = serializacao;
+        return serializacao;
+    }
+
+    /**
+     * Calcula o ETag forte (entre aspas) de um corpo: SHA-256 truncado, em Base64 URL.
+     */
+    public static String etagForte(byte[] corpo) {
+        try {
+            byte[] resumo = MessageDigest.getInstance("SHA-256").digest(corpo);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(resumo, TAMANHO_HASH_ETAG)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM.", e);
+        }
+    }
+
+    // Método auxiliar: Variante gzip do corpo, com compressão máxima (feita uma vez por alteração dos dados)
+    private static byte[] comprimir(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,603 @@
+package br.com.fiap.dao;
+
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.to.CheckinHumorTO;
+import br.com.fiap.to.PontoSerieHumorTO;
+import br.com.fiap.to.RelatorioHumorTO;
+import br.com.fiap.to.RelatorioQuestionarioTO;
+import br.com.fiap.to.SerieHumorEquipeTO;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Gerencia o agregado de humor por equipe (T_H_HUMOR_EQUIPE_AGG) e o rollup diário
+ * por equipe (T_H_HUMOR_EQUIPE_DIA).
+ * Ambos guardam a quantidade de check-ins e as somas das respostas numéricas
+ * (NR_ENERGIA e NR_CONEXAO), e são atualizados incrementalmente na mesma
+ * transação (UnidadeDeTrabalho) das inserções de check-in e das exclusões de funcionários.
+ * Funcionários excluídos logicamente (DT_EXCLUSAO) deixam de ser contabilizados já na exclusão;
+ * os seus check-ins são removidos depois, pelo expurgo, sem novo ajuste do agregado.
+ */
+public class AgregadoHumorDAO {
+
+    /**
+     * Preenche um PreparedStatement com as linhas (addBatch) de um batch de MERGE.
+     */
+    @FunctionalInterface
+    interface PreenchimentoLote {
+        void preencher(PreparedStatement ps) throws SQLException;
+    }
+
+    // ORA-00001: outra transação inseriu antes a mesma linha (PK_H_HUMOR_EQUIPE_AGG ou PK_H_HUMOR_EQUIPE_DIA)
+    private static final int ORA_CHAVE_DUPLICADA = 1;
+
+    // Granularidades da série temporal -> formato do TRUNC do Oracle (semana ISO começa na segunda-feira)
+    public static final String GRANULARIDADE_DIA = "dia";
+    public static final String GRANULARIDADE_SEMANA = "semana";
+    public static final String GRANULARIDADE_MES = "mes";
+    private static final Map<String, String> FORMATOS_TRUNC = Map.of(
+            GRANULARIDADE_DIA, "DD",
+            GRANULARIDADE_SEMANA, "IW",
+            GRANULARIDADE_MES, "MM"
+    );
+
+    // Perguntas categóricas do questionário: coluna de T_H_HUMOR -> campo de CheckinHumorTO.
+    // DS_BLOQUEIO e DS_PEQUENO_GANHO são texto livre e não entram na distribuição.
+    private static final String[][] PERGUNTAS_CATEGORICAS = {
+            {"DS_SENTIMENTO", "sentimento"},
+            {"TP_VOLUME", "volumeDemandas"},
+            {"TP_EQUILIBRIO_VT", "desconexao"},
+            {"TP_INTERACAO", "qualidadeInteracao"},
+            {"TP_SONO", "qualidadeSono"},
+            {"TP_PAUSA", "statusPausas"}
+    };
+
+    // Relatório completo em uma única leitura de T_H_HUMOR: GROUPING SETS produz, por equipe,
+    // a linha de totais (médias) e uma linha por resposta de cada pergunta categórica.
+    // GROUPING_ID identifica a qual conjunto cada linha pertence.
+    private static final String SQL_RELATORIO_QUESTIONARIO;
+
+    static {
+        StringBuilder colunas = new StringBuilder();
+        StringBuilder conjuntos = new StringBuilder("()");
+        for (String[] pergunta : PERGUNTAS_CATEGORICAS) {
+            colunas.append(colunas.length() > 0 ? ", " : "").append("h.").append(pergunta[0]);
+            conjuntos.append(", (h.").append(pergunta[0]).append(")");
+        }
+        SQL_RELATORIO_QUESTIONARIO =
+                "SELECT f.ID_EQUIPE, e.NM_EQUIPE, GROUPING_ID(" + colunas + ") AS GID, " + colunas + ", " +
+                "COUNT(*), AVG(h.NR_ENERGIA), AVG(h.NR_CONEXAO) " +
+                "FROM T_H_HUMOR h " +
+                "JOIN T_H_FUNCIONARIO f ON h.ID_FUNC = f.ID_FUNC " +
+                "JOIN T_H_EQUIPE e ON f.ID_EQUIPE = e.ID_EQUIPE " +
+                "WHERE h.DT_CHECKIN >= ? AND h.DT_CHECKIN < ? AND f.DT_EXCLUSAO IS NULL " +
+                "%s" +
+                "GROUP BY f.ID_EQUIPE, e.NM_EQUIPE, GROUPING SETS (" + conjuntos + ") " +
+                "ORDER BY e.NM_EQUIPE, f.ID_EQUIPE, GID DESC, COUNT(*) DESC";
+    }
+
+    // Soma totais de check-ins ao agregado de uma equipe
+    private static final String SQL_MERGE_EQUIPE =
+            "MERGE INTO T_H_HUMOR_EQUIPE_AGG a " +
+            "USING (SELECT ? AS ID_EQUIPE FROM DUAL) s " +
+            "ON (a.ID_EQUIPE = s.ID_EQUIPE) " +
+            "WHEN MATCHED THEN UPDATE SET a.QT_CHECKINS = a.QT_CHECKINS + ?, a.SM_ENERGIA = a.SM_ENERGIA + ?, a.SM_CONEXAO = a.SM_CONEXAO + ? " +
+            "WHEN NOT MATCHED THEN INSERT (ID_EQUIPE, QT_CHECKINS, SM_ENERGIA, SM_CONEXAO) VALUES (s.ID_EQUIPE, ?, ?, ?)";
+
+    // Soma totais de check-ins ao rollup de um dia de uma equipe
+    private static final String SQL_MERGE_DIA_EQUIPE =
+            "MERGE INTO T_H_HUMOR_EQUIPE_DIA d " +
+            "USING (SELECT ? AS ID_EQUIPE, ? AS DT_DIA FROM DUAL) s " +
+            "ON (d.ID_EQUIPE = s.ID_EQUIPE AND d.DT_DIA = s.DT_DIA) " +
+            "WHEN MATCHED THEN UPDATE SET d.QT_CHECKINS = d.QT_CHECKINS + ?, d.SM_ENERGIA = d.SM_ENERGIA + ?, d.SM_CONEXAO = d.SM_CONEXAO + ? " +
+            "WHEN NOT MATCHED THEN INSERT (ID_EQUIPE, DT_DIA, QT_CHECKINS, SM_ENERGIA, SM_CONEXAO) VALUES (s.ID_EQUIPE, s.DT_DIA, ?, ?, ?)";
+
+    // Equipes atuais (não nulas) dos funcionários ativos (IN, slot %s)
+    private static final String SQL_EQUIPES_FUNCIONARIOS =
+            "SELECT ID_FUNC, ID_EQUIPE FROM T_H_FUNCIONARIO " +
+            "WHERE ID_FUNC IN (%s) AND DT_EXCLUSAO IS NULL AND ID_EQUIPE IS NOT NULL";
+
+    // Soma todo o histórico de um funcionário ao agregado de uma equipe
+    private static final String SQL_SOMAR_HISTORICO =
+            "MERGE INTO T_H_HUMOR_EQUIPE_AGG a " +
+            "USING (SELECT ? AS ID_EQUIPE, COUNT(*) AS QT, NVL(SUM(NR_ENERGIA), 0) AS SE, NVL(SUM(NR_CONEXAO), 0) AS SC " +
+            "       FROM T_H_HUMOR WHERE ID_FUNC = ? HAVING COUNT(*) > 0) s " +
+            "ON (a.ID_EQUIPE = s.ID_EQUIPE) " +
+            "WHEN MATCHED THEN UPDATE SET a.QT_CHECKINS = a.QT_CHECKINS + s.QT, a.SM_ENERGIA = a.SM_ENERGIA + s.SE, a.SM_CONEXAO = a.SM_CONEXAO + s.SC " +
+            "WHEN NOT MATCHED THEN INSERT (ID_EQUIPE, QT_CHECKINS, SM_ENERGIA, SM_CONEXAO) VALUES (s.ID_EQUIPE, s.QT, s.SE, s.SC)";
+
+    // Soma o histórico de um funcionário, dia a dia, ao rollup diário de uma equipe
+    private static final String SQL_SOMAR_DIA_HISTORICO =
+            "MERGE INTO T_H_HUMOR_EQUIPE_DIA d " +
+            "USING (SELECT ? AS ID_EQUIPE, TRUNC(DT_CHECKIN) AS DT_DIA, COUNT(*) AS QT, SUM(NR_ENERGIA) AS SE, SUM(NR_CONEXAO) AS SC " +
+            "       FROM T_H_HUMOR WHERE ID_FUNC = ? GROUP BY TRUNC(DT_CHECKIN)) s " +
+            "ON (d.ID_EQUIPE = s.ID_EQUIPE AND d.DT_DIA = s.DT_DIA) " +
+            "WHEN MATCHED THEN UPDATE SET d.QT_CHECKINS = d.QT_CHECKINS + s.QT, d.SM_ENERGIA = d.SM_ENERGIA + s.SE, d.SM_CONEXAO = d.SM_CONEXAO + s.SC " +
+            "WHEN NOT MATCHED THEN INSERT (ID_EQUIPE, DT_DIA, QT_CHECKINS, SM_ENERGIA, SM_CONEXAO) VALUES (s.ID_EQUIPE, s.DT_DIA, s.QT, s.SE, s.SC)";
+
+    // Subtrai o histórico de um funcionário do agregado de uma equipe.
+    // Apenas UPDATE: uma subtração nunca cria linhas (com contagens negativas).
+    private static final String SQL_DESCONTAR_HISTORICO =
+            "MERGE INTO T_H_HUMOR_EQUIPE_AGG a " +
+            "USING (SELECT ? AS ID_EQUIPE, COUNT(*) AS QT, NVL(SUM(NR_ENERGIA), 0) AS SE, NVL(SUM(NR_CONEXAO), 0) AS SC " +
+            "       FROM T_H_HUMOR WHERE ID_FUNC = ? HAVING COUNT(*) > 0) s " +
+            "ON (a.ID_EQUIPE = s.ID_EQUIPE) " +
+            "WHEN MATCHED THEN UPDATE SET a.QT_CHECKINS = a.QT_CHECKINS - s.QT, a.SM_ENERGIA = a.SM_ENERGIA - s.SE, a.SM_CONEXAO = a.SM_CONEXAO - s.SC";
+
+    private static final String SQL_DESCONTAR_DIA_HISTORICO =
+            "MERGE INTO T_H_HUMOR_EQUIPE_DIA d " +
+            "USING (SELECT ? AS ID_EQUIPE, TRUNC(DT_CHECKIN) AS DT_DIA, COUNT(*) AS QT, SUM(NR_ENERGIA) AS SE, SUM(NR_CONEXAO) AS SC " +
+            "       FROM T_H_HUMOR WHERE ID_FUNC = ? GROUP BY TRUNC(DT_CHECKIN)) s " +
+            "ON (d.ID_EQUIPE = s.ID_EQUIPE AND d.DT_DIA = s.DT_DIA) " +
+            "WHEN MATCHED THEN UPDATE SET d.QT_CHECKINS = d.QT_CHECKINS - s.QT, d.SM_ENERGIA = d.SM_ENERGIA - s.SE, d.SM_CONEXAO = d.SM_CONEXAO - s.SC";
+
+    // Desconta o histórico de vários funcionários (IN, slot %s) das suas equipes atuais.
+    // As linhas já existem: os check-ins foram contabilizados na inserção.
+    private static final String SQL_DESCONTAR_HISTORICO_CONJUNTO =
+            "MERGE INTO T_H_HUMOR_EQUIPE_AGG a " +
+            "USING (SELECT f.ID_EQUIPE, COUNT(*) AS QT, SUM(h.NR_ENERGIA) AS SE, SUM(h.NR_CONEXAO) AS SC " +
+            "       FROM T_H_HUMOR h JOIN T_H_FUNCIONARIO f ON h.ID_FUNC = f.ID_FUNC " +
+            "       WHERE h.ID_FUNC IN (%s) GROUP BY f.ID_EQUIPE) s " +
+            "ON (a.ID_EQUIPE = s.ID_EQUIPE) " +
+            "WHEN MATCHED THEN UPDATE SET a.QT_CHECKINS = a.QT_CHECKINS - s.QT, a.SM_ENERGIA = a.SM_ENERGIA - s.SE, a.SM_CONEXAO = a.SM_CONEXAO - s.SC";
+
+    private static final String SQL_DESCONTAR_DIA_HISTORICO_CONJUNTO =
+            "MERGE INTO T_H_HUMOR_EQUIPE_DIA d " +
+            "USING (SELECT f.ID_EQUIPE, TRUNC(h.DT_CHECKIN) AS DT_DIA, COUNT(*) AS QT, SUM(h.NR_ENERGIA) AS SE, SUM(h.NR_CONEXAO) AS SC " +
+            "       FROM T_H_HUMOR h JOIN T_H_FUNCIONARIO f ON h.ID_FUNC = f.ID_FUNC " +
+            "       WHERE h.ID_FUNC IN (%s) GROUP BY f.ID_EQUIPE, TRUNC(h.DT_CHECKIN)) s " +
+            "ON (d.ID_EQUIPE = s.ID_EQUIPE AND d.DT_DIA = s.DT_DIA) " +
+            "WHEN MATCHED THEN UPDATE SET d.QT_CHECKINS = d.QT_CHECKINS - s.QT, d.SM_ENERGIA = d.SM_ENERGIA - s.SE, d.SM_CONEXAO = d.SM_CONEXAO - s.SC";
+
+    /**
+     * Contabiliza check-ins recém-inseridos no agregado e no rollup diário das equipes dos funcionários.
+     * As equipes são resolvidas com uma consulta em conjunto e os check-ins são somados por equipe
+     * (e por equipe e dia) em memória; cada tabela recebe um único batch de MERGE.
+     * As linhas são atualizadas em ordem crescente de (equipe, dia): transações concorrentes bloqueiam
+     * as mesmas linhas na mesma ordem, sem deadlock (ORA-00060).
+     * Check-ins de funcionários sem equipe (ou excluídos) não são contabilizados, como em reconstruir.
+     * A primeira linha de uma equipe (ou de um dia) inserida ao mesmo tempo por outra transação
+     * não falha o check-in: o MERGE é repetido (ver executarMerge).
+     * Deve ser executado dentro de uma UnidadeDeTrabalho.
+     * @param checkins Check-ins inseridos na transação corrente.
+     * @return true se o agregado foi atualizado, false em caso de erro.
+     * @throws BancoIndisponivelException Se o banco estiver inacessível.
+     */
+    public boolean registrarCheckins(List<CheckinHumorTO> checkins) {
+        if (checkins.isEmpty()) {
+            return true;
+        }
+
+        List<Integer> funcionarioIds = new ArrayList<>(new LinkedHashSet<>(
+                checkins.stream().map(CheckinHumorTO::getFuncionarioId).toList()));
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+
+            Map<Integer, Integer> equipes = buscarEquipes(conn, funcionarioIds);
+
+            // ID_EQUIPE -> {quantidade, soma de energia, soma de conexão}, e o mesmo por equipe e dia
+            TreeMap<Integer, long[]> totaisPorEquipe = new TreeMap<>();
+            TreeMap<Integer, TreeMap<LocalDate, long[]>> totaisPorEquipeDia = new TreeMap<>();
+            for (CheckinHumorTO checkin : checkins) {
+                Integer equipeId = equipes.get(checkin.getFuncionarioId());
+                if (equipeId == null) {
+                    continue;
+                }
+                somar(totaisPorEquipe.computeIfAbsent(equipeId, id -> new long[3]), checkin);
+                somar(totaisPorEquipeDia.computeIfAbsent(equipeId, id -> new TreeMap<>())
+                        .computeIfAbsent(checkin.getDataCheckin(), dia -> new long[3]), checkin);
+            }
+            if (totaisPorEquipe.isEmpty()) {
+                return true;
+            }
+
+            executarMerge(conn, SQL_MERGE_EQUIPE, ps -> {
+                for (Map.Entry<Integer, long[]> entrada : totaisPorEquipe.entrySet()) {
+                    ps.setInt(1, entrada.getKey());
+                    preencherTotais(ps, 2, entrada.getValue());
+                    ps.addBatch();
+                }
+            });
+
+            executarMerge(conn, SQL_MERGE_DIA_EQUIPE, ps -> {
+                for (Map.Entry<Integer, TreeMap<LocalDate, long[]>> equipe : totaisPorEquipeDia.entrySet()) {
+                    for (Map.Entry<LocalDate, long[]> dia : equipe.getValue().entrySet()) {
+                        ps.setInt(1, equipe.getKey());
+                        ps.setTimestamp(2, Timestamp.valueOf(dia.getKey().atStartOfDay()));
+                        preencherTotais(ps, 3, dia.getValue());
+                        ps.addBatch();
+                    }
+                }
+            });
+            return true;
+
+        } catch (SQLException e) {
+            if (ConnectionFactory.isFalhaDeConexao(e)) {
+                throw new BancoIndisponivelException("Banco de dados indisponível ao atualizar o agregado de humor: " + e.getMessage(), e);
+            }
+            System.err.println("Erro ao atualizar o agregado de humor por equipe: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return false;
+        }
+    }
+
+    // Método auxiliar: ID_FUNC -> ID_EQUIPE dos funcionários ativos e com equipe (consulta em conjunto)
+    private static Map<Integer, Integer> buscarEquipes(Connection conn, List<Integer> funcionarioIds) throws SQLException {
+        Map<Integer, Integer> equipes = new HashMap<>();
+        for (List<Integer> bloco : ClausulaIn.particionar(funcionarioIds)) {
+            try (PreparedStatement ps = conn.prepareStatement(String.format(SQL_EQUIPES_FUNCIONARIOS, ClausulaIn.marcadores(bloco.size())))) {
+                ClausulaIn.preencher(ps, 1, bloco);
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        equipes.put(rs.getInt(1), rs.getInt(2));
+                    }
+                }
+            }
+        }
+        return equipes;
+    }
+
+    /**
+     * Executa um batch de MERGE que pode inserir linhas do agregado ou do rollup diário.
+     * Quando duas transações inserem ao mesmo tempo a mesma linha (a primeira de uma equipe ou de um dia),
+     * ambas seguem pelo ramo NOT MATCHED; a segunda aguarda o commit da primeira e falha com ORA-00001.
+     * Nesse caso, o batch é desfeito até o savepoint e repetido uma única vez: a linha já existe e o
+     * MERGE segue pelo ramo MATCHED. Requer a transação da UnidadeDeTrabalho (savepoint).
+     * @throws SQLException Se o batch falhar por outro motivo, ou novamente na repetição.
+     */
+    static void executarMerge(Connection conn, String sql, PreenchimentoLote lote) throws SQLException {
+        Savepoint antesDoMerge = conn.setSavepoint();
+        try {
+            executarLote(conn, sql, lote);
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ORA_CHAVE_DUPLICADA) {
+                throw e;
+            }
+            conn.rollback(antesDoMerge);
+            executarLote(conn, sql, lote);
+        }
+    }
+
+    private static void executarLote(Connection conn, String sql, PreenchimentoLote lote) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            lote.preencher(ps);
+            ps.executeBatch();
+        }
+    }
+
+    private static void somar(long[] totais, CheckinHumorTO checkin) {
+        totais[0]++;
+        totais[1] += checkin.getNivelEnergia();
+        totais[2] += checkin.getNivelConexao();
+    }
+
+    // Método auxiliar: Preenche os totais duas vezes (UPDATE e INSERT do MERGE) a partir da posição informada
+    private static void preencherTotais(PreparedStatement ps, int posicao, long[] totais) throws SQLException {
+        for (int repeticao = 0; repeticao < 2; repeticao++) {
+            for (long total : totais) {
+                ps.setLong(posicao++, total);
+            }
+        }
+    }
+
+    /**
+     * Soma ou subtrai todo o histórico de check-ins de um funcionário do agregado e do rollup diário de uma equipe.
+     * Utilizado antes da exclusão do funcionário (sinal = -1) e na troca de equipe.
+     * A subtração apenas atualiza linhas existentes (nunca cria linhas com contagens negativas).
+     * @param funcionarioId ID do funcionário.
+     * @param equipeId ID da equipe cujo agregado será ajustado.
+     * @param sinal 1 para somar, -1 para subtrair.
+     * @return true se o agregado foi ajustado, false em caso de erro.
+     * @throws BancoIndisponivelException Se o banco estiver inacessível.
+     */
+    public boolean ajustarHistoricoFuncionario(int funcionarioId, int equipeId, int sinal) {
+        boolean subtrair = sinal < 0;
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+
+            for (String merge : subtrair
+                    ? List.of(SQL_DESCONTAR_HISTORICO, SQL_DESCONTAR_DIA_HISTORICO)
+                    : List.of(SQL_SOMAR_HISTORICO, SQL_SOMAR_DIA_HISTORICO)) {
+                executarMerge(conn, merge, ps -> {
+                    ps.setInt(1, equipeId);
+                    ps.setInt(2, funcionarioId);
+                    ps.addBatch();
+                });
+            }
+            return true;
+
+        } catch (SQLException e) {
+            if (ConnectionFactory.isFalhaDeConexao(e)) {
+                throw new BancoIndisponivelException("Banco de dados indisponível ao ajustar o agregado de humor: " + e.getMessage(), e);
+            }
+            System.err.println("Erro ao ajustar o agregado de humor do funcionário: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return false;
+        }
+    }
+
+    /**
+     * Desconta do agregado e do rollup diário todo o histórico de check-ins dos funcionários informados,
+     * nas suas equipes atuais (exclusão em conjunto). Um MERGE por tabela e bloco de IDs, agrupado por equipe.
+     * Deve ser executado dentro de uma UnidadeDeTrabalho, antes da exclusão dos check-ins.
+     * @return true se o agregado foi atualizado, false em caso de erro.
+     */
+    public boolean descontarHistoricoFuncionarios(List<Integer> funcionarioIds) {
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            for (List<Integer> bloco : ClausulaIn.particionar(funcionarioIds)) {
+                String marcadores = ClausulaIn.marcadores(bloco.size());
+                try (PreparedStatement ps = conn.prepareStatement(String.format(SQL_DESCONTAR_HISTORICO_CONJUNTO, marcadores));
+                     PreparedStatement psDia = conn.prepareStatement(String.format(SQL_DESCONTAR_DIA_HISTORICO_CONJUNTO, marcadores))) {
+
+                    ClausulaIn.preencher(ps, 1, bloco);
+                    ps.executeUpdate();
+
+                    ClausulaIn.preencher(psDia, 1, bloco);
+                    psDia.executeUpdate();
+                }
+            }
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao descontar o histórico dos funcionários do agregado de humor: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return false;
+        }
+    }
+
+    /**
+     * Recalcula todo o agregado e o rollup diário a partir de T_H_HUMOR.
+     * Bloqueia as duas tabelas durante o recálculo para que check-ins concorrentes sejam
+     * contabilizados somente após a reconstrução (sem perda nem dupla contagem).
+     * Deve ser executado dentro de uma UnidadeDeTrabalho.
+     * @return true se o agregado foi reconstruído, false em caso de erro.
+     */
+    public boolean reconstruir() {
+        try (Connection conn = ConnectionFactory.getConnection();
+             Statement st = conn.createStatement()) {
+
+            st.execute("LOCK TABLE T_H_HUMOR_EQUIPE_AGG, T_H_HUMOR_EQUIPE_DIA IN EXCLUSIVE MODE");
+            st.executeUpdate("DELETE FROM T_H_HUMOR_EQUIPE_AGG");
+            st.executeUpdate("DELETE FROM T_H_HUMOR_EQUIPE_DIA");
+            st.executeUpdate("INSERT INTO T_H_HUMOR_EQUIPE_AGG (ID_EQUIPE, QT_CHECKINS, SM_ENERGIA, SM_CONEXAO) " +
+                    "SELECT f.ID_EQUIPE, COUNT(h.ID_HUMOR), SUM(h.NR_ENERGIA), SUM(h.NR_CONEXAO) " +
+                    "FROM T_H_HUMOR h " +
+                    "JOIN T_H_FUNCIONARIO f ON h.ID_FUNC = f.ID_FUNC " +
+                    "WHERE f.DT_EXCLUSAO IS NULL AND f.ID_EQUIPE IS NOT NULL " +
+                    "GROUP BY f.ID_EQUIPE");
+            st.executeUpdate("INSERT INTO T_H_HUMOR_EQUIPE_DIA (ID_EQUIPE, DT_DIA, QT_CHECKINS, SM_ENERGIA, SM_CONEXAO) " +
+                    "SELECT f.ID_EQUIPE, TRUNC(h.DT_CHECKIN), COUNT(h.ID_HUMOR), SUM(h.NR_ENERGIA), SUM(h.NR_CONEXAO) " +
+                    "FROM T_H_HUMOR h " +
+                    "JOIN T_H_FUNCIONARIO f ON h.ID_FUNC = f.ID_FUNC " +
+                    "WHERE f.DT_EXCLUSAO IS NULL AND f.ID_EQUIPE IS NOT NULL " +
+                    "GROUP BY f.ID_EQUIPE, TRUNC(h.DT_CHECKIN)");
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao reconstruir o agregado de humor por equipe: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return false;
+        }
+    }
+
+    /**
+     * Retorna a média de humor (NR_ENERGIA) de todas as equipes a partir do agregado.
+     * Lê uma linha por equipe, independente do tamanho do histórico.
+     * @return A lista de RelatorioHumorTO, ou null em caso de erro.
+     */
+    public ArrayList<RelatorioHumorTO> findMediaHumorPorEquipe() {
+        return buscarMediaHumor(null);
+    }
+
+    /**
+     * Retorna a média de humor (NR_ENERGIA) de uma única equipe (visão de Gestores).
+     * O filtro é aplicado no SQL, lendo apenas a linha da equipe.
+     * @param equipeId ID da equipe.
+     * @return A lista de RelatorioHumorTO, ou null em caso de erro.
+     */
+    public ArrayList<RelatorioHumorTO> findMediaHumorDaEquipe(int equipeId) {
+        return buscarMediaHumor(equipeId);
+    }
+
+    // Consulta do agregado, opcionalmente restrita a uma equipe (compartilhada com AgregadoHumorReativoDAO)
+    static String sqlMediaHumor(boolean porEquipe) {
+        return "SELECT a.ID_EQUIPE, e.NM_EQUIPE, a.SM_ENERGIA / a.QT_CHECKINS AS MEDIA_HUMOR, a.QT_CHECKINS " +
+                "FROM T_H_HUMOR_EQUIPE_AGG a " +
+                "JOIN T_H_EQUIPE e ON a.ID_EQUIPE = e.ID_EQUIPE " +
+                "WHERE a.QT_CHECKINS > 0 " +
+                (porEquipe ? "AND a.ID_EQUIPE = ? " : "") +
+                "ORDER BY MEDIA_HUMOR DESC";
+    }
+
+    // Método auxiliar: Consulta o agregado, opcionalmente restrito a uma equipe
+    private ArrayList<RelatorioHumorTO> buscarMediaHumor(Integer equipeId) {
+        ArrayList<RelatorioHumorTO> lista = new ArrayList<>();
+        String sql = sqlMediaHumor(equipeId != null);
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            if (equipeId != null) {
+                ps.setInt(1, equipeId);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    RelatorioHumorTO relatorio = new RelatorioHumorTO(
+                            rs.getInt(1),    // ID_EQUIPE
+                            rs.getString(2), // NM_EQUIPE
+                            rs.getDouble(3), // MEDIA_HUMOR
+                            rs.getInt(4)     // QT_CHECKINS
+                    );
+                    lista.add(relatorio);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Erro ao buscar média de humor por equipe no agregado: " + e.getMessage());
+            return null;
+        }
+        return lista;
+    }
+
+    // Série por granularidade a partir do rollup diário (compartilhada com AgregadoHumorReativoDAO)
+    static String sqlSerieHumor(String granularidade, boolean porEquipe) {
+        String formato = FORMATOS_TRUNC.get(granularidade);
+        if (formato == null) {
+            throw new IllegalArgumentException("Granularidade inválida: " + granularidade);
+        }
+
+        // O formato vem da lista fixa acima; é concatenado para que SELECT e GROUP BY usem a mesma expressão
+        String periodo = "TRUNC(d.DT_DIA, '" + formato + "')";
+        return "SELECT d.ID_EQUIPE, e.NM_EQUIPE, " + periodo + " AS PERIODO, " +
+                "SUM(d.SM_ENERGIA) / SUM(d.QT_CHECKINS), SUM(d.SM_CONEXAO) / SUM(d.QT_CHECKINS), SUM(d.QT_CHECKINS) " +
+                "FROM T_H_HUMOR_EQUIPE_DIA d " +
+                "JOIN T_H_EQUIPE e ON d.ID_EQUIPE = e.ID_EQUIPE " +
+                "WHERE d.DT_DIA >= ? AND d.DT_DIA <= ? AND d.QT_CHECKINS > 0 " +
+                (porEquipe ? "AND d.ID_EQUIPE = ? " : "") +
+                "GROUP BY d.ID_EQUIPE, e.NM_EQUIPE, " + periodo + " " +
+                "ORDER BY e.NM_EQUIPE, d.ID_EQUIPE, PERIODO";
+    }
+
+    /**
+     * Alinha o início do intervalo ao início do período da granularidade (segunda-feira da semana ISO
+     * ou primeiro dia do mês), para que o primeiro ponto da série cubra um período completo e seja
+     * rotulado com uma data dentro do intervalo consultado.
+     */
+    public static LocalDate alinharInicioPeriodo(LocalDate de, String granularidade) {
+        if (GRANULARIDADE_SEMANA.equals(granularidade)) {
+            return de.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+        if (GRANULARIDADE_MES.equals(granularidade)) {
+            return de.withDayOfMonth(1);
+        }
+        return de;
+    }
+
+    /**
+     * Retorna a série temporal de humor por equipe a partir do rollup diário.
+     * Semanas (ISO) e meses são obtidos agrupando os dias com TRUNC, sem ler T_H_HUMOR.
+     * Com granularidade semanal ou mensal, "de" é alinhado ao início do período (alinharInicioPeriodo):
+     * o primeiro ponto cobre o período completo, e não apenas os dias a partir de "de".
+     * O último ponto pode ser parcial (somente os dias até "ate").
+     * @param equipeId ID da equipe (visão de Gestores) ou null para todas as equipes (visão de RH).
+     * @param de Primeiro dia do intervalo (inclusivo; alinhado ao início do período).
+     * @param ate Último dia do intervalo (inclusivo).
+     * @param granularidade "dia", "semana" ou "mes".
+     * @return Uma série por equipe, com os pontos em ordem cronológica, ou null em caso de erro.
+     */
+    public ArrayList<SerieHumorEquipeTO> findSerieHumor(Integer equipeId, LocalDate de, LocalDate ate, String granularidade) {
+        String sql = sqlSerieHumor(granularidade, equipeId != null);
+
+        ArrayList<SerieHumorEquipeTO> series = new ArrayList<>();
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setDate(1, Date.valueOf(alinharInicioPeriodo(de, granularidade)));
+            ps.setDate(2, Date.valueOf(ate));
+            if (equipeId != null) {
+                ps.setInt(3, equipeId);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                SerieHumorEquipeTO serie = null;
+                while (rs.next()) {
+                    int idEquipe = rs.getInt(1); // ID_EQUIPE
+                    if (serie == null || serie.getEquipeId() != idEquipe) {
+                        serie = new SerieHumorEquipeTO(idEquipe, rs.getString(2)); // NM_EQUIPE
+                        series.add(serie);
+                    }
+                    serie.getPontos().add(new PontoSerieHumorTO(
+                            rs.getDate(3).toLocalDate(), // PERIODO
+                            rs.getDouble(4),             // Média de energia
+                            rs.getDouble(5),             // Média de conexão
+                            rs.getInt(6)                 // Total de check-ins
+                    ));
+                }
+            }
+            return series;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao buscar série de humor por equipe: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retorna o relatório completo do questionário por equipe: médias de NR_ENERGIA e NR_CONEXAO
+     * e a distribuição de frequência de cada resposta categórica, calculados em uma única leitura.
+     * @param equipeId ID da equipe (visão de Gestores) ou null para todas as equipes (visão de RH).
+     * @param de Primeiro dia do intervalo (inclusivo).
+     * @param ate Último dia do intervalo (inclusivo).
+     * @return Um relatório por equipe com check-ins no intervalo, ou null em caso de erro.
+     */
+    public ArrayList<RelatorioQuestionarioTO> findRelatorioQuestionario(Integer equipeId, LocalDate de, LocalDate ate) {
+        String sql = String.format(SQL_RELATORIO_QUESTIONARIO, equipeId != null ? "AND f.ID_EQUIPE = ? " : "");
+        int totalPerguntas = PERGUNTAS_CATEGORICAS.length;
+        int gidTotais = (1 << totalPerguntas) - 1; // Todas as perguntas agregadas
+
+        ArrayList<RelatorioQuestionarioTO> relatorios = new ArrayList<>();
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setTimestamp(1, Timestamp.valueOf(de.atStartOfDay()));
+            ps.setTimestamp(2, Timestamp.valueOf(ate.plusDays(1).atStartOfDay()));
+            if (equipeId != null) {
+                ps.setInt(3, equipeId);
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                RelatorioQuestionarioTO relatorio = null;
+                while (rs.next()) {
+                    int idEquipe = rs.getInt(1); // ID_EQUIPE
+                    if (relatorio == null || relatorio.getEquipeId() != idEquipe) {
+                        relatorio = new RelatorioQuestionarioTO(idEquipe, rs.getString(2)); // NM_EQUIPE
+                        for (String[] pergunta : PERGUNTAS_CATEGORICAS) {
+                            relatorio.getDistribuicoes().put(pergunta[1], new LinkedHashMap<>());
+                        }
+                        relatorios.add(relatorio);
+                    }
+
+                    int gid = rs.getInt(3);
+                    int quantidade = rs.getInt(4 + totalPerguntas); // COUNT(*)
+                    if (gid == gidTotais) {
+                        relatorio.setTotalCheckins(quantidade);
+                        relatorio.setMediaEnergia(rs.getDouble(5 + totalPerguntas));
+                        relatorio.setMediaConexao(rs.getDouble(6 + totalPerguntas));
+                        continue;
+                    }
+
+                    // No GROUPING_ID, o bit da pergunta agrupada é o único zerado (1ª pergunta = bit mais alto)
+                    for (int i = 0; i < totalPerguntas; i++) {
+                        if (gid == (gidTotais ^ (1 << (totalPerguntas - 1 - i)))) {
+                            String resposta = rs.getString(4 + i);
+                            relatorio.getDistribuicoes().get(PERGUNTAS_CATEGORICAS[i][1])
+                                    .put(resposta != null ? resposta : "", quantidade);
+                            break;
+                        }
+                    }
+                }
+            }
+            return relatorios;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao buscar relatório do questionário por equipe: " + e.getMessage());
+            return null;
+        }
+    }
+}
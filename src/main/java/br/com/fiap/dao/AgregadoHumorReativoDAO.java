@@ -0,0 +1,83 @@
+package br.com.fiap.dao;
+
+import br.com.fiap.to.PontoSerieHumorTO;
+import br.com.fiap.to.RelatorioHumorTO;
+import br.com.fiap.to.SerieHumorEquipeTO;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.Tuple;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Consultas reativas do Dashboard (cliente reativo Oracle) sobre o agregado por equipe
+ * (T_H_HUMOR_EQUIPE_AGG) e o rollup diário (T_H_HUMOR_EQUIPE_DIA).
+ * Usa as mesmas consultas de AgregadoHumorDAO; a manutenção dos agregados permanece no DAO bloqueante,
+ * na mesma transação JDBC das escritas de check-in.
+ */
+public class AgregadoHumorReativoDAO {
+
+    /**
+     * Emite a média de humor (NR_ENERGIA) por equipe a partir do agregado.
+     * Erros de banco ou de conexão são propagados como falha do Multi (e não como um stream vazio,
+     * que seria confundido com "sem dados").
+     * @param equipeId ID da equipe (visão de Gestores) ou null para todas as equipes (visão de RH).
+     */
+    public Multi<RelatorioHumorTO> findMediaHumor(Integer equipeId) {
+        String sql = AgregadoHumorDAO.sqlMediaHumor(equipeId != null);
+        Tuple parametros = equipeId != null ? Tuple.of(equipeId) : Tuple.tuple();
+
+        return PoolReativo.getPool().preparedQuery(sql).execute(parametros)
+                .onItem().transformToMulti(linhas -> Multi.createFrom().iterable(linhas))
+                .map(row -> new RelatorioHumorTO(
+                        row.getInteger(0),   // ID_EQUIPE
+                        row.getString(1),    // NM_EQUIPE
+                        row.getDouble(2),    // MEDIA_HUMOR
+                        row.getInteger(3)    // QT_CHECKINS
+                ))
+                .onFailure().invoke(e -> System.err.println("Erro ao buscar média de humor por equipe (reativo): " + e.getMessage()));
+    }
+
+    /**
+     * Retorna a série temporal de humor por equipe a partir do rollup diário.
+     * Com granularidade semanal ou mensal, "de" é alinhado ao início do período, como em AgregadoHumorDAO.findSerieHumor.
+     * @param equipeId ID da equipe (visão de Gestores) ou null para todas as equipes (visão de RH).
+     * @param de Primeiro dia do intervalo (inclusivo).
+     * @param ate Último dia do intervalo (inclusivo).
+     * @param granularidade "dia", "semana" ou "mes".
+     * @return Uni com uma série por equipe, ou com null em caso de erro.
+     */
+    public Uni<ArrayList<SerieHumorEquipeTO>> findSerieHumor(Integer equipeId, LocalDate de, LocalDate ate, String granularidade) {
+        String sql = AgregadoHumorDAO.sqlSerieHumor(granularidade, equipeId != null);
+        Tuple parametros = Tuple.of(AgregadoHumorDAO.alinharInicioPeriodo(de, granularidade).atStartOfDay(), ate.atStartOfDay());
+        if (equipeId != null) {
+            parametros.addInteger(equipeId);
+        }
+
+        return PoolReativo.getPool().preparedQuery(sql).execute(parametros)
+                .map(linhas -> {
+                    ArrayList<SerieHumorEquipeTO> series = new ArrayList<>();
+                    SerieHumorEquipeTO serie = null;
+                    for (Row row : linhas) {
+                        int idEquipe = row.getInteger(0); // ID_EQUIPE
+                        if (serie == null || serie.getEquipeId() != idEquipe) {
+                            serie = new SerieHumorEquipeTO(idEquipe, row.getString(1)); // NM_EQUIPE
+                            series.add(serie);
+                        }
+                        serie.getPontos().add(new PontoSerieHumorTO(
+                                row.getLocalDateTime(2).toLocalDate(), // PERIODO (DATE do Oracle)
+                                row.getDouble(3),                      // Média de energia
+                                row.getDouble(4),                      // Média de conexão
+                                row.getInteger(5)                      // Total de check-ins
+                        ));
+                    }
+                    return series;
+                })
+                .onFailure().recoverWithItem(e -> {
+                    System.err.println("Erro ao buscar série de humor por equipe (reativo): " + e.getMessage());
+                    return null;
+                });
+    }
+}
@@ -1,8 +1,10 @@
 package br.com.fiap.dao;
 
 import br.com.fiap.to.CheckinHumorTO;
-import br.com.fiap.to.RelatorioHumorTO;
 import br.com.fiap.to.CheckinHumorAnonimoTO;
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.exception.CheckinDuplicadoException;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -10,50 +12,79 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Gerencia o acesso a dados para o Questionário de Humor (T_H_HUMOR).
- * Inclui persistência (CREATE), consultas agregadas (Análise para Dashboard)
- * e consulta do histórico bruto anonimizado.
+ * Inclui persistência (CREATE) e consulta do histórico bruto anonimizado.
+ * As consultas agregadas do Dashboard ficam em AgregadoHumorDAO.
  */
 public class CheckinHumorDAO {
 
-    // Método auxiliar para mapear um ResultSet para CheckinHumorTO (Para Salvar/Consulta Individual)
+    /**
+     * Recebe, um a um, os registros lidos em streaming do ResultSet (sem lista intermediária).
+     */
+    @FunctionalInterface
+    public interface ConsumidorRegistro<T> {
+        void aceitar(T registro) throws IOException;
+    }
+
+    // ORA-00001: violação da constraint UK_H_HUMOR_FUNC_DATA (ID_FUNC, DT_CHECKIN)
+    private static final int ORA_CHAVE_DUPLICADA = 1;
+
+    private static final String COLUNAS_INSERT = "T_H_HUMOR (ID_HUMOR, ID_FUNC, DT_CHECKIN, NR_ENERGIA, DS_SENTIMENTO, TP_VOLUME, DS_BLOQUEIO, TP_EQUILIBRIO_VT, NR_CONEXAO, TP_INTERACAO, TP_SONO, TP_PAUSA, DS_PEQUENO_GANHO) " +
+            "VALUES (T_H_HUMOR_SEQ.NEXTVAL, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SQL_INSERT = "INSERT INTO " + COLUNAS_INSERT;
+
+    // Ignora (0 linhas afetadas) os registros que violariam a unicidade diária, sem abortar o lote
+    private static final String SQL_INSERT_IGNORANDO_DUPLICADOS =
+            "INSERT /*+ IGNORE_ROW_ON_DUPKEY_INDEX(T_H_HUMOR, UK_H_HUMOR_FUNC_DATA) */ INTO " + COLUNAS_INSERT;
+
+    // Lista explícita de colunas, na ordem usada pelo mapeamento por índice (mapResultSetToTO)
+    private static final String COLUNAS = "ID_HUMOR, ID_FUNC, DT_CHECKIN, NR_ENERGIA, DS_SENTIMENTO, TP_VOLUME, DS_BLOQUEIO, " +
+            "TP_EQUILIBRIO_VT, NR_CONEXAO, TP_INTERACAO, TP_SONO, TP_PAUSA, DS_PEQUENO_GANHO";
+
+    // Projeção anonimizada: nunca busca ID_FUNC (ordem usada por mapResultSetToAnonimoTO)
+    private static final String COLUNAS_ANONIMO = "ID_HUMOR, DT_CHECKIN, NR_ENERGIA, DS_SENTIMENTO, TP_VOLUME, DS_BLOQUEIO, " +
+            "TP_EQUILIBRIO_VT, NR_CONEXAO, TP_INTERACAO, TP_SONO, TP_PAUSA, DS_PEQUENO_GANHO";
+
+    // Método auxiliar para mapear um ResultSet (COLUNAS) para CheckinHumorTO (Para Salvar/Consulta Individual)
     private CheckinHumorTO mapResultSetToTO(ResultSet rs) throws SQLException {
         CheckinHumorTO checkin = new CheckinHumorTO();
-        checkin.setId(rs.getInt("ID_HUMOR"));
-        checkin.setFuncionarioId(rs.getInt("ID_FUNC"));
-        checkin.setDataCheckin(rs.getDate("DT_CHECKIN").toLocalDate());
+        checkin.setId(rs.getInt(1));
+        checkin.setFuncionarioId(rs.getInt(2));
+        checkin.setDataCheckin(rs.getDate(3).toLocalDate());
 
         // Mapeamento das 10 Perguntas
-        checkin.setNivelEnergia(rs.getInt("NR_ENERGIA"));
-        checkin.setSentimento(rs.getString("DS_SENTIMENTO"));
-        checkin.setVolumeDemandas(rs.getString("TP_VOLUME"));
-        checkin.setBloqueios(rs.getString("DS_BLOQUEIO"));
-        checkin.setDesconexao(rs.getString("TP_EQUILIBRIO_VT"));
-        checkin.setNivelConexao(rs.getInt("NR_CONEXAO"));
-        checkin.setQualidadeInteracao(rs.getString("TP_INTERACAO"));
-        checkin.setQualidadeSono(rs.getString("TP_SONO"));
-        checkin.setStatusPausas(rs.getString("TP_PAUSA"));
-        checkin.setPequenoGanho(rs.getString("DS_PEQUENO_GANHO"));
+        checkin.setNivelEnergia(rs.getInt(4));
+        checkin.setSentimento(rs.getString(5));
+        checkin.setVolumeDemandas(rs.getString(6));
+        checkin.setBloqueios(rs.getString(7));
+        checkin.setDesconexao(rs.getString(8));
+        checkin.setNivelConexao(rs.getInt(9));
+        checkin.setQualidadeInteracao(rs.getString(10));
+        checkin.setQualidadeSono(rs.getString(11));
+        checkin.setStatusPausas(rs.getString(12));
+        checkin.setPequenoGanho(rs.getString(13));
         return checkin;
     }
 
-    // Método auxiliar: Mapeamento para CheckinHumorAnonimoTO (Para Histórico de RH)
+    // Método auxiliar: Mapeamento de COLUNAS_ANONIMO para CheckinHumorAnonimoTO (Para Histórico de RH)
     private CheckinHumorAnonimoTO mapResultSetToAnonimoTO(ResultSet rs) throws SQLException {
         CheckinHumorAnonimoTO checkin = new CheckinHumorAnonimoTO();
-        checkin.setId(rs.getInt("ID_HUMOR"));
-        checkin.setDataCheckin(rs.getDate("DT_CHECKIN").toLocalDate());
-        checkin.setNivelEnergia(rs.getInt("NR_ENERGIA"));
-        checkin.setSentimento(rs.getString("DS_SENTIMENTO"));
-        checkin.setVolumeDemandas(rs.getString("TP_VOLUME"));
-        checkin.setBloqueios(rs.getString("DS_BLOQUEIO"));
-        checkin.setDesconexao(rs.getString("TP_EQUILIBRIO_VT"));
-        checkin.setNivelConexao(rs.getInt("NR_CONEXAO"));
-        checkin.setQualidadeInteracao(rs.getString("TP_INTERACAO"));
-        checkin.setQualidadeSono(rs.getString("TP_SONO"));
-        checkin.setStatusPausas(rs.getString("TP_PAUSA"));
-        checkin.setPequenoGanho(rs.getString("DS_PEQUENO_GANHO"));
+        checkin.setId(rs.getInt(1));
+        checkin.setDataCheckin(rs.getDate(2).toLocalDate());
+        checkin.setNivelEnergia(rs.getInt(3));
+        checkin.setSentimento(rs.getString(4));
+        checkin.setVolumeDemandas(rs.getString(5));
+        checkin.setBloqueios(rs.getString(6));
+        checkin.setDesconexao(rs.getString(7));
+        checkin.setNivelConexao(rs.getInt(8));
+        checkin.setQualidadeInteracao(rs.getString(9));
+        checkin.setQualidadeSono(rs.getString(10));
+        checkin.setStatusPausas(rs.getString(11));
+        checkin.setPequenoGanho(rs.getString(12));
         return checkin;
     }
 
@@ -62,7 +93,7 @@ public class CheckinHumorDAO {
      */
     public CheckinHumorTO findByFuncionarioAndDate(int funcionarioId, LocalDate data) {
         CheckinHumorTO checkin = null;
-        String sql = "SELECT * FROM T_H_HUMOR WHERE ID_FUNC = ? AND DT_CHECKIN = ?";
+        String sql = "SELECT " + COLUNAS + " FROM T_H_HUMOR WHERE ID_FUNC = ? AND DT_CHECKIN = ?";
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -81,28 +112,34 @@ public class CheckinHumorDAO {
         return checkin;
     }
 
+    // Método auxiliar: Preenche os parâmetros do INSERT de check-in (Individual e Lote)
+    private void preencherInsert(PreparedStatement ps, CheckinHumorTO checkin) throws SQLException {
+        ps.setInt(1, checkin.getFuncionarioId());
+        ps.setTimestamp(2, Timestamp.valueOf(checkin.getDataCheckin().atStartOfDay()));
+        ps.setInt(3, checkin.getNivelEnergia());
+        ps.setString(4, checkin.getSentimento());
+        ps.setString(5, checkin.getVolumeDemandas());
+        ps.setString(6, checkin.getBloqueios());
+        ps.setString(7, checkin.getDesconexao());
+        ps.setInt(8, checkin.getNivelConexao());
+        ps.setString(9, checkin.getQualidadeInteracao());
+        ps.setString(10, checkin.getQualidadeSono());
+        ps.setString(11, checkin.getStatusPausas());
+        ps.setString(12, checkin.getPequenoGanho());
+    }
+
     /**
      * Salva um novo registro de Check-in de Humor.
+     * A regra de unicidade diária é garantida pela constraint UK_H_HUMOR_FUNC_DATA,
+     * sem consulta prévia: a duplicidade é detectada no próprio INSERT (ORA-00001).
+     * @throws CheckinDuplicadoException Se o funcionário já possuir check-in na data.
+     * @throws BancoIndisponivelException Se o banco estiver inacessível (o check-in pode ir para o diário local).
      */
     public CheckinHumorTO save(CheckinHumorTO checkin) {
-        String sql = "INSERT INTO T_H_HUMOR (ID_HUMOR, ID_FUNC, DT_CHECKIN, NR_ENERGIA, DS_SENTIMENTO, TP_VOLUME, DS_BLOQUEIO, TP_EQUILIBRIO_VT, NR_CONEXAO, TP_INTERACAO, TP_SONO, TP_PAUSA, DS_PEQUENO_GANHO) " +
-                "VALUES (T_H_HUMOR_SEQ.NEXTVAL, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
         try (Connection conn = ConnectionFactory.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql, new String[] { "ID_HUMOR" })) {
-
-            ps.setInt(1, checkin.getFuncionarioId());
-            ps.setTimestamp(2, Timestamp.valueOf(checkin.getDataCheckin().atStartOfDay()));
-            ps.setInt(3, checkin.getNivelEnergia());
-            ps.setString(4, checkin.getSentimento());
-            ps.setString(5, checkin.getVolumeDemandas());
-            ps.setString(6, checkin.getBloqueios());
-            ps.setString(7, checkin.getDesconexao());
-            ps.setInt(8, checkin.getNivelConexao());
-            ps.setString(9, checkin.getQualidadeInteracao());
-            ps.setString(10, checkin.getQualidadeSono());
-            ps.setString(11, checkin.getStatusPausas());
-            ps.setString(12, checkin.getPequenoGanho());
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERT, new String[] { "ID_HUMOR" })) {
+
+            preencherInsert(ps, checkin);
 
             int linhasAfetadas = ps.executeUpdate();
 
@@ -115,18 +152,52 @@ public class CheckinHumorDAO {
                 return checkin;
             }
         } catch (SQLException e) {
+            if (e.getErrorCode() == ORA_CHAVE_DUPLICADA) {
+                throw new CheckinDuplicadoException("Você já registrou o humor para esta data.", e);
+            }
+            if (ConnectionFactory.isFalhaDeConexao(e)) {
+                throw new BancoIndisponivelException("Banco de dados indisponível ao salvar check-in: " + e.getMessage(), e);
+            }
             System.err.println("Erro ao salvar check-in de humor no DAO: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
         }
         return null;
     }
 
+    /**
+     * Salva vários check-ins com JDBC batching (addBatch/executeBatch), em um único round trip.
+     * Registros que violariam a unicidade diária (no banco ou dentro do próprio lote) são
+     * ignorados pelo Oracle e retornam 0 linhas afetadas.
+     * @return As linhas afetadas por registro (1 = inserido, 0 = duplicado), ou null em caso de erro.
+     * @throws BancoIndisponivelException Se o banco estiver inacessível (erro transitório, sem relação com os dados do lote).
+     */
+    public int[] saveLote(List<CheckinHumorTO> checkins) {
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_INSERT_IGNORANDO_DUPLICADOS)) {
+
+            for (CheckinHumorTO checkin : checkins) {
+                preencherInsert(ps, checkin);
+                ps.addBatch();
+            }
+            return ps.executeBatch();
+
+        } catch (SQLException e) {
+            if (ConnectionFactory.isFalhaDeConexao(e)) {
+                throw new BancoIndisponivelException("Banco de dados indisponível ao salvar lote de check-ins: " + e.getMessage(), e);
+            }
+            System.err.println("Erro ao salvar lote de check-ins no DAO: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return null;
+        }
+    }
+
     /**
      * Busca todo o histórico de check-ins de humor (dados brutos) para auditoria.
      * Utiliza o DTO anonimizado.
      */
     public ArrayList<CheckinHumorAnonimoTO> findAllAnonimo() {
         ArrayList<CheckinHumorAnonimoTO> lista = new ArrayList<>();
-        String sql = "SELECT * FROM T_H_HUMOR ORDER BY DT_CHECKIN DESC";
+        String sql = "SELECT " + COLUNAS_ANONIMO + " FROM T_H_HUMOR ORDER BY DT_CHECKIN DESC";
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql);
@@ -142,50 +213,106 @@ public class CheckinHumorDAO {
     }
 
     /**
-     * Realiza uma consulta SQL agregada para calcular a média de humor por equipe.
+     * Percorre todo o histórico anonimizado em streaming, entregando cada registro ao consumidor
+     * à medida que é lido do ResultSet. A memória utilizada é limitada pelo fetch size,
+     * independente do tamanho da tabela.
+     * @param fetchSize Quantidade de linhas trazidas do banco por round trip.
+     * @param consumidor Destino de cada registro (ex: escrita direta na resposta HTTP).
+     * @throws IOException Se a consulta falhar ou o consumidor não conseguir escrever o registro.
      */
-    public ArrayList<RelatorioHumorTO> findMediaHumorPorEquipe() {
-        ArrayList<RelatorioHumorTO> lista = new ArrayList<>();
-        String sql = "SELECT e.ID_EQUIPE, e.NM_EQUIPE, AVG(c.NR_ENERGIA) AS MEDIA_HUMOR, COUNT(c.ID_HUMOR) AS TOTAL_CHECKINS " +
-                "FROM T_H_HUMOR c " +
-                "JOIN T_H_FUNCIONARIO f ON c.ID_FUNC = f.ID_FUNC " +
-                "JOIN T_H_EQUIPE e ON f.ID_EQUIPE = e.ID_EQUIPE " +
-                "GROUP BY e.ID_EQUIPE, e.NM_EQUIPE " +
-                "ORDER BY MEDIA_HUMOR DESC";
+    public void exportarAnonimo(int fetchSize, ConsumidorRegistro<CheckinHumorAnonimoTO> consumidor) throws IOException {
+        String sql = "SELECT " + COLUNAS_ANONIMO + " FROM T_H_HUMOR ORDER BY DT_CHECKIN DESC, ID_HUMOR DESC";
 
         try (Connection conn = ConnectionFactory.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
-             ResultSet rs = ps.executeQuery()) {
+             PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            while (rs.next()) {
-                RelatorioHumorTO relatorio = new RelatorioHumorTO(
-                        rs.getInt("ID_EQUIPE"),
-                        rs.getString("NM_EQUIPE"),
-                        rs.getDouble("MEDIA_HUMOR"),
-                        rs.getInt("TOTAL_CHECKINS")
-                );
-                lista.add(relatorio);
+            ps.setFetchSize(fetchSize);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.aceitar(mapResultSetToAnonimoTO(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Erro ao exportar o histórico anonimizado no DAO: " + e.getMessage());
+            throw new IOException("Erro ao exportar o histórico anonimizado.", e);
+        }
+    }
+
+    /**
+     * Busca uma página do histórico anonimizado, paginada por cursor (keyset) em (DT_CHECKIN, ID_HUMOR).
+     * Cada página custa uma consulta limitada, independente da posição no histórico.
+     * @param cursorData Data do último registro da página anterior (null para a primeira página).
+     * @param cursorId ID_HUMOR do último registro da página anterior (ignorado se cursorData for null).
+     * @param de Data inicial (inclusiva) do filtro opcional.
+     * @param ate Data final (inclusiva) do filtro opcional.
+     * @param limite Quantidade máxima de registros retornados.
+     * @return Os registros da página, ou null em caso de erro.
+     */
+    public ArrayList<CheckinHumorAnonimoTO> findAnonimoPaginado(LocalDate cursorData, int cursorId, LocalDate de, LocalDate ate, int limite) {
+        ArrayList<CheckinHumorAnonimoTO> lista = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT " + COLUNAS_ANONIMO + " FROM T_H_HUMOR WHERE 1 = 1");
+        ArrayList<Object> parametros = new ArrayList<>();
+
+        if (de != null) {
+            sql.append(" AND DT_CHECKIN >= ?");
+            parametros.add(Timestamp.valueOf(de.atStartOfDay()));
+        }
+        if (ate != null) {
+            sql.append(" AND DT_CHECKIN < ?");
+            parametros.add(Timestamp.valueOf(ate.plusDays(1).atStartOfDay()));
+        }
+        if (cursorData != null) {
+            Timestamp dataCursor = Timestamp.valueOf(cursorData.atStartOfDay());
+            sql.append(" AND (DT_CHECKIN < ? OR (DT_CHECKIN = ? AND ID_HUMOR < ?))");
+            parametros.add(dataCursor);
+            parametros.add(dataCursor);
+            parametros.add(cursorId);
+        }
+        sql.append(" ORDER BY DT_CHECKIN DESC, ID_HUMOR DESC FETCH FIRST ? ROWS ONLY");
+        parametros.add(limite);
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+
+            for (int i = 0; i < parametros.size(); i++) {
+                ps.setObject(i + 1, parametros.get(i));
+            }
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    lista.add(mapResultSetToAnonimoTO(rs));
+                }
             }
         } catch (SQLException e) {
-            System.err.println("Erro ao buscar média de humor por equipe no DAO: " + e.getMessage());
+            System.err.println("Erro ao buscar página do histórico anonimizado no DAO: " + e.getMessage());
+            // null (e não lista vazia): uma página vazia seria lida pelo cliente como fim do histórico
+            return null;
         }
         return lista;
     }
 
     /**
-     * Exclui todos os registros de check-in de um funcionário específico.
+     * Exclui um lote de registros de check-in de um funcionário (expurgo de funcionário excluído).
+     * Executado fora de UnidadeDeTrabalho: cada lote é confirmado isoladamente, mantendo
+     * curtos os bloqueios em T_H_HUMOR.
+     * @param tamanhoLote Quantidade máxima de registros excluídos.
+     * @return A quantidade de registros excluídos, ou -1 em caso de erro.
      */
-    public void deleteByFuncionarioId(int funcionarioId) {
-        String sql = "DELETE FROM T_H_HUMOR WHERE ID_FUNC = ?";
+    public int deleteLoteByFuncionarioId(int funcionarioId, int tamanhoLote) {
+        String sql = "DELETE FROM T_H_HUMOR WHERE ID_FUNC = ? AND ROWNUM <= ?";
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
             ps.setInt(1, funcionarioId);
-            ps.executeUpdate();
+            ps.setInt(2, tamanhoLote);
+            return ps.executeUpdate();
 
         } catch (SQLException e) {
             System.err.println("Erro ao excluir check-ins do funcionário: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return -1;
         }
     }
-}
\ No newline at end of file
+}
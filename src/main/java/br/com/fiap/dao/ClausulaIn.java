@@ -0,0 +1,67 @@
+package br.com.fiap.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monta cláusulas IN parametrizadas para operações em conjunto (set-based) sobre listas de valores
+ * (IDs, e-mails). As listas são divididas em blocos de até 1000 valores (limite do Oracle para IN) e
+ * cada bloco é completado até um tamanho fixo (repetindo o último valor), para que poucas variações do SQL
+ * sejam preparadas e reaproveitadas pelo cache de cursores do banco.
+ */
+final class ClausulaIn {
+
+    static final int LIMITE_IDS = 1000;
+
+    // Tamanhos fixos dos blocos de parâmetros
+    private static final int[] TAMANHOS_BLOCO = { 1, 8, 32, 128, 512, LIMITE_IDS };
+
+    private ClausulaIn() {
+    }
+
+    /**
+     * Divide a lista de valores em blocos de até LIMITE_IDS.
+     */
+    static <T> List<List<T>> particionar(List<T> valores) {
+        List<List<T>> blocos = new ArrayList<>();
+        for (int i = 0; i < valores.size(); i += LIMITE_IDS) {
+            blocos.add(valores.subList(i, Math.min(i + LIMITE_IDS, valores.size())));
+        }
+        return blocos;
+    }
+
+    /**
+     * Retorna os marcadores "?, ?, ..." para um bloco com a quantidade de valores informada.
+     */
+    static String marcadores(int quantidade) {
+        int tamanho = tamanhoBloco(quantidade);
+        StringBuilder sql = new StringBuilder(tamanho * 3);
+        for (int i = 0; i < tamanho; i++) {
+            sql.append(i > 0 ? ", ?" : "?");
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Preenche os parâmetros do bloco a partir da posição informada, repetindo o último valor até o tamanho fixo.
+     * @return A próxima posição de parâmetro livre.
+     */
+    static int preencher(PreparedStatement ps, int posicao, List<?> bloco) throws SQLException {
+        int tamanho = tamanhoBloco(bloco.size());
+        for (int i = 0; i < tamanho; i++) {
+            ps.setObject(posicao++, bloco.get(Math.min(i, bloco.size() - 1)));
+        }
+        return posicao;
+    }
+
+    private static int tamanhoBloco(int quantidade) {
+        for (int tamanho : TAMANHOS_BLOCO) {
+            if (quantidade <= tamanho) {
+                return tamanho;
+            }
+        }
+        throw new IllegalArgumentException("Bloco com mais de " + LIMITE_IDS + " valores.");
+    }
+}
@@ -1,37 +1,131 @@
 package br.com.fiap.dao;
 
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.arc.Arc;
+import org.eclipse.microprofile.config.ConfigProvider;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Classe responsável por estabelecer e gerenciar a conexão com o banco de dados Oracle.
- * Segue o padrão Factory e obtém as credenciais de conexão de variáveis de ambiente.
+ * Classe responsável por fornecer conexões com o banco de dados Oracle.
+ * Segue o padrão Factory e empresta as conexões do pool gerenciado (Agroal),
+ * configurado em application.properties a partir das variáveis de ambiente
+ * (DB_URL, DB_USER, DB_PASSWORD) e dos parâmetros de tamanho, validação e vazamento.
+ *
+ * O número de conexões emprestadas ao mesmo tempo é limitado por um semáforo justo (FIFO),
+ * dimensionado pelo tamanho do pool. Com as requisições em threads virtuais (sem limite
+ * de threads), é este limite, e não a quantidade de threads, que controla a vazão no banco.
  */
 public class ConnectionFactory {
 
+    private static volatile AgroalDataSource dataSource;
+
+    // Limite de conexões simultâneas (padrão: tamanho máximo do pool) e espera máxima por uma permissão
+    private static final int LIMITE_CONCORRENCIA = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.banco.limite-concorrencia", Integer.class)
+            .orElse(ConfigProvider.getConfig().getOptionalValue("quarkus.datasource.jdbc.max-size", Integer.class).orElse(20));
+    private static final long ESPERA_MAXIMA_MS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.banco.espera-maxima-ms", Long.class).orElse(5000L);
+
+    private static final Semaphore PERMISSOES = new Semaphore(LIMITE_CONCORRENCIA, true);
+
     /**
-     * Tenta estabelecer uma conexão com o banco de dados utilizando as variáveis de ambiente.
-     * * @return Um objeto Connection válido.
-     * @throws SQLException Se ocorrer um erro de acesso ao banco de dados ou se o Driver não for encontrado.
-     * @throws RuntimeException Se as variáveis de ambiente (DB_URL, DB_USER, DB_PASSWORD) não estiverem configuradas.
+     * Empresta uma conexão do pool. Ao fechar a conexão (try-with-resources nos DAOs),
+     * ela é devolvida ao pool em vez de encerrada.
+     * Se houver uma UnidadeDeTrabalho ativa na thread, retorna a conexão compartilhada dela.
+     * @return Um objeto Connection válido.
+     * @throws SQLException Se ocorrer um erro de acesso ao banco, se o pool estiver esgotado
+     *                      ou se o limite de conexões simultâneas não for liberado a tempo.
+     * @throws RuntimeException Se o datasource (DB_URL) não estiver configurado.
      */
     public static Connection getConnection() throws SQLException {
+        Connection compartilhada = UnidadeDeTrabalho.conexaoAtual();
+        if (compartilhada != null) {
+            return compartilhada;
+        }
+
         try {
-            Class.forName("oracle.jdbc.driver.OracleDriver");
+            if (!PERMISSOES.tryAcquire(ESPERA_MAXIMA_MS, TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Limite de conexões simultâneas com o banco atingido (" + LIMITE_CONCORRENCIA + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido aguardando conexão com o banco.", e);
+        }
 
-            String url = System.getenv("DB_URL");
-            String user = System.getenv("DB_USER");
-            String password = System.getenv("DB_PASSWORD");
+        try {
+            return liberandoPermissaoAoFechar(getDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            PERMISSOES.release();
+            throw e;
+        }
+    }
 
-            if (url == null) {
-                throw new RuntimeException("Variáveis de ambiente não configuradas!");
-            }
+    // Método auxiliar: Devolve a permissão do semáforo uma única vez, no close() da conexão
+    private static Connection liberandoPermissaoAoFechar(Connection conn) {
+        AtomicBoolean liberada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, metodo, args) -> {
+                    boolean fechamento = "close".equals(metodo.getName());
+                    try {
+                        return metodo.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (fechamento && liberada.compareAndSet(false, true)) {
+                            PERMISSOES.release();
+                        }
+                    }
+                });
+    }
 
-            return DriverManager.getConnection(url, user, password);
+    /**
+     * Indica se o erro é uma falha de conexão com o banco (rede, banco fora do ar ou conexão perdida),
+     * e não a rejeição do comando. Verifica também as causas encadeadas (erros encapsulados pelo pool).
+     */
+    public static boolean isFalhaDeConexao(SQLException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLRecoverableException
+                    || causa instanceof SQLTransientConnectionException
+                    || causa instanceof SQLNonTransientConnectionException) {
+                return true;
+            }
+            // SQLState classe 08: exceções de conexão
+            if (causa instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        } catch (ClassNotFoundException e) {
-            throw new SQLException("Driver Oracle não encontrado", e);
+    private static AgroalDataSource getDataSource() {
+        AgroalDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (ConnectionFactory.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    try {
+                        ds = Arc.container().instance(AgroalDataSource.class).get();
+                    } catch (RuntimeException e) {
+                        throw new RuntimeException("Variáveis de ambiente não configuradas!", e);
+                    }
+                    if (ds == null) {
+                        throw new RuntimeException("Variáveis de ambiente não configuradas!");
+                    }
+                    dataSource = ds;
+                }
+            }
         }
+        return ds;
     }
-}
\ No newline at end of file
+}
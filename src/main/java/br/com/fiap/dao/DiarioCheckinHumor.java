@@ -0,0 +1,439 @@
+package br.com.fiap.dao;
+
+import br.com.fiap.to.CheckinHumorTO;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Diário local (journal) de check-ins, usado enquanto o banco de dados está inacessível.
+ * Os registros são anexados (append-only) a segmentos de tamanho fixo mapeados em memória
+ * (diario-NNNNNNNNNNNNNNNN.seg), no formato [tamanho (int)][CRC32 (long)][dados].
+ * Um registro só é confirmado ao chamador após o force() do segmento; chamadas concorrentes
+ * compartilham o mesmo force() (fsync em grupo, dentro de humanize.checkin.diario.janela-fsync-ms).
+ *
+ * Para o reprocessamento, o segmento ativo é selado e os segmentos são lidos do mais antigo
+ * para o mais recente; registros truncados ou corrompidos (CRC divergente) encerram a leitura
+ * do segmento. O segmento só é removido após a gravação dos seus check-ins no banco.
+ * Check-ins recusados pelo banco por erro permanente (dado inválido, funcionário excluído) são
+ * anexados, no mesmo formato, ao arquivo de quarentena (quarentena.rejeitados), para análise manual.
+ */
+public final class DiarioCheckinHumor {
+
+    private static final boolean HABILITADO = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.diario.habilitado", Boolean.class).orElse(false);
+    private static final Path DIRETORIO = Paths.get(ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.diario.diretorio", String.class)
+            .orElse(System.getProperty("java.io.tmpdir") + "/humanize-diario-checkins"));
+    private static final int TAMANHO_SEGMENTO = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.diario.tamanho-segmento-bytes", Integer.class).orElse(8 * 1024 * 1024);
+    private static final long JANELA_FSYNC_MS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.checkin.diario.janela-fsync-ms", Long.class).orElse(5L);
+
+    private static final String PREFIXO_SEGMENTO = "diario-";
+    private static final String SUFIXO_SEGMENTO = ".seg";
+    private static final String SUFIXO_QUARENTENA = ".ilegivel";
+    private static final String ARQUIVO_REJEITADOS = "quarentena.rejeitados";
+
+    // Cabeçalho de cada registro: tamanho dos dados (int) + CRC32 dos dados (long)
+    private static final int CABECALHO_REGISTRO = Integer.BYTES + Long.BYTES;
+    private static final byte VERSAO_FORMATO = 1;
+
+    private static final ReentrantLock ESCRITA = new ReentrantLock();
+    private static final ReentrantLock SINCRONIZACAO = new ReentrantLock();
+    private static final ReentrantLock QUARENTENA = new ReentrantLock();
+
+    // Segmento ativo (protegido por ESCRITA); null até o primeiro registro ou após a selagem
+    private static MappedByteBuffer segmentoAtivo;
+    private static long proximaSequencia;
+
+    // Registros anexados e registros já confirmados em disco (fsync em grupo)
+    private static long anexados;
+    private static volatile long sincronizados;
+
+    private static final AtomicLong PENDENTES = new AtomicLong();
+    private static final LongAdder REGISTRADOS = new LongAdder();
+    private static final LongAdder REPROCESSADOS = new LongAdder();
+    private static final LongAdder REJEITADOS = new LongAdder();
+    private static volatile double taxaUltimoReprocessamento;
+
+    static {
+        if (HABILITADO) {
+            inicializar();
+        }
+    }
+
+    private DiarioCheckinHumor() {
+    }
+
+    /**
+     * Indica se o diário local está habilitado (humanize.checkin.diario.habilitado).
+     */
+    public static boolean isHabilitado() {
+        return HABILITADO;
+    }
+
+    /**
+     * Quantidade de check-ins no diário aguardando gravação no banco.
+     */
+    public static long getPendentes() {
+        return PENDENTES.get();
+    }
+
+    /**
+     * Anexa o check-in ao diário e aguarda a sua gravação em disco.
+     * @return true se o check-in está durável no diário; false em caso de erro de E/S (já registrado em System.err).
+     */
+    public static boolean registrar(CheckinHumorTO checkin) {
+        if (!HABILITADO) {
+            return false;
+        }
+
+        byte[] dados;
+        try {
+            dados = serializar(checkin);
+        } catch (IOException e) {
+            System.err.println("Erro ao serializar check-in para o diário: " + e.getMessage());
+            return false;
+        }
+        if (CABECALHO_REGISTRO + dados.length > TAMANHO_SEGMENTO) {
+            System.err.println("Check-in maior que o segmento do diário (" + TAMANHO_SEGMENTO + " bytes).");
+            return false;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(dados);
+
+        long ticket;
+        ESCRITA.lock();
+        try {
+            if (segmentoAtivo == null || segmentoAtivo.remaining() < CABECALHO_REGISTRO + dados.length) {
+                abrirNovoSegmento();
+            }
+            segmentoAtivo.putInt(dados.length);
+            segmentoAtivo.putLong(crc.getValue());
+            segmentoAtivo.put(dados);
+            ticket = ++anexados;
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar check-in no diário: " + e.getMessage());
+            return false;
+        } finally {
+            ESCRITA.unlock();
+        }
+
+        sincronizar(ticket);
+        PENDENTES.incrementAndGet();
+        REGISTRADOS.increment();
+        return true;
+    }
+
+    /**
+     * Sela o segmento ativo (próximos registros vão para um novo segmento) e retorna
+     * todos os segmentos a reprocessar, do mais antigo para o mais recente.
+     */
+    public static List<Path> selarSegmentos() {
+        if (!HABILITADO) {
+            return new ArrayList<>();
+        }
+
+        ESCRITA.lock();
+        try {
+            if (segmentoAtivo != null) {
+                segmentoAtivo.force();
+                sincronizados = anexados;
+                segmentoAtivo = null;
+            }
+            return listarSegmentos();
+        } catch (IOException e) {
+            System.err.println("Erro ao listar os segmentos do diário: " + e.getMessage());
+            return new ArrayList<>();
+        } finally {
+            ESCRITA.unlock();
+        }
+    }
+
+    /**
+     * Lê os check-ins válidos de um segmento selado. Um segmento ilegível é movido para quarentena
+     * (sufixo .ilegivel) e retorna lista vazia.
+     */
+    public static List<CheckinHumorTO> ler(Path segmento) {
+        try {
+            return lerRegistros(segmento);
+        } catch (IOException e) {
+            System.err.println("Segmento do diário ilegível, movido para quarentena: " + segmento + " (" + e.getMessage() + ")");
+            try {
+                Files.move(segmento, segmento.resolveSibling(segmento.getFileName() + SUFIXO_QUARENTENA), StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException erroMove) {
+                System.err.println("Erro ao mover segmento do diário para quarentena: " + erroMove.getMessage());
+            }
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Move para a quarentena (quarentena.rejeitados) um check-in recusado pelo banco por erro permanente,
+     * para que ele não impeça o descarte do segmento nem o reprocessamento dos seguintes.
+     * @param motivo Motivo da recusa (registrado em System.err).
+     * @return true se o check-in está gravado em disco na quarentena; false em caso de erro de E/S.
+     */
+    public static boolean quarentenar(CheckinHumorTO checkin, String motivo) {
+        QUARENTENA.lock();
+        try (FileChannel canal = FileChannel.open(DIRETORIO.resolve(ARQUIVO_REJEITADOS),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            byte[] dados = serializar(checkin);
+            CRC32 crc = new CRC32();
+            crc.update(dados);
+            ByteBuffer registro = ByteBuffer.allocate(CABECALHO_REGISTRO + dados.length);
+            registro.putInt(dados.length).putLong(crc.getValue()).put(dados).flip();
+            while (registro.hasRemaining()) {
+                canal.write(registro);
+            }
+            canal.force(false);
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar check-in na quarentena do diário: " + e.getMessage());
+            return false;
+        } finally {
+            QUARENTENA.unlock();
+        }
+
+        REJEITADOS.increment();
+        System.err.println("Check-in do diário movido para quarentena (" + motivo + "): funcionário "
+                + checkin.getFuncionarioId() + ", data " + checkin.getDataCheckin());
+        return true;
+    }
+
+    /**
+     * Remove um segmento cujos check-ins já foram gravados no banco (ou movidos para a quarentena).
+     * @param registros Quantidade de check-ins lidos do segmento.
+     * @param rejeitados Quantos deles foram movidos para a quarentena.
+     */
+    public static void descartar(Path segmento, int registros, int rejeitados) {
+        try {
+            Files.deleteIfExists(segmento);
+        } catch (IOException e) {
+            // O reprocessamento é idempotente: o segmento será apenas reaplicado no próximo ciclo
+            System.err.println("Erro ao remover segmento reprocessado do diário: " + e.getMessage());
+            return;
+        }
+        PENDENTES.addAndGet(-registros);
+        REPROCESSADOS.add(registros - rejeitados);
+    }
+
+    /**
+     * Registra a vazão (check-ins por segundo) do último ciclo de reprocessamento.
+     */
+    public static void registrarCicloReprocessamento(int registros, long duracaoNanos) {
+        if (registros > 0 && duracaoNanos > 0) {
+            taxaUltimoReprocessamento = registros * 1_000_000_000.0 / duracaoNanos;
+        }
+    }
+
+    /**
+     * Retorna os indicadores do diário (profundidade, registrados, reprocessados, rejeitados e taxa de reprocessamento).
+     */
+    public static Map<String, Object> getEstatisticas() {
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("habilitado", HABILITADO);
+        estatisticas.put("pendentes", PENDENTES.get());
+        estatisticas.put("registrados", REGISTRADOS.sum());
+        estatisticas.put("reprocessados", REPROCESSADOS.sum());
+        estatisticas.put("rejeitados", REJEITADOS.sum());
+        estatisticas.put("taxaReprocessamentoPorSegundo", Math.round(taxaUltimoReprocessamento * 10) / 10.0);
+        return estatisticas;
+    }
+
+    // Método auxiliar: Força em disco os registros até o ticket; quem chega durante a janela aproveita o mesmo force()
+    private static void sincronizar(long ticket) {
+        if (sincronizados >= ticket) {
+            return;
+        }
+
+        SINCRONIZACAO.lock();
+        try {
+            if (sincronizados >= ticket) {
+                return;
+            }
+            if (JANELA_FSYNC_MS > 0) {
+                try {
+                    Thread.sleep(JANELA_FSYNC_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            MappedByteBuffer alvo;
+            long ate;
+            ESCRITA.lock();
+            try {
+                alvo = segmentoAtivo;
+                ate = anexados;
+            } finally {
+                ESCRITA.unlock();
+            }
+            // Sem segmento ativo: foi selado (e forçado) após o registro
+            if (alvo != null) {
+                alvo.force();
+            }
+            if (ate > sincronizados) {
+                sincronizados = ate;
+            }
+        } finally {
+            SINCRONIZACAO.unlock();
+        }
+    }
+
+    // Método auxiliar: Força o segmento cheio e mapeia um novo (chamado com ESCRITA adquirido)
+    private static void abrirNovoSegmento() throws IOException {
+        if (segmentoAtivo != null) {
+            segmentoAtivo.force();
+            sincronizados = anexados;
+        }
+
+        Path arquivo = DIRETORIO.resolve(String.format("%s%016d%s", PREFIXO_SEGMENTO, proximaSequencia++, SUFIXO_SEGMENTO));
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // O mapeamento permanece válido após o fechamento do canal
+            segmentoAtivo = canal.map(FileChannel.MapMode.READ_WRITE, 0, TAMANHO_SEGMENTO);
+        }
+    }
+
+    // Método auxiliar: Cria o diretório e contabiliza os check-ins pendentes de execuções anteriores
+    private static void inicializar() {
+        try {
+            Files.createDirectories(DIRETORIO);
+            long pendentes = 0;
+            for (Path segmento : listarSegmentos()) {
+                pendentes += ler(segmento).size();
+                proximaSequencia = Math.max(proximaSequencia, sequenciaDe(segmento) + 1);
+            }
+            PENDENTES.set(pendentes);
+            if (pendentes > 0) {
+                System.err.println("Diário de check-ins com " + pendentes + " registros pendentes de reprocessamento.");
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao inicializar o diário de check-ins em " + DIRETORIO + ": " + e.getMessage());
+        }
+    }
+
+    private static List<Path> listarSegmentos() throws IOException {
+        List<Path> segmentos = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(DIRETORIO, PREFIXO_SEGMENTO + "*" + SUFIXO_SEGMENTO)) {
+            for (Path arquivo : arquivos) {
+                segmentos.add(arquivo);
+            }
+        }
+        // Sequência com zeros à esquerda: a ordem alfabética é a ordem de criação
+        segmentos.sort(null);
+        return segmentos;
+    }
+
+    private static long sequenciaDe(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO_SEGMENTO.length(), nome.length() - SUFIXO_SEGMENTO.length()));
+    }
+
+    // Método auxiliar: Lê os registros até o fim dos dados (tamanho 0), um registro truncado ou um CRC divergente
+    private static List<CheckinHumorTO> lerRegistros(Path segmento) throws IOException {
+        List<CheckinHumorTO> registros = new ArrayList<>();
+        ByteBuffer buffer;
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ)) {
+            buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+
+        while (buffer.remaining() >= CABECALHO_REGISTRO) {
+            int tamanho = buffer.getInt();
+            long crcGravado = buffer.getLong();
+            if (tamanho <= 0 || tamanho > buffer.remaining()) {
+                break;
+            }
+
+            byte[] dados = new byte[tamanho];
+            buffer.get(dados);
+            CRC32 crc = new CRC32();
+            crc.update(dados);
+            if (crc.getValue() != crcGravado) {
+                System.err.println("Registro corrompido no diário (CRC divergente), leitura do segmento encerrada: " + segmento);
+                break;
+            }
+            registros.add(desserializar(dados));
+        }
+        return registros;
+    }
+
+    private static byte[] serializar(CheckinHumorTO checkin) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeByte(VERSAO_FORMATO);
+            saida.writeInt(checkin.getFuncionarioId());
+            saida.writeLong(checkin.getDataCheckin().toEpochDay());
+            saida.writeInt(checkin.getNivelEnergia());
+            escreverTexto(saida, checkin.getSentimento());
+            escreverTexto(saida, checkin.getVolumeDemandas());
+            escreverTexto(saida, checkin.getBloqueios());
+            escreverTexto(saida, checkin.getDesconexao());
+            saida.writeInt(checkin.getNivelConexao());
+            escreverTexto(saida, checkin.getQualidadeInteracao());
+            escreverTexto(saida, checkin.getQualidadeSono());
+            escreverTexto(saida, checkin.getStatusPausas());
+            escreverTexto(saida, checkin.getPequenoGanho());
+        }
+        return bytes.toByteArray();
+    }
+
+    private static CheckinHumorTO desserializar(byte[] dados) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados))) {
+            byte versao = entrada.readByte();
+            if (versao != VERSAO_FORMATO) {
+                throw new IOException("Versão de registro do diário não suportada: " + versao);
+            }
+            CheckinHumorTO checkin = new CheckinHumorTO();
+            checkin.setFuncionarioId(entrada.readInt());
+            checkin.setDataCheckin(LocalDate.ofEpochDay(entrada.readLong()));
+            checkin.setNivelEnergia(entrada.readInt());
+            checkin.setSentimento(lerTexto(entrada));
+            checkin.setVolumeDemandas(lerTexto(entrada));
+            checkin.setBloqueios(lerTexto(entrada));
+            checkin.setDesconexao(lerTexto(entrada));
+            checkin.setNivelConexao(entrada.readInt());
+            checkin.setQualidadeInteracao(lerTexto(entrada));
+            checkin.setQualidadeSono(lerTexto(entrada));
+            checkin.setStatusPausas(lerTexto(entrada));
+            checkin.setPequenoGanho(lerTexto(entrada));
+            return checkin;
+        }
+    }
+
+    // Campos opcionais (Q4, Q10) podem ser nulos: marcador booleano antes do texto
+    private static void escreverTexto(DataOutputStream saida, String texto) throws IOException {
+        saida.writeBoolean(texto != null);
+        if (texto != null) {
+            saida.writeUTF(texto);
+        }
+    }
+
+    private static String lerTexto(DataInputStream entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+}
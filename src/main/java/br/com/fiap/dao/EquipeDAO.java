@@ -6,13 +6,18 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * Data Access Object (DAO) para a entidade Equipe.
- * Implementa apenas a consulta de referência (findAll).
+ * Implementa a consulta de referência (findAll) e a verificação de IDs existentes.
  */
 public class EquipeDAO {
 
+    // Compartilhado com EquipeReativoDAO
+    static final String SQL_FIND_ALL = "SELECT ID_EQUIPE, NM_EQUIPE, SG_EQUIPE, DS_SETOR FROM T_H_EQUIPE ORDER BY NM_EQUIPE";
+
     /**
      * Retorna uma lista de todas as equipes cadastradas no sistema.
      * Os resultados são ordenados pelo nome da equipe (NM_EQUIPE).
@@ -20,18 +25,16 @@ public class EquipeDAO {
      */
     public ArrayList<EquipeTO> findAll() {
         ArrayList<EquipeTO> lista = new ArrayList<>();
-        String sql = "SELECT ID_EQUIPE, NM_EQUIPE, SG_EQUIPE, DS_SETOR FROM T_H_EQUIPE ORDER BY NM_EQUIPE";
-
         try (Connection conn = ConnectionFactory.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
+             PreparedStatement ps = conn.prepareStatement(SQL_FIND_ALL);
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
                 EquipeTO equipe = new EquipeTO();
-                equipe.setId(rs.getInt("ID_EQUIPE"));
-                equipe.setNome(rs.getString("NM_EQUIPE"));
-                equipe.setSigla(rs.getString("SG_EQUIPE"));
-                equipe.setSetor(rs.getString("DS_SETOR"));
+                equipe.setId(rs.getInt(1));        // ID_EQUIPE
+                equipe.setNome(rs.getString(2));   // NM_EQUIPE
+                equipe.setSigla(rs.getString(3));  // SG_EQUIPE
+                equipe.setSetor(rs.getString(4));  // DS_SETOR
                 lista.add(equipe);
             }
         } catch (SQLException e) {
@@ -40,4 +43,32 @@ public class EquipeDAO {
         }
         return lista;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retorna, entre os IDs informados, os que existem em T_H_EQUIPE (verificação em conjunto, com cláusulas IN).
+     * @return Os IDs existentes, ou null em caso de erro.
+     */
+    public HashSet<Integer> findIdsExistentes(List<Integer> ids) {
+        HashSet<Integer> existentes = new HashSet<>();
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            for (List<Integer> bloco : ClausulaIn.particionar(ids)) {
+                String sql = "SELECT ID_EQUIPE FROM T_H_EQUIPE WHERE ID_EQUIPE IN (" + ClausulaIn.marcadores(bloco.size()) + ")";
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ClausulaIn.preencher(ps, 1, bloco);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            existentes.add(rs.getInt(1));
+                        }
+                    }
+                }
+            }
+            return existentes;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao verificar equipes existentes: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.fiap.dao;
+
+import br.com.fiap.to.EquipeTO;
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.sqlclient.Row;
+
+/**
+ * Data Access Object reativo para a entidade Equipe (cliente reativo Oracle).
+ * Mesma consulta de EquipeDAO, sem bloquear a thread do event loop.
+ */
+public class EquipeReativoDAO {
+
+    /**
+     * Emite todas as equipes cadastradas, ordenadas pelo nome (NM_EQUIPE).
+     * Em caso de erro, o erro é registrado e o fluxo termina sem itens (como em EquipeDAO).
+     */
+    public Multi<EquipeTO> findAll() {
+        return PoolReativo.getPool().query(EquipeDAO.SQL_FIND_ALL).execute()
+                .onItem().transformToMulti(linhas -> Multi.createFrom().iterable(linhas))
+                .map(EquipeReativoDAO::mapRowToTO)
+                .onFailure().invoke(e -> System.err.println("Erro ao buscar todas as equipes (reativo): " + e.getMessage()))
+                .onFailure().recoverWithCompletion();
+    }
+
+    private static EquipeTO mapRowToTO(Row row) {
+        EquipeTO equipe = new EquipeTO();
+        equipe.setId(row.getInteger(0));       // ID_EQUIPE
+        equipe.setNome(row.getString(1));      // NM_EQUIPE
+        equipe.setSigla(row.getString(2));     // SG_EQUIPE
+        equipe.setSetor(row.getString(3));     // DS_SETOR
+        return equipe;
+    }
+}
@@ -6,6 +6,8 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * Data Access Object para a entidade Função.
@@ -13,24 +15,25 @@ import java.util.ArrayList;
  */
 public class FuncaoDAO {
 
+    // Compartilhado com FuncaoReativoDAO
+    static final String SQL_FIND_ALL = "SELECT ID_FUNCAO, NM_FUNCAO FROM T_H_FUNCAO ORDER BY NM_FUNCAO";
+
     /**
      * Retorna uma lista de todas as funções cadastradas no sistema.
      * @return ArrayList de FuncaoTO.
      */
     public ArrayList<FuncaoTO> findAll() {
         ArrayList<FuncaoTO> lista = new ArrayList<>();
-        String sql = "SELECT ID_FUNCAO, NM_FUNCAO FROM T_H_FUNCAO ORDER BY NM_FUNCAO";
-
         try (Connection conn = ConnectionFactory.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
+             PreparedStatement ps = conn.prepareStatement(SQL_FIND_ALL);
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
                 FuncaoTO funcao = new FuncaoTO();
 
-                // Mapeamento das colunas para o TO
-                funcao.setId(rs.getInt("ID_FUNCAO"));
-                funcao.setNome(rs.getString("NM_FUNCAO"));
+                // Mapeamento das colunas para o TO (por índice, na ordem do SELECT)
+                funcao.setId(rs.getInt(1));      // ID_FUNCAO
+                funcao.setNome(rs.getString(2)); // NM_FUNCAO
 
                 lista.add(funcao);
             }
@@ -43,4 +46,32 @@ public class FuncaoDAO {
 
         return lista;
     }
-}
\ No newline at end of file
+
+    /**
+     * Retorna, entre os IDs informados, os que existem em T_H_FUNCAO (verificação em conjunto, com cláusulas IN).
+     * @return Os IDs existentes, ou null em caso de erro.
+     */
+    public HashSet<Integer> findIdsExistentes(List<Integer> ids) {
+        HashSet<Integer> existentes = new HashSet<>();
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            for (List<Integer> bloco : ClausulaIn.particionar(ids)) {
+                String sql = "SELECT ID_FUNCAO FROM T_H_FUNCAO WHERE ID_FUNCAO IN (" + ClausulaIn.marcadores(bloco.size()) + ")";
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ClausulaIn.preencher(ps, 1, bloco);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            existentes.add(rs.getInt(1));
+                        }
+                    }
+                }
+            }
+            return existentes;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao verificar funções existentes: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package br.com.fiap.dao;
+
+import br.com.fiap.to.FuncaoTO;
+import io.smallrye.mutiny.Multi;
+import io.vertx.mutiny.sqlclient.Row;
+
+/**
+ * Data Access Object reativo para a entidade Função (cliente reativo Oracle).
+ * Mesma consulta de FuncaoDAO, sem bloquear a thread do event loop.
+ */
+public class FuncaoReativoDAO {
+
+    /**
+     * Emite todas as funções cadastradas, ordenadas pelo nome (NM_FUNCAO).
+     * Em caso de erro, o erro é registrado e o fluxo termina sem itens (como em FuncaoDAO).
+     */
+    public Multi<FuncaoTO> findAll() {
+        return PoolReativo.getPool().query(FuncaoDAO.SQL_FIND_ALL).execute()
+                .onItem().transformToMulti(linhas -> Multi.createFrom().iterable(linhas))
+                .map(FuncaoReativoDAO::mapRowToTO)
+                .onFailure().invoke(e -> System.err.println("Erro ao buscar todas as funções (reativo): " + e.getMessage()))
+                .onFailure().recoverWithCompletion();
+    }
+
+    private static FuncaoTO mapRowToTO(Row row) {
+        FuncaoTO funcao = new FuncaoTO();
+        funcao.setId(row.getInteger(0));    // ID_FUNCAO
+        funcao.setNome(row.getString(1));   // NM_FUNCAO
+        return funcao;
+    }
+}
@@ -1,8 +1,12 @@
 package br.com.fiap.dao;
 
+import br.com.fiap.exception.BancoIndisponivelException;
 import br.com.fiap.to.FuncionarioTO;
+import br.com.fiap.to.PerfilAcessoTO;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
 
 /**
  * Data Access Object para a entidade Funcionário.
@@ -10,25 +14,35 @@ import java.util.ArrayList;
  */
 public class FuncionarioDAO {
 
+    // Lista explícita de colunas, na ordem usada pelo mapeamento por índice (mapResultSetToTO)
+    private static final String COLUNAS = "ID_FUNC, NM_FUNCIONARIO, EM_FUNCIONARIO, DS_SENHA, DT_CONTRATACAO, ID_EQUIPE, ID_FUNCAO";
+
+    // Funcionários ativos: DT_EXCLUSAO preenchida = excluído logicamente, aguardando expurgo
+    private static final String ATIVO = "DT_EXCLUSAO IS NULL";
+
+    // Compartilhado com FuncionarioReativoDAO
+    static final String SQL_PERFIL_ACESSO = "SELECT ID_FUNCAO, ID_EQUIPE FROM T_H_FUNCIONARIO WHERE ID_FUNC = ? AND " + ATIVO;
+
     /**
-     * Método auxiliar para mapear um ResultSet para um objeto FuncionarioTO.
+     * Método auxiliar para mapear um ResultSet (COLUNAS) para um objeto FuncionarioTO.
      * @param rs O ResultSet contendo os dados da consulta.
      * @return Um objeto FuncionarioTO preenchido.
      * @throws SQLException Se ocorrer erro ao acessar os dados do ResultSet.
      */
     private FuncionarioTO mapResultSetToTO(ResultSet rs) throws SQLException {
         FuncionarioTO funcionario = new FuncionarioTO();
-        funcionario.setId(rs.getInt("ID_FUNC"));
-        funcionario.setNome(rs.getString("NM_FUNCIONARIO"));
-        funcionario.setEmail(rs.getString("EM_FUNCIONARIO"));
-        funcionario.setSenha(rs.getString("DS_SENHA"));
-
-        if (rs.getDate("DT_CONTRATACAO") != null) {
-            funcionario.setDataContratacao(rs.getDate("DT_CONTRATACAO").toLocalDate());
+        funcionario.setId(rs.getInt(1));
+        funcionario.setNome(rs.getString(2));
+        funcionario.setEmail(rs.getString(3));
+        funcionario.setSenha(rs.getString(4));
+
+        Date dataContratacao = rs.getDate(5);
+        if (dataContratacao != null) {
+            funcionario.setDataContratacao(dataContratacao.toLocalDate());
         }
 
-        funcionario.setEquipeId(rs.getInt("ID_EQUIPE"));
-        funcionario.setIdFuncao(rs.getInt("ID_FUNCAO"));
+        funcionario.setEquipeId(rs.getInt(6));
+        funcionario.setIdFuncao(rs.getInt(7));
         return funcionario;
     }
 
@@ -39,7 +53,7 @@ public class FuncionarioDAO {
      * @return O objeto FuncionarioTO se as credenciais forem válidas, ou null caso contrário.
      */
     public FuncionarioTO buscarPorLogin(String email, String senha) {
-        String sql = "SELECT * FROM T_H_FUNCIONARIO WHERE EM_FUNCIONARIO = ? AND DS_SENHA = ?";
+        String sql = "SELECT " + COLUNAS + " FROM T_H_FUNCIONARIO WHERE EM_FUNCIONARIO = ? AND DS_SENHA = ? AND " + ATIVO;
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, email);
@@ -61,7 +75,7 @@ public class FuncionarioDAO {
      * @return O objeto FuncionarioTO encontrado ou null.
      */
     public FuncionarioTO findByEmail(String email) {
-        String sql = "SELECT * FROM T_H_FUNCIONARIO WHERE EM_FUNCIONARIO = ?";
+        String sql = "SELECT " + COLUNAS + " FROM T_H_FUNCIONARIO WHERE EM_FUNCIONARIO = ? AND " + ATIVO;
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -108,17 +122,110 @@ public class FuncionarioDAO {
             }
         } catch (SQLException e) {
             System.err.println("Erro ao salvar funcionário (SQL): " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
         }
         return null;
     }
 
+    /**
+     * Salva vários funcionários com JDBC batching (addBatch/executeBatch), em um único round trip.
+     * Utilizado pela importação em lote (a unicidade dos e-mails é verificada antes, em conjunto).
+     * @return true se o lote foi inserido, false em caso de erro.
+     */
+    public boolean saveLote(List<FuncionarioTO> funcionarios) {
+        String sql = "INSERT INTO T_H_FUNCIONARIO (ID_FUNC, NM_FUNCIONARIO, EM_FUNCIONARIO, DS_SENHA, DT_CONTRATACAO, ID_EQUIPE, ID_FUNCAO) " +
+                "VALUES (T_H_FUNCIONARIO_SEQ.NEXTVAL, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            for (FuncionarioTO funcionario : funcionarios) {
+                ps.setString(1, funcionario.getNome());
+                ps.setString(2, funcionario.getEmail());
+                ps.setString(3, funcionario.getSenha());
+                ps.setDate(4, Date.valueOf(funcionario.getDataContratacao()));
+                ps.setInt(5, funcionario.getEquipeId());
+                ps.setInt(6, funcionario.getIdFuncao());
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao salvar lote de funcionários (SQL): " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return false;
+        }
+    }
+
+    /**
+     * Retorna, entre os e-mails informados, os que já pertencem a funcionários ativos
+     * (unicidade verificada em conjunto, com cláusulas IN, em vez de um findByEmail por e-mail).
+     * @return Os e-mails já cadastrados, ou null em caso de erro.
+     */
+    public HashSet<String> findEmailsCadastrados(List<String> emails) {
+        HashSet<String> cadastrados = new HashSet<>();
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            for (List<String> bloco : ClausulaIn.particionar(emails)) {
+                String sql = "SELECT EM_FUNCIONARIO FROM T_H_FUNCIONARIO WHERE EM_FUNCIONARIO IN (" + ClausulaIn.marcadores(bloco.size()) + ") AND " + ATIVO;
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ClausulaIn.preencher(ps, 1, bloco);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            cadastrados.add(rs.getString(1));
+                        }
+                    }
+                }
+            }
+            return cadastrados;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao verificar e-mails cadastrados: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Retorna, entre os IDs informados, os de funcionários ativos (não excluídos),
+     * verificados em conjunto com cláusulas IN.
+     * @return Os IDs ativos, ou null em caso de erro.
+     * @throws BancoIndisponivelException Se o banco estiver inacessível.
+     */
+    public HashSet<Integer> findIdsAtivos(List<Integer> ids) {
+        HashSet<Integer> ativos = new HashSet<>();
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            for (List<Integer> bloco : ClausulaIn.particionar(ids)) {
+                String sql = "SELECT ID_FUNC FROM T_H_FUNCIONARIO WHERE ID_FUNC IN (" + ClausulaIn.marcadores(bloco.size()) + ") AND " + ATIVO;
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ClausulaIn.preencher(ps, 1, bloco);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            ativos.add(rs.getInt(1));
+                        }
+                    }
+                }
+            }
+            return ativos;
+
+        } catch (SQLException e) {
+            if (ConnectionFactory.isFalhaDeConexao(e)) {
+                throw new BancoIndisponivelException("Banco de dados indisponível ao verificar funcionários ativos: " + e.getMessage(), e);
+            }
+            System.err.println("Erro ao verificar funcionários ativos: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return null;
+        }
+    }
+
     /**
      * Retorna a lista de todos os funcionários cadastrados.
      * @return Uma lista de objetos FuncionarioTO.
      */
     public ArrayList<FuncionarioTO> findAll() {
         ArrayList<FuncionarioTO> lista = new ArrayList<>();
-        String sql = "SELECT * FROM T_H_FUNCIONARIO ORDER BY ID_FUNC";
+        String sql = "SELECT " + COLUNAS + " FROM T_H_FUNCIONARIO WHERE " + ATIVO + " ORDER BY ID_FUNC";
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql);
@@ -139,7 +246,7 @@ public class FuncionarioDAO {
      * @return O objeto FuncionarioTO encontrado ou null.
      */
     public FuncionarioTO findByCodigo(int id) {
-        String sql = "SELECT * FROM T_H_FUNCIONARIO WHERE ID_FUNC = ?";
+        String sql = "SELECT " + COLUNAS + " FROM T_H_FUNCIONARIO WHERE ID_FUNC = ? AND " + ATIVO;
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -157,13 +264,39 @@ public class FuncionarioDAO {
         return null;
     }
 
+    /**
+     * Busca apenas a função e a equipe de um funcionário (verificações de autorização).
+     * @param id ID do funcionário.
+     * @return O PerfilAcessoTO ou null se não encontrado (ou em caso de erro).
+     */
+    public PerfilAcessoTO findPerfilAcesso(int id) {
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(SQL_PERFIL_ACESSO)) {
+
+            ps.setInt(1, id);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    return new PerfilAcessoTO(id, rs.getInt(1), rs.getInt(2));
+                }
+            }
+        } catch (SQLException e) {
+            if (ConnectionFactory.isFalhaDeConexao(e)) {
+                // Distingue banco fora do ar de funcionário inexistente/excluído (null)
+                throw new BancoIndisponivelException("Banco de dados indisponível ao buscar perfil de acesso: " + e.getMessage(), e);
+            }
+            System.err.println("Erro ao buscar perfil de acesso do funcionário: " + e.getMessage());
+        }
+        return null;
+    }
+
     /**
      * Atualiza os dados de um funcionário existente.
      * @param funcionario O objeto com os dados atualizados.
      * @return O objeto atualizado ou null em caso de falha.
      */
     public FuncionarioTO update(FuncionarioTO funcionario) {
-        String sql = "UPDATE T_H_FUNCIONARIO SET NM_FUNCIONARIO = ?, EM_FUNCIONARIO = ?, DS_SENHA = ?, DT_CONTRATACAO = ?, ID_EQUIPE = ?, ID_FUNCAO = ? WHERE ID_FUNC = ?";
+        String sql = "UPDATE T_H_FUNCIONARIO SET NM_FUNCIONARIO = ?, EM_FUNCIONARIO = ?, DS_SENHA = ?, DT_CONTRATACAO = ?, ID_EQUIPE = ?, ID_FUNCAO = ? WHERE ID_FUNC = ? AND " + ATIVO;
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -181,17 +314,19 @@ public class FuncionarioDAO {
             }
         } catch (SQLException e) {
             System.err.println("Erro ao atualizar funcionário: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
         }
         return null;
     }
 
     /**
-     * Exclui um funcionário pelo seu ID.
+     * Exclui logicamente um funcionário pelo seu ID (DT_EXCLUSAO = SYSDATE), com efeito imediato
+     * para login e consultas. Check-ins, favoritos e a própria linha são removidos pelo expurgo.
      * @param id O ID do funcionário a ser excluído.
      * @return true se a exclusão foi bem-sucedida, false caso contrário.
      */
     public boolean delete(int id) {
-        String sql = "DELETE FROM T_H_FUNCIONARIO WHERE ID_FUNC = ?";
+        String sql = "UPDATE T_H_FUNCIONARIO SET DT_EXCLUSAO = SYSDATE WHERE ID_FUNC = ? AND " + ATIVO;
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
@@ -201,16 +336,18 @@ public class FuncionarioDAO {
 
         } catch (SQLException e) {
             System.err.println("Erro ao excluir funcionário: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
             return false;
         }
     }
 
     /**
      * Exclui todos os recursos favoritos associados a um funcionário.
-     * Utilizado para garantir a integridade referencial antes de excluir o funcionário.
+     * Utilizado para garantir a integridade referencial antes de expurgar o funcionário.
      * @param funcionarioId O ID do funcionário.
+     * @return true se excluídos, false em caso de erro.
      */
-    public void deleteRecursosAssociados(int funcionarioId) {
+    public boolean deleteRecursosAssociados(int funcionarioId) {
         String sql = "DELETE FROM T_H_FUNC_RECURSO WHERE ID_FUNC = ?";
 
         try (Connection conn = ConnectionFactory.getConnection();
@@ -218,9 +355,138 @@ public class FuncionarioDAO {
 
             ps.setInt(1, funcionarioId);
             ps.executeUpdate();
+            return true;
 
         } catch (SQLException e) {
             System.err.println("Erro ao excluir recursos associados: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return false;
+        }
+    }
+
+    /**
+     * Retorna os funcionários excluídos logicamente que aguardam expurgo, dos mais antigos aos mais recentes.
+     * @param limite Quantidade máxima de IDs retornados.
+     * @return Os IDs, ou null em caso de erro.
+     */
+    public ArrayList<Integer> findExcluidosPendentes(int limite) {
+        ArrayList<Integer> ids = new ArrayList<>();
+        String sql = "SELECT ID_FUNC FROM T_H_FUNCIONARIO WHERE DT_EXCLUSAO IS NOT NULL ORDER BY DT_EXCLUSAO, ID_FUNC FETCH FIRST ? ROWS ONLY";
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, limite);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+            return ids;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao buscar funcionários aguardando expurgo: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Remove definitivamente a linha de um funcionário excluído logicamente
+     * (após o expurgo dos seus check-ins e favoritos).
+     * @return true se removido, false caso contrário.
+     */
+    public boolean expurgar(int id) {
+        String sql = "DELETE FROM T_H_FUNCIONARIO WHERE ID_FUNC = ? AND DT_EXCLUSAO IS NOT NULL";
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, id);
+            return ps.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao expurgar funcionário: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return false;
+        }
+    }
+
+    /**
+     * Bloqueia (SELECT ... FOR UPDATE) os funcionários ativos entre os IDs informados,
+     * para a exclusão em conjunto na transação corrente.
+     * @return Os IDs encontrados, ou null em caso de erro.
+     */
+    public ArrayList<Integer> bloquearExistentes(List<Integer> ids) {
+        ArrayList<Integer> existentes = new ArrayList<>();
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            for (List<Integer> bloco : ClausulaIn.particionar(ids)) {
+                String sql = "SELECT ID_FUNC FROM T_H_FUNCIONARIO WHERE ID_FUNC IN (" + ClausulaIn.marcadores(bloco.size()) + ") AND " + ATIVO + " FOR UPDATE";
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ClausulaIn.preencher(ps, 1, bloco);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            existentes.add(rs.getInt(1));
+                        }
+                    }
+                }
+            }
+            return existentes;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao bloquear funcionários para exclusão: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return null;
+        }
+    }
+
+    /**
+     * Bloqueia (SELECT ... FOR UPDATE) todos os funcionários ativos de uma equipe.
+     * @return Os IDs dos funcionários da equipe, ou null em caso de erro.
+     */
+    public ArrayList<Integer> bloquearPorEquipe(int equipeId) {
+        ArrayList<Integer> ids = new ArrayList<>();
+        String sql = "SELECT ID_FUNC FROM T_H_FUNCIONARIO WHERE ID_EQUIPE = ? AND " + ATIVO + " ORDER BY ID_FUNC FOR UPDATE";
+
+        try (Connection conn = ConnectionFactory.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+
+            ps.setInt(1, equipeId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+            return ids;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao bloquear funcionários da equipe para exclusão: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return null;
+        }
+    }
+
+    /**
+     * Exclui logicamente, em conjunto (IN), os funcionários informados (DT_EXCLUSAO = SYSDATE).
+     * @return A quantidade de funcionários excluídos, ou -1 em caso de erro.
+     */
+    public int deleteEmConjunto(List<Integer> ids) {
+        int excluidos = 0;
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            for (List<Integer> bloco : ClausulaIn.particionar(ids)) {
+                String sql = "UPDATE T_H_FUNCIONARIO SET DT_EXCLUSAO = SYSDATE WHERE ID_FUNC IN (" + ClausulaIn.marcadores(bloco.size()) + ") AND " + ATIVO;
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ClausulaIn.preencher(ps, 1, bloco);
+                    excluidos += ps.executeUpdate();
+                }
+            }
+            return excluidos;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao excluir funcionários em conjunto: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
+            return -1;
         }
     }
-}
\ No newline at end of file
+}
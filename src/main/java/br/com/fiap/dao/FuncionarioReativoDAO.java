@@ -0,0 +1,34 @@
+package br.com.fiap.dao;
+
+import br.com.fiap.to.PerfilAcessoTO;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.Tuple;
+
+/**
+ * Data Access Object reativo para as consultas de autorização de Funcionário (cliente reativo Oracle).
+ * As demais operações permanecem em FuncionarioDAO.
+ */
+public class FuncionarioReativoDAO {
+
+    /**
+     * Busca apenas a função e a equipe de um funcionário (verificações de autorização).
+     * @return Uni com o PerfilAcessoTO, ou com null se não encontrado (ou em caso de erro).
+     */
+    public Uni<PerfilAcessoTO> findPerfilAcesso(int id) {
+        return PoolReativo.getPool().preparedQuery(FuncionarioDAO.SQL_PERFIL_ACESSO).execute(Tuple.of(id))
+                .map(linhas -> {
+                    RowIterator<Row> iterador = linhas.iterator();
+                    if (!iterador.hasNext()) {
+                        return null;
+                    }
+                    Row row = iterador.next();
+                    return new PerfilAcessoTO(id, row.getInteger(0), row.getInteger(1));
+                })
+                .onFailure().recoverWithItem(e -> {
+                    System.err.println("Erro ao buscar perfil de acesso do funcionário (reativo): " + e.getMessage());
+                    return null;
+                });
+    }
+}
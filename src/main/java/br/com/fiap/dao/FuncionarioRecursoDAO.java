@@ -6,33 +6,87 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Data Access Object para a tabela associativa T_H_FUNC_RECURSO.
  * Gerencia a lista de recursos de bem-estar selecionados (favoritos) por um funcionário.
  */
 public class FuncionarioRecursoDAO {
+    // Insere o par (funcionário, recurso) apenas se ainda não existir e se o recurso existir:
+    // duplicidades e IDs inexistentes são ignorados pelo MERGE, sem exceção de chave do Oracle.
+    // O %s recebe os marcadores da cláusula IN (ClausulaIn).
+    private static final String SQL_MERGE_RECURSOS =
+            "MERGE INTO T_H_FUNC_RECURSO FR " +
+            "USING (SELECT ID_RECURSO FROM T_H_RECURSO_BEM_ESTAR WHERE ID_RECURSO IN (%s)) R " +
+            "ON (FR.ID_FUNC = ? AND FR.ID_RECURSO = R.ID_RECURSO) " +
+            "WHEN NOT MATCHED THEN INSERT (ID_FUNC, ID_RECURSO) VALUES (?, R.ID_RECURSO)";
+
     /**
      * Associa um recurso a um funcionário (adiciona à lista de favoritos).
      * @param idFunc ID do funcionário.
      * @param idRecurso ID do recurso de bem-estar.
-     * @return true se a associação foi bem-sucedida, false caso contrário.
+     * @return true se a associação foi criada, false se já existia, o recurso não existe ou houve erro.
      */
     public boolean associarRecurso(int idFunc, int idRecurso) {
-        String sql = "INSERT INTO T_H_FUNC_RECURSO (ID_FUNC, ID_RECURSO) VALUES (?, ?)";
-
+        String sql = String.format(SQL_MERGE_RECURSOS, ClausulaIn.marcadores(1));
 
         try (Connection conn = ConnectionFactory.getConnection();
              PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setInt(1, idFunc);
-            ps.setInt(2, idRecurso);
+            int posicao = ClausulaIn.preencher(ps, 1, List.of(idRecurso));
+            ps.setInt(posicao++, idFunc);
+            ps.setInt(posicao, idFunc);
 
             return ps.executeUpdate() > 0;
 
         } catch (SQLException e) {
-            // Se a associação já existir (chave duplicada), o Oracle lança exceção.
-            System.err.println("Erro ao associar recurso ao funcionário (pode ser duplicidade): " + e.getMessage());
+            System.err.println("Erro ao associar recurso ao funcionário: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Substitui a lista de favoritos do funcionário pela lista informada, em conjunto:
+     * um DELETE dos recursos que saíram da lista (NOT IN) e um MERGE dos que entraram.
+     * Recursos já favoritados permanecem intocados; IDs de recursos inexistentes são ignorados.
+     * Deve ser executado dentro de uma UnidadeDeTrabalho (as duas operações são atômicas).
+     * @param idFunc ID do funcionário.
+     * @param idsRecursos IDs dos recursos, sem repetições (lista vazia remove todos os favoritos).
+     * @return true se a lista foi substituída, false em caso de erro.
+     */
+    public boolean substituirRecursos(int idFunc, List<Integer> idsRecursos) {
+        List<List<Integer>> blocos = ClausulaIn.particionar(idsRecursos);
+
+        StringBuilder sqlDelete = new StringBuilder("DELETE FROM T_H_FUNC_RECURSO WHERE ID_FUNC = ?");
+        for (List<Integer> bloco : blocos) {
+            sqlDelete.append(" AND ID_RECURSO NOT IN (").append(ClausulaIn.marcadores(bloco.size())).append(")");
+        }
+
+        try (Connection conn = ConnectionFactory.getConnection()) {
+
+            try (PreparedStatement ps = conn.prepareStatement(sqlDelete.toString())) {
+                int posicao = 1;
+                ps.setInt(posicao++, idFunc);
+                for (List<Integer> bloco : blocos) {
+                    posicao = ClausulaIn.preencher(ps, posicao, bloco);
+                }
+                ps.executeUpdate();
+            }
+
+            for (List<Integer> bloco : blocos) {
+                try (PreparedStatement ps = conn.prepareStatement(String.format(SQL_MERGE_RECURSOS, ClausulaIn.marcadores(bloco.size())))) {
+                    int posicao = ClausulaIn.preencher(ps, 1, bloco);
+                    ps.setInt(posicao++, idFunc);
+                    ps.setInt(posicao, idFunc);
+                    ps.executeUpdate();
+                }
+            }
+            return true;
+
+        } catch (SQLException e) {
+            System.err.println("Erro ao substituir recursos favoritos do funcionário: " + e.getMessage());
+            UnidadeDeTrabalho.marcarRollback();
             return false;
         }
     }
@@ -63,7 +117,7 @@ public class FuncionarioRecursoDAO {
     /**
      * Lista todos os recursos de bem-estar selecionados por um funcionário.
      * @param idFunc ID do funcionário.
-     * @return Uma lista de RecursoBemEstarTO.
+     * @return Uma lista de RecursoBemEstarTO, ou null em caso de erro.
      */
     public ArrayList<RecursoBemEstarTO> findRecursosByFuncionario(int idFunc) {
         ArrayList<RecursoBemEstarTO> lista = new ArrayList<>();
@@ -81,18 +135,13 @@ public class FuncionarioRecursoDAO {
 
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    RecursoBemEstarTO recurso = new RecursoBemEstarTO();
-
-                    recurso.setId(rs.getInt("ID_RECURSO"));
-                    recurso.setNome(rs.getString("NM_RECURSO"));
-                    recurso.setLink(rs.getString("DS_LINK"));
-                    recurso.setTipo(rs.getString("DS_TIPO"));
-
-                    lista.add(recurso);
+                    // Mesma ordem de colunas de RecursoBemEstarDAO.COLUNAS
+                    lista.add(RecursoBemEstarDAO.mapResultSetToTO(rs));
                 }
             }
         } catch (SQLException e) {
             System.err.println("Erro ao buscar recursos do funcionário: " + e.getMessage());
+            return null;
         }
         return lista;
     }
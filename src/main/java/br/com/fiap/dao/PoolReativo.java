@@ -0,0 +1,37 @@
+package br.com.fiap.dao;
+
+import io.quarkus.arc.Arc;
+import io.vertx.mutiny.sqlclient.Pool;
+
+/**
+ * Fornece o pool do cliente reativo Oracle (Vert.x) para os DAOs reativos.
+ * Equivalente reativo de ConnectionFactory: o pool só existe quando a aplicação é
+ * construída com humanize.acesso-dados = reativo (quarkus.datasource.reactive = true).
+ */
+public final class PoolReativo {
+
+    private static volatile Pool pool;
+
+    private PoolReativo() {
+    }
+
+    /**
+     * Retorna o pool reativo configurado em application.properties (DB_REACTIVE_URL).
+     * @throws RuntimeException Se o datasource reativo não estiver habilitado ou configurado.
+     */
+    static Pool getPool() {
+        Pool atual = pool;
+        if (atual == null) {
+            try {
+                atual = Arc.container().instance(Pool.class).get();
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Datasource reativo não configurado!", e);
+            }
+            if (atual == null) {
+                throw new RuntimeException("Datasource reativo não configurado!");
+            }
+            pool = atual;
+        }
+        return atual;
+    }
+}
@@ -9,13 +9,20 @@ import java.util.ArrayList;
  */
 public class RecursoBemEstarDAO {
 
-    // Método auxiliar para mapear um ResultSet para RecursoBemEstarTO
-    private RecursoBemEstarTO mapResultSetToTO(ResultSet rs) throws SQLException {
+    // Lista explícita de colunas, na ordem usada pelo mapeamento por índice (mapResultSetToTO)
+    static final String COLUNAS = "ID_RECURSO, NM_RECURSO, DS_LINK, DS_TIPO";
+
+    // Consultas compartilhadas com RecursoBemEstarReativoDAO
+    static final String SQL_FIND_ALL = "SELECT " + COLUNAS + " FROM T_H_RECURSO_BEM_ESTAR ORDER BY NM_RECURSO";
+    static final String SQL_FIND_BY_ID = "SELECT " + COLUNAS + " FROM T_H_RECURSO_BEM_ESTAR WHERE ID_RECURSO = ?";
+
+    // Método auxiliar para mapear um ResultSet (COLUNAS) para RecursoBemEstarTO
+    static RecursoBemEstarTO mapResultSetToTO(ResultSet rs) throws SQLException {
         RecursoBemEstarTO recurso = new RecursoBemEstarTO();
-        recurso.setId(rs.getInt("ID_RECURSO"));
-        recurso.setNome(rs.getString("NM_RECURSO"));
-        recurso.setLink(rs.getString("DS_LINK"));
-        recurso.setTipo(rs.getString("DS_TIPO"));
+        recurso.setId(rs.getInt(1));
+        recurso.setNome(rs.getString(2));
+        recurso.setLink(rs.getString(3));
+        recurso.setTipo(rs.getString(4));
         return recurso;
     }
 
@@ -54,10 +61,8 @@ public class RecursoBemEstarDAO {
      */
     public ArrayList<RecursoBemEstarTO> findAll() {
         ArrayList<RecursoBemEstarTO> lista = new ArrayList<>();
-        String sql = "SELECT * FROM T_H_RECURSO_BEM_ESTAR ORDER BY NM_RECURSO";
-
         try (Connection conn = ConnectionFactory.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql);
+             PreparedStatement ps = conn.prepareStatement(SQL_FIND_ALL);
              ResultSet rs = ps.executeQuery()) {
 
             while (rs.next()) {
@@ -74,10 +79,8 @@ public class RecursoBemEstarDAO {
      */
     public RecursoBemEstarTO findById(int id) {
         RecursoBemEstarTO recurso = null;
-        String sql = "SELECT * FROM T_H_RECURSO_BEM_ESTAR WHERE ID_RECURSO = ?";
-
         try (Connection conn = ConnectionFactory.getConnection();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
+             PreparedStatement ps = conn.prepareStatement(SQL_FIND_BY_ID)) {
 
             ps.setInt(1, id);
             try (ResultSet rs = ps.executeQuery()) {
@@ -0,0 +1,53 @@
+package br.com.fiap.dao;
+
+import br.com.fiap.to.RecursoBemEstarTO;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.Tuple;
+
+/**
+ * Data Access Object reativo para as consultas de Recursos de Bem-Estar (cliente reativo Oracle).
+ * As escritas (save/update/delete) permanecem em RecursoBemEstarDAO.
+ */
+public class RecursoBemEstarReativoDAO {
+
+    /**
+     * Emite todos os recursos cadastrados, ordenados pelo nome (NM_RECURSO).
+     * Em caso de erro, o erro é registrado e o fluxo termina sem itens (como em RecursoBemEstarDAO).
+     */
+    public Multi<RecursoBemEstarTO> findAll() {
+        return PoolReativo.getPool().query(RecursoBemEstarDAO.SQL_FIND_ALL).execute()
+                .onItem().transformToMulti(linhas -> Multi.createFrom().iterable(linhas))
+                .map(RecursoBemEstarReativoDAO::mapRowToTO)
+                .onFailure().invoke(e -> System.err.println("Erro ao buscar todos os recursos (reativo): " + e.getMessage()))
+                .onFailure().recoverWithCompletion();
+    }
+
+    /**
+     * Busca um recurso pelo seu ID.
+     * @return Uni com o recurso, ou com null se não encontrado (ou em caso de erro).
+     */
+    public Uni<RecursoBemEstarTO> findById(int id) {
+        return PoolReativo.getPool().preparedQuery(RecursoBemEstarDAO.SQL_FIND_BY_ID).execute(Tuple.of(id))
+                .map(linhas -> {
+                    RowIterator<Row> iterador = linhas.iterator();
+                    return iterador.hasNext() ? mapRowToTO(iterador.next()) : null;
+                })
+                .onFailure().recoverWithItem(e -> {
+                    System.err.println("Erro ao buscar recurso por ID (reativo): " + e.getMessage());
+                    return null;
+                });
+    }
+
+    // Mesmo mapeamento por índice de RecursoBemEstarDAO.mapResultSetToTO (COLUNAS)
+    private static RecursoBemEstarTO mapRowToTO(Row row) {
+        RecursoBemEstarTO recurso = new RecursoBemEstarTO();
+        recurso.setId(row.getInteger(0));
+        recurso.setNome(row.getString(1));
+        recurso.setLink(row.getString(2));
+        recurso.setTipo(row.getString(3));
+        return recurso;
+    }
+}
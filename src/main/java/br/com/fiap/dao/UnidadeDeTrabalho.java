@@ -0,0 +1,136 @@
+package br.com.fiap.dao;
+
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.exception.PersistenciaException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Unidade de Trabalho (Unit of Work) vinculada à thread que atende a requisição.
+ * Enquanto uma unidade está ativa, todos os DAOs recebem a mesma conexão de
+ * ConnectionFactory.getConnection() e participam da mesma transação, que é
+ * confirmada (commit) ou desfeita (rollback) na fronteira do BO.
+ */
+public final class UnidadeDeTrabalho {
+
+    /**
+     * Operação executada dentro da unidade de trabalho.
+     */
+    @FunctionalInterface
+    public interface Operacao<T> {
+        T executar();
+    }
+
+    private static final ThreadLocal<UnidadeDeTrabalho> ATUAL = new ThreadLocal<>();
+
+    private final Connection conexaoCompartilhada;
+    private boolean somenteRollback;
+
+    private UnidadeDeTrabalho(Connection conexao) {
+        this.conexaoCompartilhada = naoFechavel(conexao);
+    }
+
+    /**
+     * Executa a operação em uma única conexão e transação.
+     * Se já houver uma unidade ativa na thread, a operação participa dela.
+     * A transação é desfeita se a operação lançar exceção ou se algum DAO
+     * sinalizar falha através de marcarRollback().
+     * @param operacao A operação de negócio a ser executada.
+     * @return O resultado da operação.
+     * @throws PersistenciaException Se não for possível abrir, confirmar ou desfazer a transação.
+     * @throws BancoIndisponivelException Se a falha ao abrir ou confirmar a transação for de conexão.
+     */
+    public static <T> T executar(Operacao<T> operacao) {
+        if (ATUAL.get() != null) {
+            return operacao.executar();
+        }
+
+        Connection conn;
+        try {
+            conn = ConnectionFactory.getConnection();
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            throw ConnectionFactory.isFalhaDeConexao(e)
+                    ? new BancoIndisponivelException("Banco de dados indisponível ao iniciar a transação: " + e.getMessage(), e)
+                    : new PersistenciaException("Erro ao iniciar a transação: " + e.getMessage(), e);
+        }
+
+        UnidadeDeTrabalho unidade = new UnidadeDeTrabalho(conn);
+        ATUAL.set(unidade);
+        try {
+            T resultado = operacao.executar();
+            if (unidade.somenteRollback) {
+                conn.rollback();
+            } else {
+                conn.commit();
+            }
+            return resultado;
+        } catch (SQLException e) {
+            rollbackSilencioso(conn);
+            throw ConnectionFactory.isFalhaDeConexao(e)
+                    ? new BancoIndisponivelException("Banco de dados indisponível ao confirmar a transação: " + e.getMessage(), e)
+                    : new PersistenciaException("Erro ao confirmar a transação: " + e.getMessage(), e);
+        } catch (RuntimeException | Error e) {
+            rollbackSilencioso(conn);
+            throw e;
+        } finally {
+            ATUAL.remove();
+            devolver(conn);
+        }
+    }
+
+    /**
+     * Sinaliza que a unidade de trabalho ativa deve ser desfeita ao final.
+     * Sem unidade ativa (DAO chamado isoladamente), não tem efeito.
+     */
+    public static void marcarRollback() {
+        UnidadeDeTrabalho unidade = ATUAL.get();
+        if (unidade != null) {
+            unidade.somenteRollback = true;
+        }
+    }
+
+    /**
+     * Retorna a conexão compartilhada da unidade ativa, ou null se não houver unidade.
+     * O close() dessa conexão é ignorado para que o try-with-resources dos DAOs não a encerre.
+     */
+    static Connection conexaoAtual() {
+        UnidadeDeTrabalho unidade = ATUAL.get();
+        return unidade != null ? unidade.conexaoCompartilhada : null;
+    }
+
+    private static Connection naoFechavel(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, metodo, args) -> {
+                    if ("close".equals(metodo.getName())) {
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conn, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private static void rollbackSilencioso(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            System.err.println("Erro ao desfazer a transação: " + e.getMessage());
+        }
+    }
+
+    private static void devolver(Connection conn) {
+        try {
+            conn.setAutoCommit(true);
+            conn.close();
+        } catch (SQLException e) {
+            System.err.println("Erro ao devolver a conexão ao pool: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.fiap.exception;
+
+/**
+ * Exceção de Infraestrutura (Unchecked Exception) utilizada para indicar que
+ * o banco de dados está inacessível (falha de conexão ou de rede), e não que
+ * o comando foi rejeitado. Permite registrar a operação para nova tentativa.
+ */
+public class BancoIndisponivelException extends PersistenciaException {
+
+    public BancoIndisponivelException(String message) {
+        super(message);
+    }
+
+    public BancoIndisponivelException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,17 @@
+package br.com.fiap.exception;
+
+/**
+ * Exceção de Negócio (Unchecked Exception) utilizada para indicar que
+ * o funcionário já registrou o Check-in de Humor na data informada,
+ * violando a regra de unicidade diária (constraint UK_H_HUMOR_FUNC_DATA).
+ */
+public class CheckinDuplicadoException extends RuntimeException {
+
+    public CheckinDuplicadoException(String message) {
+        super(message);
+    }
+
+    public CheckinDuplicadoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
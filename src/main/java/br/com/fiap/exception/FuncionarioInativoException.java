@@ -0,0 +1,17 @@
+package br.com.fiap.exception;
+
+/**
+ * Exceção de Negócio (Unchecked Exception) utilizada para indicar que
+ * o funcionário informado não existe ou foi excluído (DT_EXCLUSAO preenchida)
+ * e, por isso, não pode registrar Check-ins.
+ */
+public class FuncionarioInativoException extends RuntimeException {
+
+    public FuncionarioInativoException(String message) {
+        super(message);
+    }
+
+    public FuncionarioInativoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
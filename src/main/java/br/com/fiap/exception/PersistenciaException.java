@@ -0,0 +1,17 @@
+package br.com.fiap.exception;
+
+/**
+ * Exceção de Infraestrutura (Unchecked Exception) utilizada para indicar que
+ * uma operação transacional não pôde ser concluída no banco de dados
+ * (falha ao obter a conexão, ao confirmar ou ao desfazer a transação).
+ */
+public class PersistenciaException extends RuntimeException {
+
+    public PersistenciaException(String message) {
+        super(message);
+    }
+
+    public PersistenciaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
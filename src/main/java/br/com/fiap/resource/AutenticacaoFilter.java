@@ -0,0 +1,73 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.seguranca.PrincipalSessao;
+import br.com.fiap.seguranca.TokenSessao;
+import br.com.fiap.to.PerfilAcessoTO;
+
+import jakarta.annotation.Priority;
+import jakarta.ws.rs.Priorities;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.security.Principal;
+
+/**
+ * Verifica o token de sessão (Authorization: Bearer) emitido no login.
+ * A verificação é local (assinatura HMAC e expiração), sem consultar T_H_FUNCIONARIO.
+ * Token válido: o perfil (função e equipe) fica disponível no SecurityContext da requisição.
+ * Token inválido ou expirado: 401 UNAUTHORIZED. Sem token: a requisição segue sem principal.
+ */
+@Provider
+@Priority(Priorities.AUTHENTICATION)
+public class AutenticacaoFilter implements ContainerRequestFilter {
+
+    private static final String PREFIXO_BEARER = "Bearer ";
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException {
+
+        String autorizacao = request.getHeaderString(HttpHeaders.AUTHORIZATION);
+        if (autorizacao == null || !autorizacao.regionMatches(true, 0, PREFIXO_BEARER, 0, PREFIXO_BEARER.length())) {
+            return;
+        }
+
+        PerfilAcessoTO perfil = TokenSessao.verificar(autorizacao.substring(PREFIXO_BEARER.length()).strip());
+        if (perfil == null) {
+            request.abortWith(Response.status(Response.Status.UNAUTHORIZED)
+                    .header(HttpHeaders.WWW_AUTHENTICATE, "Bearer")
+                    .entity("Token de sessão inválido ou expirado. Realize o login novamente.")
+                    .build());
+            return;
+        }
+
+        SecurityContext original = request.getSecurityContext();
+        PrincipalSessao principal = new PrincipalSessao(perfil);
+
+        request.setSecurityContext(new SecurityContext() {
+            @Override
+            public Principal getUserPrincipal() {
+                return principal;
+            }
+
+            @Override
+            public boolean isUserInRole(String role) {
+                // Papéis correspondem ao ID_FUNCAO (Ex: "5" = RH)
+                return String.valueOf(perfil.getIdFuncao()).equals(role);
+            }
+
+            @Override
+            public boolean isSecure() {
+                return original != null && original.isSecure();
+            }
+
+            @Override
+            public String getAuthenticationScheme() {
+                return "Bearer";
+            }
+        });
+    }
+}
@@ -0,0 +1,129 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.cache.RespostaJsonPreSerializada;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Implementa a validação de cache HTTP (ETag e Cache-Control) para as respostas GET.
+ * Respostas 200 sem ETag recebem um ETag forte calculado pelo hash (SHA-256) do conteúdo;
+ * o corpo serializado para o hash é o mesmo enviado ao cliente (sem serializar duas vezes).
+ * Respostas que já definem o ETag (versão própria, como os favoritos, ou JSON pré-serializado,
+ * como as listas de referência) são mantidas, sem novo hash.
+ * Com If-None-Match igual ao ETag, a resposta vira 304 NOT MODIFIED, sem corpo.
+ * O Cache-Control é definido por endpoint (quando o Resource não o definiu):
+ * dados de referência (/recursos, /equipes, /funcoes) podem ser reutilizados por humanize.http.cache.referencia.max-age-segundos;
+ * as demais respostas são privadas e revalidadas a cada uso; as métricas nunca são armazenadas.
+ */
+@Provider
+public class CacheHttpFilter implements ContainerResponseFilter {
+
+    private static final int MAX_AGE_REFERENCIA = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.http.cache.referencia.max-age-segundos", Integer.class).orElse(300);
+
+    private static final List<String> ENDPOINTS_REFERENCIA = List.of("recursos", "equipes", "funcoes");
+
+    private static final String POLITICA_REFERENCIA = "public, max-age=" + MAX_AGE_REFERENCIA;
+    private static final String POLITICA_PRIVADA = "private, no-cache";
+    private static final String POLITICA_SEM_ARMAZENAMENTO = "no-store";
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Override
+    public void filter(ContainerRequestContext request,
+                       ContainerResponseContext response) throws IOException {
+
+        if (!"GET".equals(request.getMethod()) || response.getStatus() != Response.Status.OK.getStatusCode()) {
+            return;
+        }
+
+        String politica = politicaCache(request.getUriInfo().getPath());
+        if (response.getHeaderString(HttpHeaders.CACHE_CONTROL) == null) {
+            response.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, politica);
+        }
+        if (POLITICA_SEM_ARMAZENAMENTO.equals(politica) || !response.hasEntity()) {
+            return;
+        }
+
+        String etag = response.getHeaderString(HttpHeaders.ETAG);
+        if (etag == null) {
+            byte[] corpo = serializar(response.getEntity());
+            if (corpo == null) {
+                return; // Corpo em streaming (exportação): sem ETag
+            }
+            // O corpo já serializado segue para o cliente, sem uma segunda serialização
+            response.setEntity(corpo, response.getEntityAnnotations(), response.getMediaType());
+            etag = RespostaJsonPreSerializada.etagForte(corpo);
+            response.getHeaders().putSingle(HttpHeaders.ETAG, etag);
+        }
+
+        if (corresponde(request.getHeaderString(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(Response.Status.NOT_MODIFIED.getStatusCode());
+            response.setEntity(null);
+            response.getHeaders().remove(HttpHeaders.CONTENT_ENCODING);
+        }
+    }
+
+    // Método auxiliar: Política de Cache-Control pelo primeiro segmento do caminho
+    private static String politicaCache(String caminho) {
+        String semBarra = caminho.startsWith("/") ? caminho.substring(1) : caminho;
+        int fim = semBarra.indexOf('/');
+        String endpoint = fim < 0 ? semBarra : semBarra.substring(0, fim);
+
+        if (ENDPOINTS_REFERENCIA.contains(endpoint)) {
+            return POLITICA_REFERENCIA;
+        }
+        if ("metricas".equals(endpoint)) {
+            return POLITICA_SEM_ARMAZENAMENTO;
+        }
+        return POLITICA_PRIVADA;
+    }
+
+    // Método auxiliar: Bytes do corpo (JSON pelo mesmo ObjectMapper do Quarkus); null para corpos em streaming
+    private byte[] serializar(Object entidade) throws IOException {
+        if (entidade instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (entidade instanceof String texto) {
+            return texto.getBytes(StandardCharsets.UTF_8);
+        }
+        if (entidade instanceof StreamingOutput || entidade instanceof InputStream) {
+            return null;
+        }
+        return objectMapper.writeValueAsBytes(entidade);
+    }
+
+    // Método auxiliar: Compara o If-None-Match (lista, "*" ou ETags fracos W/) com o ETag da resposta.
+    // If-None-Match usa comparação fraca: proxies que comprimem a resposta enfraquecem o ETag.
+    private static boolean corresponde(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String valor = semPrefixoFraco(etag);
+        for (String candidato : ifNoneMatch.split(",")) {
+            String tag = candidato.strip();
+            if ("*".equals(tag) || semPrefixoFraco(tag).equals(valor)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String semPrefixoFraco(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
@@ -1,124 +1,321 @@
 package br.com.fiap.resource;
 
 import br.com.fiap.bo.CheckinHumorBO;
+import br.com.fiap.bo.FilaCheckinHumor;
 import br.com.fiap.bo.FuncionarioBO;
 import br.com.fiap.to.CheckinHumorTO;
-import br.com.fiap.to.RelatorioHumorTO;
 import br.com.fiap.to.CheckinHumorAnonimoTO;
-import br.com.fiap.to.FuncionarioTO;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.PerfilAcessoTO;
+import br.com.fiap.to.ResultadoLoteTO;
 import br.com.fiap.exception.AcessoNegadoException;
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.exception.CheckinDuplicadoException;
+import br.com.fiap.exception.FuncionarioInativoException;
+import br.com.fiap.exception.PersistenciaException;
+import br.com.fiap.seguranca.PrincipalSessao;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DefaultValue;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Gerencia o endpoint RESTful (/checkins) para o Questionário de Humor,
  * controlando o registro e a consulta analítica dos dados.
  */
+@RunOnVirtualThread
 @Path("/checkins")
 public class CheckinHumorResource {
 
     private final CheckinHumorBO bo = new CheckinHumorBO();
     private final FuncionarioBO funcionarioBO = new FuncionarioBO();
 
-    // ID de Funções que têm acesso ao Dashboard (Gestores: 3, 4; RH: 5)
-    private static final int ID_FUNCAO_RH = 5;
-    private static final int ID_FUNCAO_TECH_LEAD = 3;
-    private static final int ID_FUNCAO_GERENTE = 4;
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    private static final String MEDIA_TYPE_CSV = "text/csv";
+    private static final int TAMANHO_BUFFER_EXPORTACAO = 64 * 1024;
+    private static final int SEGUNDOS_NOVA_TENTATIVA_BANCO = 30;
 
     /**
      * Registra o check-in de humor do funcionário.
-     * @return 201 CREATED (Sucesso) ou 400 BAD REQUEST (Check-in duplicado ou validação).
+     * No modo write-behind (humanize.checkin.write-behind.habilitado), o check-in é apenas enfileirado
+     * e gravado em lote em segundo plano.
+     * Com o banco inacessível, o check-in é gravado no diário local (humanize.checkin.diario.habilitado)
+     * e reaplicado no banco quando a conexão voltar.
+     * @return 201 CREATED (Sucesso), 202 ACCEPTED (Enfileirado ou gravado no diário), 409 CONFLICT (Check-in duplicado),
+     * 404 NOT FOUND (Funcionário inexistente ou excluído), 400 BAD REQUEST (Validação), 503 SERVICE UNAVAILABLE (Fila cheia ou banco indisponível)
+     * ou 500 INTERNAL SERVER ERROR (Falha de persistência).
      */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
     public Response save(@Valid CheckinHumorTO checkin) {
 
-        CheckinHumorTO resultado = bo.save(checkin);
+        if (bo.isGravacaoAssincrona()) {
+            return enfileirar(checkin);
+        }
+
+        CheckinHumorTO resultado;
+
+        try {
+            resultado = bo.save(checkin);
+        } catch (CheckinDuplicadoException e) {
+            // Falha na regra de negócio (Check-in duplicado na data)
+            return Response.status(Response.Status.CONFLICT)
+                    .entity("Erro ao registrar check-in. " + e.getMessage())
+                    .build();
+        } catch (FuncionarioInativoException e) {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Erro ao registrar check-in. " + e.getMessage())
+                    .build();
+        } catch (BancoIndisponivelException e) {
+            // Banco fora do ar: o check-in não é perdido se puder ser gravado no diário local
+            if (bo.registrarNoDiario(checkin)) {
+                return Response.accepted(checkin).build();
+            }
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, SEGUNDOS_NOVA_TENTATIVA_BANCO)
+                    .entity("Serviço temporariamente indisponível. Tente registrar o check-in novamente em instantes.")
+                    .build();
+        }
 
         if (resultado != null) {
             // Sucesso na criação: 201 CREATED
             return Response.created(null).entity(resultado).build();
         } else {
-            // Falha na regra de negócio (Check-in duplicado)
-            return Response.status(Response.Status.BAD_REQUEST)
-                    .entity("Erro ao registrar check-in. Você já registrou o humor para esta data.")
+            // Falha na persistência (retorno null do DAO/BO)
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("Erro ao registrar check-in. Tente novamente mais tarde.")
                     .build();
         }
     }
 
     /**
-     * Retorna os dados agregados (média de humor por equipe) para visualização no Dashboard.
-     * Implementa filtro de visualização por perfil (Gestor/RH).
-     * @param funcionarioId ID do funcionário logado.
-     * @return 200 OK (com lista filtrada) ou 403 FORBIDDEN (sem permissão).
+     * Registra vários check-ins em uma única requisição (kiosks e apps offline).
+     * O corpo é um array JSON lido em streaming: cada elemento é validado e os válidos
+     * são persistidos em lotes JDBC de tamanho configurável (humanize.checkin.lote.tamanho).
+     * Cada lote é confirmado separadamente: se um lote falhar, os anteriores permanecem gravados
+     * e os itens seguintes são apenas lidos e marcados como NAO_PROCESSADO no relatório.
+     * Path: POST /checkins/lote
+     * @return 200 OK (com o resultado de cada item: CRIADO, DUPLICADO ou INVALIDO), 400 BAD REQUEST (JSON inválido),
+     *         ou o relatório com os itens NAO_PROCESSADO: 503 SERVICE UNAVAILABLE (banco inacessível) ou 500 (outra falha).
      */
-    @GET
-    @Path("/analise/{funcionarioId}")
+    @POST
+    @Path("/lote")
+    @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Response getDashboardAnalysis(@PathParam("funcionarioId") int funcionarioId) {
+    public Response saveLote(InputStream corpo) {
+
+        ArrayList<ResultadoLoteTO> resultados = new ArrayList<>();
+        List<CheckinHumorTO> pendentes = new ArrayList<>();
+        List<ResultadoLoteTO> resultadosPendentes = new ArrayList<>();
+        int tamanhoLote = bo.getTamanhoLote();
+        PersistenciaException interrupcao = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(corpo)) {
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                return Response.status(Response.Status.BAD_REQUEST)
+                        .entity("O corpo da requisição deve ser um array JSON de check-ins.")
+                        .build();
+            }
+
+            int indice = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                if (token == null) {
+                    throw new IOException("array JSON incompleto.");
+                }
+                JsonNode elemento = objectMapper.readTree(parser);
+                ResultadoLoteTO resultado = new ResultadoLoteTO(indice++, null, null);
+                resultados.add(resultado);
+
+                // Lote interrompido: os itens restantes apenas entram no relatório
+                if (interrupcao != null) {
+                    resultado.setStatus(ResultadoLoteTO.NAO_PROCESSADO);
+                    resultado.setMensagem("Lote interrompido: " + interrupcao.getMessage());
+                    continue;
+                }
 
-        // Valida e Busca o Perfil do Solicitante
-        FuncionarioTO solicitante = funcionarioBO.findByCodigo(funcionarioId);
+                CheckinHumorTO checkin;
+                try {
+                    checkin = objectMapper.treeToValue(elemento, CheckinHumorTO.class);
+                } catch (JsonProcessingException e) {
+                    checkin = null;
+                }
+                if (checkin == null) { // Formato inválido ou elemento null
+                    resultado.setStatus(ResultadoLoteTO.INVALIDO);
+                    resultado.setMensagem("Check-in com formato inválido.");
+                    continue;
+                }
 
-        if (solicitante == null) {
-            return Response.status(Response.Status.UNAUTHORIZED)
-                    .entity("Usuário não autenticado ou não encontrado.")
+                // Mesma validação do endpoint individual (@Valid)
+                Set<ConstraintViolation<CheckinHumorTO>> violacoes = validator.validate(checkin);
+                if (!violacoes.isEmpty()) {
+                    resultado.setStatus(ResultadoLoteTO.INVALIDO);
+                    resultado.setMensagem(violacoes.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .collect(Collectors.joining(" ")));
+                    continue;
+                }
+
+                pendentes.add(checkin);
+                resultadosPendentes.add(resultado);
+
+                if (pendentes.size() == tamanhoLote) {
+                    interrupcao = persistirLote(pendentes, resultadosPendentes);
+                }
+            }
+            if (interrupcao == null) {
+                interrupcao = persistirLote(pendentes, resultadosPendentes);
+            }
+
+        } catch (JsonProcessingException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("JSON inválido no item " + resultados.size() + " do lote: " + e.getOriginalMessage())
+                    .build();
+        } catch (IOException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Erro ao ler o lote de check-ins: " + e.getMessage())
                     .build();
         }
 
-        int idFuncao = solicitante.getIdFuncao();
-        int idEquipe = solicitante.getEquipeId();
-
-        // Define Permissão de Acesso ao Dashboard (Apenas RH e Gestores)
-        if (idFuncao != ID_FUNCAO_RH && idFuncao != ID_FUNCAO_TECH_LEAD && idFuncao != ID_FUNCAO_GERENTE) {
-            return Response.status(Response.Status.FORBIDDEN)
-                    .entity("Acesso negado. Apenas gestores e RH podem visualizar o dashboard de análise.")
+        // Lotes anteriores já confirmados: o relatório indica o que foi e o que não foi gravado
+        if (interrupcao instanceof BancoIndisponivelException) {
+            return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, SEGUNDOS_NOVA_TENTATIVA_BANCO)
+                    .entity(resultados)
                     .build();
         }
+        if (interrupcao != null) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(resultados).build();
+        }
+        return Response.ok(resultados).build();
+    }
 
-        // Busca Dados Agregados
-        ArrayList<RelatorioHumorTO> listaCompleta = bo.consultarRelatorioHumor();
+    // Método auxiliar: Enfileira o check-in para gravação assíncrona (202) ou sinaliza fila cheia (503 + Retry-After)
+    private Response enfileirar(CheckinHumorTO checkin) {
+        boolean aceito;
 
-        if (listaCompleta == null || listaCompleta.isEmpty()) {
+        try {
+            aceito = bo.enfileirar(checkin);
+        } catch (CheckinDuplicadoException e) {
+            return Response.status(Response.Status.CONFLICT)
+                    .entity("Erro ao registrar check-in. " + e.getMessage())
+                    .build();
+        } catch (FuncionarioInativoException e) {
             return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Nenhum dado de análise encontrado para o Dashboard.")
+                    .entity("Erro ao registrar check-in. " + e.getMessage())
                     .build();
         }
 
-        List<RelatorioHumorTO> listaFiltrada;
+        if (aceito) {
+            return Response.accepted(checkin).build();
+        }
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, FilaCheckinHumor.getSegundosNovaTentativa())
+                .entity("Muitos check-ins sendo registrados no momento. Tente novamente em instantes.")
+                .build();
+    }
 
-        // Aplica Lógica de Filtragem por Perfil
-        if (idFuncao == ID_FUNCAO_RH) {
-            // Perfil RH (ID_FUNCAO = 5): Acesso a Todas as Equipes
-            listaFiltrada = listaCompleta;
+    // Método auxiliar: Persiste os check-ins pendentes e preenche o status de cada item.
+    // Se o lote falhar, seus itens ficam como NAO_PROCESSADO e a falha é retornada (null se gravado).
+    private PersistenciaException persistirLote(List<CheckinHumorTO> pendentes, List<ResultadoLoteTO> resultadosPendentes) {
+        if (pendentes.isEmpty()) {
+            return null;
+        }
 
-        } else {
-            // Perfil Gestor (ID_FUNCAO = 3 ou 4): Acesso Apenas à Sua Equipe
-            listaFiltrada = listaCompleta.stream()
-                    .filter(relatorio -> relatorio.getEquipeId() == idEquipe)
-                    .collect(Collectors.toList());
+        PersistenciaException interrupcao = null;
+        try {
+            ArrayList<String> status = bo.salvarLote(pendentes);
+            for (int i = 0; i < status.size(); i++) {
+                resultadosPendentes.get(i).setStatus(status.get(i));
+                if (ResultadoLoteTO.INVALIDO.equals(status.get(i))) {
+                    resultadosPendentes.get(i).setMensagem("Funcionário não encontrado ou inativo.");
+                }
+            }
+        } catch (PersistenciaException e) {
+            interrupcao = e;
+            for (ResultadoLoteTO resultado : resultadosPendentes) {
+                resultado.setStatus(ResultadoLoteTO.NAO_PROCESSADO);
+                resultado.setMensagem("Lote interrompido: " + e.getMessage());
+            }
         }
 
-        // Retorna Resultado
-        if (!listaFiltrada.isEmpty()) {
-            return Response.ok(listaFiltrada).build();
-        } else {
-            return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Nenhum dado de análise encontrado para o seu perfil/equipe.")
+        pendentes.clear();
+        resultadosPendentes.clear();
+        return interrupcao;
+    }
+
+    // Método auxiliar: Perfil do token de sessão ou, sem token, busca pelo ID informado na URL (cache)
+    private PerfilAcessoTO resolverSolicitante(SecurityContext seguranca, int solicitanteId) {
+        return PrincipalSessao.resolverSolicitante(seguranca, solicitanteId, funcionarioBO::buscarPerfilAcesso);
+    }
+
+    /**
+     * Recalcula do zero os agregados do Dashboard a partir do histórico de check-ins.
+     * Implementa a REGRA: Apenas RH pode executar.
+     * Path: POST /checkins/agregados/reconstruir/{solicitanteId}
+     * @return 204 NO CONTENT (Sucesso), 403 FORBIDDEN (sem permissão) ou 500 INTERNAL SERVER ERROR (Falha).
+     */
+    @POST
+    @Path("/agregados/reconstruir/{solicitanteId}")
+    public Response reconstruirAgregados(@PathParam("solicitanteId") int solicitanteId,
+                                         @Context SecurityContext seguranca) {
+
+        try {
+            if (bo.reconstruirAgregados(resolverSolicitante(seguranca, solicitanteId))) {
+                return Response.noContent().build();
+            }
+        } catch (AcessoNegadoException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(e.getMessage())
                     .build();
         }
+
+        return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                .entity("Erro ao reconstruir os agregados do Dashboard.")
+                .build();
     }
 
     /**
@@ -130,13 +327,14 @@ public class CheckinHumorResource {
     @GET
     @Path("/{solicitanteId}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll(@PathParam("solicitanteId") int solicitanteId) {
+    public Response findAll(@PathParam("solicitanteId") int solicitanteId,
+                            @Context SecurityContext seguranca) {
 
         ArrayList<CheckinHumorAnonimoTO> lista;
 
         try {
             // Chama o método BO que retorna a lista sem o ID_FUNC
-            lista = bo.findAllAnonimo(solicitanteId);
+            lista = bo.findAllAnonimo(resolverSolicitante(seguranca, solicitanteId));
 
         } catch (AcessoNegadoException e) {
             // Captura exceção de Autorização e retorna 403 FORBIDDEN
@@ -155,4 +353,147 @@ public class CheckinHumorResource {
                     .build();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Retorna uma página do histórico BRUTO de check-ins, paginada por cursor (keyset).
+     * Implementa a REGRA: Apenas RH pode consultar. O DTO de retorno é ANONIMIZADO.
+     * Path: GET /checkins/{solicitanteId}/pagina?cursor=&limite=&de=&ate=
+     * @param solicitanteId ID do funcionário que está requisitando o histórico.
+     * @param cursor Token retornado em proximoCursor da página anterior (ausente na primeira página).
+     * @param limite Tamanho da página (padrão 100, com teto configurável).
+     * @param de Data inicial (inclusiva, yyyy-MM-dd) opcional.
+     * @param ate Data final (inclusiva, yyyy-MM-dd) opcional.
+     * @return 200 OK (com a página), 400 BAD REQUEST (cursor inválido), 403 FORBIDDEN (sem permissão)
+     * ou 500 INTERNAL SERVER ERROR (falha na consulta).
+     */
+    @GET
+    @Path("/{solicitanteId}/pagina")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response findPagina(@PathParam("solicitanteId") int solicitanteId,
+                               @QueryParam("cursor") String cursor,
+                               @QueryParam("limite") Integer limite,
+                               @QueryParam("de") LocalDate de,
+                               @QueryParam("ate") LocalDate ate,
+                               @Context SecurityContext seguranca) {
+
+        try {
+            PaginaTO<CheckinHumorAnonimoTO> pagina = bo.findAnonimoPaginado(
+                    resolverSolicitante(seguranca, solicitanteId), cursor, limite, de, ate);
+
+            if (pagina == null) {
+                // Falha na consulta: não pode ser confundida com o fim do histórico
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                        .entity("Erro ao consultar o histórico de check-ins. Tente novamente mais tarde.")
+                        .build();
+            }
+            return Response.ok(pagina).build();
+
+        } catch (AcessoNegadoException e) {
+            // Captura exceção de Autorização e retorna 403 FORBIDDEN
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(e.getMessage())
+                    .build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    /**
+     * Exporta o histórico BRUTO completo de check-ins (auditoria) em streaming, como NDJSON ou CSV.
+     * Os registros são escritos na resposta à medida que são lidos do banco, com memória constante.
+     * Implementa a REGRA: Apenas RH pode consultar. A projeção é a mesma ANONIMIZADA do histórico.
+     * Path: GET /checkins/{solicitanteId}/exportacao?formato=ndjson|csv
+     * @return 200 OK (com o arquivo), 400 BAD REQUEST (formato inválido) ou 403 FORBIDDEN (sem permissão).
+     */
+    @GET
+    @Path("/{solicitanteId}/exportacao")
+    @Produces({ MEDIA_TYPE_NDJSON, MEDIA_TYPE_CSV })
+    public Response exportar(@PathParam("solicitanteId") int solicitanteId,
+                             @QueryParam("formato") @DefaultValue("ndjson") String formato,
+                             @Context SecurityContext seguranca) {
+
+        boolean csv = "csv".equalsIgnoreCase(formato);
+        if (!csv && !"ndjson".equalsIgnoreCase(formato)) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Formato de exportação inválido. Utilize ndjson ou csv.")
+                    .build();
+        }
+
+        try {
+            // A autorização é validada antes de iniciar o streaming da resposta
+            bo.validarAcessoHistorico(resolverSolicitante(seguranca, solicitanteId));
+        } catch (AcessoNegadoException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(e.getMessage())
+                    .build();
+        }
+
+        StreamingOutput saida = csv ? this::escreverCsv : this::escreverNdjson;
+
+        return Response.ok(saida, csv ? MEDIA_TYPE_CSV : MEDIA_TYPE_NDJSON)
+                .header("Content-Disposition", "attachment; filename=\"historico-checkins." + (csv ? "csv" : "ndjson") + "\"")
+                .build();
+    }
+
+    // Método auxiliar: Uma linha JSON por check-in (NDJSON)
+    private void escreverNdjson(OutputStream destino) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(CheckinHumorAnonimoTO.class);
+        BufferedOutputStream out = new BufferedOutputStream(destino, TAMANHO_BUFFER_EXPORTACAO);
+
+        bo.exportarAnonimo(checkin -> {
+            out.write(writer.writeValueAsBytes(checkin));
+            out.write('\n');
+        });
+        out.flush();
+    }
+
+    // Método auxiliar: Cabeçalho + uma linha CSV por check-in
+    private void escreverCsv(OutputStream destino) throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8), TAMANHO_BUFFER_EXPORTACAO);
+
+        out.write("id,dataCheckin,nivelEnergia,sentimento,volumeDemandas,bloqueios,desconexao,"
+                + "nivelConexao,qualidadeInteracao,qualidadeSono,statusPausas,pequenoGanho\n");
+
+        bo.exportarAnonimo(checkin -> {
+            out.write(String.valueOf(checkin.getId()));
+            out.write(',');
+            out.write(String.valueOf(checkin.getDataCheckin()));
+            out.write(',');
+            out.write(String.valueOf(checkin.getNivelEnergia()));
+            out.write(',');
+            out.write(campoCsv(checkin.getSentimento()));
+            out.write(',');
+            out.write(campoCsv(checkin.getVolumeDemandas()));
+            out.write(',');
+            out.write(campoCsv(checkin.getBloqueios()));
+            out.write(',');
+            out.write(campoCsv(checkin.getDesconexao()));
+            out.write(',');
+            out.write(String.valueOf(checkin.getNivelConexao()));
+            out.write(',');
+            out.write(campoCsv(checkin.getQualidadeInteracao()));
+            out.write(',');
+            out.write(campoCsv(checkin.getQualidadeSono()));
+            out.write(',');
+            out.write(campoCsv(checkin.getStatusPausas()));
+            out.write(',');
+            out.write(campoCsv(checkin.getPequenoGanho()));
+            out.write('\n');
+        });
+        out.flush();
+    }
+
+    // Método auxiliar: Escapa um campo texto conforme RFC 4180 (aspas, vírgulas e quebras de linha)
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0 || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+}
@@ -22,7 +22,10 @@ public class CorsFilter implements ContainerResponseFilter {
         response.getHeaders().add("Access-Control-Allow-Origin", "*");
 
         // Define os cabeçalhos permitidos na requisição
-        response.getHeaders().add("Access-Control-Allow-Headers", "origin, content-type, accept, authorization");
+        response.getHeaders().add("Access-Control-Allow-Headers", "origin, content-type, accept, authorization, if-none-match");
+
+        // Expõe ao Front-End o token de sessão emitido no login e o ETag (GET condicional, CacheHttpFilter)
+        response.getHeaders().add("Access-Control-Expose-Headers", FuncionarioResource.CABECALHO_TOKEN + ", ETag");
 
         // Permite o envio de credenciais (se necessário)
         response.getHeaders().add("Access-Control-Allow-Credentials", "true");
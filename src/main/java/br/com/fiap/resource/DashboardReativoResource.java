@@ -0,0 +1,128 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.bo.CheckinHumorBO;
+import br.com.fiap.bo.FuncionarioBO;
+import br.com.fiap.seguranca.PrincipalSessao;
+import br.com.fiap.to.PerfilAcessoTO;
+import br.com.fiap.to.SerieHumorEquipeTO;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Variante reativa do endpoint RESTful (/checkins/analise), ativa quando humanize.acesso-dados = reativo.
+ * O Dashboard e a série temporal são atendidos no event loop pelo cliente reativo Oracle;
+ * o relatório do questionário (GROUPING SETS sobre o histórico bruto) continua no JDBC, em worker thread.
+ * Mesmas regras de acesso de DashboardResource.
+ */
+@IfBuildProperty(name = "humanize.acesso-dados", stringValue = "reativo")
+@Path("/checkins/analise")
+public class DashboardReativoResource {
+
+    private final CheckinHumorBO bo = new CheckinHumorBO();
+    private final FuncionarioBO funcionarioBO = new FuncionarioBO();
+    private final DashboardResource bloqueante = new DashboardResource();
+
+    /**
+     * Retorna os dados agregados (média de humor por equipe) para visualização no Dashboard.
+     * @param funcionarioId ID do funcionário logado.
+     * @return 200 OK (com lista filtrada), 401, 403 FORBIDDEN (sem permissão), 404 ou 500 (erro de banco).
+     */
+    @GET
+    @Path("/{funcionarioId}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<Response> getDashboardAnalysis(@PathParam("funcionarioId") int funcionarioId,
+                                              @Context SecurityContext seguranca) {
+
+        return resolverSolicitante(seguranca, funcionarioId).chain(solicitante -> {
+            Response acessoNegado = DashboardResource.validarAcessoDashboard(solicitante);
+            if (acessoNegado != null) {
+                return Uni.createFrom().item(acessoNegado);
+            }
+
+            // RH: todas as equipes (null); Gestores: apenas a própria equipe
+            Integer equipeId = solicitante.getIdFuncao() == DashboardResource.ID_FUNCAO_RH ? null : solicitante.getEquipeId();
+
+            return bo.consultarRelatorioHumorReativo(equipeId).map(lista -> {
+                if (lista == null) {
+                    return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                            .entity("Erro ao consultar a análise de humor.")
+                            .build();
+                }
+                return !lista.isEmpty()
+                        ? Response.ok(lista).build()
+                        : Response.status(Response.Status.NOT_FOUND)
+                                .entity("Nenhum dado de análise encontrado para o seu perfil/equipe.")
+                                .build();
+            });
+        });
+    }
+
+    /**
+     * Endpoint para a série temporal do Dashboard (tendência por dia, semana ISO ou mês).
+     * @return 200 OK (séries), 400 BAD REQUEST (parâmetros inválidos), 403 FORBIDDEN ou 500.
+     */
+    @GET
+    @Path("/{funcionarioId}/serie")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<Response> getDashboardSerie(@PathParam("funcionarioId") int funcionarioId,
+                                           @QueryParam("de") LocalDate de,
+                                           @QueryParam("ate") LocalDate ate,
+                                           @QueryParam("granularidade") String granularidade,
+                                           @Context SecurityContext seguranca) {
+
+        return resolverSolicitante(seguranca, funcionarioId).chain(solicitante -> {
+            Response acessoNegado = DashboardResource.validarAcessoDashboard(solicitante);
+            if (acessoNegado != null) {
+                return Uni.createFrom().item(acessoNegado);
+            }
+
+            Integer equipeId = solicitante.getIdFuncao() == DashboardResource.ID_FUNCAO_RH ? null : solicitante.getEquipeId();
+
+            Uni<ArrayList<SerieHumorEquipeTO>> series;
+            try {
+                series = bo.consultarSerieHumorReativo(equipeId, de, ate, granularidade);
+            } catch (IllegalArgumentException e) {
+                return Uni.createFrom().item(Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build());
+            }
+
+            return series.map(lista -> lista != null
+                    ? Response.ok(lista).build()
+                    : Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                            .entity("Erro ao consultar a série de humor.")
+                            .build());
+        });
+    }
+
+    /**
+     * Relatório completo do questionário: executado pela implementação JDBC, fora do event loop.
+     * @see DashboardResource#getDashboardQuestionario
+     */
+    @GET
+    @Path("/{funcionarioId}/questionario")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Blocking
+    public Response getDashboardQuestionario(@PathParam("funcionarioId") int funcionarioId,
+                                             @QueryParam("de") LocalDate de,
+                                             @QueryParam("ate") LocalDate ate,
+                                             @Context SecurityContext seguranca) {
+        return bloqueante.getDashboardQuestionario(funcionarioId, de, ate, seguranca);
+    }
+
+    // Método auxiliar: Perfil do token de sessão ou, sem token, busca reativa pelo ID informado na URL (cache)
+    private Uni<PerfilAcessoTO> resolverSolicitante(SecurityContext seguranca, int solicitanteId) {
+        return PrincipalSessao.resolverSolicitanteReativo(seguranca, solicitanteId, funcionarioBO::buscarPerfilAcessoReativo);
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.bo.CheckinHumorBO;
+import br.com.fiap.bo.FuncionarioBO;
+import br.com.fiap.seguranca.PrincipalSessao;
+import br.com.fiap.to.PerfilAcessoTO;
+import br.com.fiap.to.RelatorioHumorTO;
+import br.com.fiap.to.RelatorioQuestionarioTO;
+import br.com.fiap.to.SerieHumorEquipeTO;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.SecurityContext;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+/**
+ * Gerencia o endpoint RESTful (/checkins/analise) do Dashboard de análise do Questionário de Humor.
+ * Implementação bloqueante (JDBC), ativa quando humanize.acesso-dados = bloqueante (padrão).
+ * A variante reativa é DashboardReativoResource.
+ */
+@IfBuildProperty(name = "humanize.acesso-dados", stringValue = "bloqueante", enableIfMissing = true)
+@RunOnVirtualThread
+@Path("/checkins/analise")
+public class DashboardResource {
+
+    private final CheckinHumorBO bo = new CheckinHumorBO();
+    private final FuncionarioBO funcionarioBO = new FuncionarioBO();
+
+    // ID de Funções que têm acesso ao Dashboard (Gestores: 3, 4; RH: 5)
+    static final int ID_FUNCAO_RH = 5;
+    private static final int ID_FUNCAO_TECH_LEAD = 3;
+    private static final int ID_FUNCAO_GERENTE = 4;
+
+    /**
+     * Retorna os dados agregados (média de humor por equipe) para visualização no Dashboard.
+     * Implementa filtro de visualização por perfil (Gestor/RH).
+     * @param funcionarioId ID do funcionário logado.
+     * @return 200 OK (com lista filtrada), 403 FORBIDDEN (sem permissão), 404 ou 500 (erro de banco).
+     */
+    @GET
+    @Path("/{funcionarioId}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getDashboardAnalysis(@PathParam("funcionarioId") int funcionarioId,
+                                         @Context SecurityContext seguranca) {
+
+        // Valida o Perfil do Solicitante (do token de sessão, sem acesso ao banco)
+        PerfilAcessoTO solicitante = resolverSolicitante(seguranca, funcionarioId);
+        Response acessoNegado = validarAcessoDashboard(solicitante);
+        if (acessoNegado != null) {
+            return acessoNegado;
+        }
+
+        int idFuncao = solicitante.getIdFuncao();
+        int idEquipe = solicitante.getEquipeId();
+
+        ArrayList<RelatorioHumorTO> lista;
+
+        // Busca Dados Agregados com o filtro de perfil aplicado no SQL
+        if (idFuncao == ID_FUNCAO_RH) {
+            // Perfil RH (ID_FUNCAO = 5): Acesso a Todas as Equipes
+            lista = bo.consultarRelatorioHumor();
+
+        } else {
+            // Perfil Gestor (ID_FUNCAO = 3 ou 4): Acesso Apenas à Sua Equipe
+            lista = bo.consultarRelatorioHumorEquipe(idEquipe);
+        }
+
+        // Retorna Resultado (null: erro de persistência, e não ausência de dados)
+        if (lista == null) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity("Erro ao consultar a análise de humor.")
+                    .build();
+        }
+        if (!lista.isEmpty()) {
+            return Response.ok(lista).build();
+        } else {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Nenhum dado de análise encontrado para o seu perfil/equipe.")
+                    .build();
+        }
+    }
+
+    /**
+     * Endpoint para a série temporal do Dashboard (tendência por dia, semana ISO ou mês).
+     * Mesmo filtro de perfil do Dashboard: RH vê todas as equipes, Gestores apenas a sua.
+     * Lido do rollup diário por equipe, sem varrer o histórico bruto de Check-ins.
+     * @param funcionarioId ID do funcionário logado.
+     * @param de Primeiro dia do intervalo (opcional, padrão: 90 dias antes de 'ate'); por semana ou mês, alinhado ao início do período.
+     * @param ate Último dia do intervalo (opcional, padrão: hoje).
+     * @param granularidade "dia", "semana" ou "mes" (opcional, padrão "dia").
+     * @return 200 OK (séries), 400 BAD REQUEST (parâmetros inválidos), 403 FORBIDDEN ou 500.
+     */
+    @GET
+    @Path("/{funcionarioId}/serie")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getDashboardSerie(@PathParam("funcionarioId") int funcionarioId,
+                                      @QueryParam("de") LocalDate de,
+                                      @QueryParam("ate") LocalDate ate,
+                                      @QueryParam("granularidade") String granularidade,
+                                      @Context SecurityContext seguranca) {
+
+        PerfilAcessoTO solicitante = resolverSolicitante(seguranca, funcionarioId);
+        Response acessoNegado = validarAcessoDashboard(solicitante);
+        if (acessoNegado != null) {
+            return acessoNegado;
+        }
+
+        // RH: todas as equipes (null); Gestores: apenas a própria equipe
+        Integer equipeId = solicitante.getIdFuncao() == ID_FUNCAO_RH ? null : solicitante.getEquipeId();
+
+        try {
+            ArrayList<SerieHumorEquipeTO> series = bo.consultarSerieHumor(equipeId, de, ate, granularidade);
+            if (series == null) {
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                        .entity("Erro ao consultar a série de humor.")
+                        .build();
+            }
+            return Response.ok(series).build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * Endpoint para o relatório completo do questionário no Dashboard.
+     * Retorna, por equipe, as médias de energia e conexão e a distribuição de cada resposta
+     * categórica, em uma resposta compacta (sem baixar o histórico bruto).
+     * Mesmo filtro de perfil do Dashboard: RH vê todas as equipes, Gestores apenas a sua.
+     * @param funcionarioId ID do funcionário logado.
+     * @param de Primeiro dia do intervalo (opcional, padrão: 90 dias antes de 'ate').
+     * @param ate Último dia do intervalo (opcional, padrão: hoje).
+     * @return 200 OK (relatórios), 400 BAD REQUEST (intervalo inválido), 403 FORBIDDEN ou 500.
+     */
+    @GET
+    @Path("/{funcionarioId}/questionario")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getDashboardQuestionario(@PathParam("funcionarioId") int funcionarioId,
+                                             @QueryParam("de") LocalDate de,
+                                             @QueryParam("ate") LocalDate ate,
+                                             @Context SecurityContext seguranca) {
+
+        PerfilAcessoTO solicitante = resolverSolicitante(seguranca, funcionarioId);
+        Response acessoNegado = validarAcessoDashboard(solicitante);
+        if (acessoNegado != null) {
+            return acessoNegado;
+        }
+
+        // RH: todas as equipes (null); Gestores: apenas a própria equipe
+        Integer equipeId = solicitante.getIdFuncao() == ID_FUNCAO_RH ? null : solicitante.getEquipeId();
+
+        try {
+            ArrayList<RelatorioQuestionarioTO> relatorios = bo.consultarRelatorioQuestionario(equipeId, de, ate);
+            if (relatorios == null) {
+                return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                        .entity("Erro ao consultar o relatório do questionário.")
+                        .build();
+            }
+            return Response.ok(relatorios).build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+        }
+    }
+
+    // Método auxiliar: Perfil do token de sessão ou, sem token, busca pelo ID informado na URL (cache)
+    private PerfilAcessoTO resolverSolicitante(SecurityContext seguranca, int solicitanteId) {
+        return PrincipalSessao.resolverSolicitante(seguranca, solicitanteId, funcionarioBO::buscarPerfilAcesso);
+    }
+
+    // Método auxiliar: Permissão de acesso ao Dashboard (Apenas RH e Gestores). Retorna null se permitido.
+    // Compartilhado com DashboardReativoResource.
+    static Response validarAcessoDashboard(PerfilAcessoTO solicitante) {
+        if (solicitante == null) {
+            return Response.status(Response.Status.UNAUTHORIZED)
+                    .entity("Usuário não autenticado ou não encontrado.")
+                    .build();
+        }
+
+        int idFuncao = solicitante.getIdFuncao();
+        if (idFuncao != ID_FUNCAO_RH && idFuncao != ID_FUNCAO_TECH_LEAD && idFuncao != ID_FUNCAO_GERENTE) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity("Acesso negado. Apenas gestores e RH podem visualizar o dashboard de análise.")
+                    .build();
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,45 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.bo.EquipeBO;
+import br.com.fiap.cache.RespostaJsonPreSerializada;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Variante reativa do endpoint RESTful (/equipes), ativa quando humanize.acesso-dados = reativo.
+ * Atendida no event loop pelo cliente reativo Oracle, com o mesmo cache de EquipeBO.
+ */
+@IfBuildProperty(name = "humanize.acesso-dados", stringValue = "reativo")
+@Path("/equipes")
+public class EquipeReativoResource {
+
+    private final EquipeBO bo = new EquipeBO();
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Retorna a lista de todas as equipes para uso em dropdowns/seleções.
+     * Path: GET /equipes
+     * @return 200 OK (com lista) ou 404 NOT FOUND (lista vazia).
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<Response> findAll(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        return bo.findAllSerializadoReativo(objectMapper).map(lista -> lista != null
+                ? RespostaReferencia.ok(lista, acceptEncoding)
+                : Response.status(Response.Status.NOT_FOUND)
+                        .entity("Nenhuma equipe de referência encontrada.")
+                        .build());
+    }
+}
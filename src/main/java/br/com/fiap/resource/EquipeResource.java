@@ -1,24 +1,35 @@
 package br.com.fiap.resource;
 
 import br.com.fiap.bo.EquipeBO;
-import br.com.fiap.to.EquipeTO;
+import br.com.fiap.cache.RespostaJsonPreSerializada;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import java.util.ArrayList;
 
 /**
  * Gerencia o endpoint RESTful (/equipes) para a entidade Equipe.
  * Implementa apenas a consulta (GET) para retornar a lista de referência (dropdowns/seleções).
+ * Implementação bloqueante (JDBC); a variante reativa é EquipeReativoResource.
  */
+@IfBuildProperty(name = "humanize.acesso-dados", stringValue = "bloqueante", enableIfMissing = true)
+@RunOnVirtualThread
 @Path("/equipes")
 public class EquipeResource {
 
     private final EquipeBO bo = new EquipeBO();
 
+    @Inject
+    ObjectMapper objectMapper;
+
     /**
      * Retorna a lista de todas as equipes para uso em dropdowns/seleções.
      * Path: GET /equipes
@@ -26,14 +37,13 @@ public class EquipeResource {
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll() {
-        ArrayList<EquipeTO> lista = bo.findAll(); // Busca a lista completa de equipes
+    public Response findAll(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        // JSON pré-serializado (refeito apenas quando a lista em cache muda)
+        RespostaJsonPreSerializada.Serializacao lista = bo.findAllSerializado(objectMapper);
 
-        if (lista != null && !lista.isEmpty()) {
-            // Sucesso: 200 OK
-            return Response.ok(lista).build();
+        if (lista != null) {
+            return RespostaReferencia.ok(lista, acceptEncoding);
         } else {
-            // Lista vazia: 404 NOT FOUND
             return Response.status(Response.Status.NOT_FOUND)
                     .entity("Nenhuma equipe de referência encontrada.")
                     .build();
@@ -1,23 +1,34 @@
 package br.com.fiap.resource;
 
 import br.com.fiap.bo.FuncaoBO;
-import br.com.fiap.to.FuncaoTO;
+import br.com.fiap.cache.RespostaJsonPreSerializada;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import java.util.ArrayList;
 
 /**
  * Gerencia o endpoint RESTful (/funcoes) para a entidade Função.
  * Implementa apenas a consulta (GET) para retornar a lista de referência (perfis/cargos).
+ * Implementação bloqueante (JDBC); a variante reativa é FuncaoReativoResource.
  */
+@IfBuildProperty(name = "humanize.acesso-dados", stringValue = "bloqueante", enableIfMissing = true)
+@RunOnVirtualThread
 @Path("/funcoes")
 public class FuncaoResource {
 
     private final FuncaoBO bo = new FuncaoBO();
 
+    @Inject
+    ObjectMapper objectMapper;
+
     /**
      * Retorna a lista de todas as funções (perfis) para uso em dropdowns/seleções.
      * Path: GET /funcoes
@@ -25,14 +36,13 @@ public class FuncaoResource {
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll() {
-        ArrayList<FuncaoTO> lista = bo.findAll();
+    public Response findAll(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        // JSON pré-serializado (refeito apenas quando a lista em cache muda)
+        RespostaJsonPreSerializada.Serializacao lista = bo.findAllSerializado(objectMapper);
 
-        if (lista != null && !lista.isEmpty()) {
-            // Sucesso: 200 OK
-            return Response.ok(lista).build();
+        if (lista != null) {
+            return RespostaReferencia.ok(lista, acceptEncoding);
         } else {
-            // Lista vazia: 404 NOT FOUND
             return Response.status(Response.Status.NOT_FOUND)
                     .entity("Nenhuma função de referência encontrada.")
                     .build();
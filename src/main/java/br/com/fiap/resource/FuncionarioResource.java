@@ -1,12 +1,26 @@
 package br.com.fiap.resource;
 
 import br.com.fiap.bo.FuncionarioBO;
+import br.com.fiap.to.ExclusaoFuncionariosTO;
+import br.com.fiap.to.FavoritosTO;
 import br.com.fiap.to.FuncionarioTO;
 import br.com.fiap.to.LoginTO;
+import br.com.fiap.to.PerfilAcessoTO;
 import br.com.fiap.to.RecursoBemEstarTO;
+import br.com.fiap.to.ResultadoExclusaoTO;
+import br.com.fiap.to.ResultadoLoteTO;
 import br.com.fiap.exception.AcessoNegadoException;
-
+import br.com.fiap.exception.PersistenciaException;
+import br.com.fiap.seguranca.PrincipalSessao;
+import br.com.fiap.seguranca.TokenSessao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
@@ -15,20 +29,53 @@ import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.CacheControl;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
-
+import jakarta.ws.rs.core.SecurityContext;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Gerencia o endpoint RESTful (/funcionarios) para a entidade Funcionario,
  * implementando operações CRUD, Login e gerenciamento de Recursos de Bem-Estar.
  */
+@RunOnVirtualThread
 @Path("/funcionarios")
 public class FuncionarioResource {
 
     private final FuncionarioBO funcionarioBO = new FuncionarioBO();
 
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    Validator validator;
+
+    static final String CABECALHO_TOKEN = "X-Token-Sessao";
+
+    private static final String MEDIA_TYPE_NDJSON = "application/x-ndjson";
+    private static final String MEDIA_TYPE_CSV = "text/csv";
+
+    // Colunas obrigatórias do cabeçalho do CSV de importação
+    private static final List<String> COLUNAS_CSV = List.of("nome", "email", "senha", "dataContratacao", "equipeId", "idFuncao");
+
     /**
      * Cadastra um novo funcionário.
      * Implementa a REGRA: Apenas o RH pode cadastrar.
@@ -38,13 +85,15 @@ public class FuncionarioResource {
     @Path("/cadastro/{solicitanteId}")
     @Consumes(MediaType.APPLICATION_JSON)
     @Produces(MediaType.APPLICATION_JSON)
-    public Response save(@Valid FuncionarioTO novoFuncionario, @PathParam("solicitanteId") int solicitanteId) {
+    public Response save(@Valid FuncionarioTO novoFuncionario, @PathParam("solicitanteId") int solicitanteId,
+                         @Context SecurityContext seguranca) {
 
         FuncionarioTO resultado = null;
 
         try {
             // Delega a lógica de Autorização (ID_FUNCAO = 5) para a camada BO
-            resultado = funcionarioBO.cadastrarNovoFuncionario(novoFuncionario, solicitanteId);
+            PerfilAcessoTO solicitante = PrincipalSessao.resolverSolicitante(seguranca, solicitanteId, funcionarioBO::buscarPerfilAcesso);
+            resultado = funcionarioBO.cadastrarNovoFuncionario(novoFuncionario, solicitante);
 
             // Se não houve exceção, retorna 201 CREATED
             return Response.created(null).entity(resultado).build();
@@ -63,8 +112,44 @@ public class FuncionarioResource {
         }
     }
 
+    /**
+     * Importa funcionários em lote a partir de um arquivo CSV (onboarding de uma turma ou de uma aquisição).
+     * A primeira linha é o cabeçalho: nome,email,senha,dataContratacao,equipeId,idFuncao (em qualquer ordem).
+     * Campos com vírgula ou aspas devem estar entre aspas (aspas internas duplicadas); não há suporte a quebras de linha dentro de campos.
+     * Implementa a REGRA: Apenas o RH pode cadastrar (verificada uma única vez para o arquivo).
+     * Path: POST /funcionarios/importacao/{solicitanteId}
+     * Linhas com equipe ou função inexistente são recusadas (INVALIDO) sem interromper a importação.
+     * @return 200 OK (resultado por linha: CRIADO, DUPLICADO ou INVALIDO), 400 BAD REQUEST (arquivo ilegível),
+     * 403 FORBIDDEN (Sem Permissão) ou 500 INTERNAL SERVER ERROR (importação interrompida: o mesmo relatório por linha,
+     * com as linhas dos lotes já confirmados e as demais como NAO_PROCESSADO).
+     */
+    @POST
+    @Path("/importacao/{solicitanteId}")
+    @Consumes(MEDIA_TYPE_CSV)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response importarCsv(InputStream corpo, @PathParam("solicitanteId") int solicitanteId,
+                                @Context SecurityContext seguranca) {
+        return importar(corpo, solicitanteId, seguranca, true);
+    }
+
+    /**
+     * Importa funcionários em lote a partir de um arquivo NDJSON (um FuncionarioTO em JSON por linha).
+     * Mesmas regras e respostas da importação em CSV.
+     * Path: POST /funcionarios/importacao/{solicitanteId}
+     */
+    @POST
+    @Path("/importacao/{solicitanteId}")
+    @Consumes(MEDIA_TYPE_NDJSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response importarNdjson(InputStream corpo, @PathParam("solicitanteId") int solicitanteId,
+                                   @Context SecurityContext seguranca) {
+        return importar(corpo, solicitanteId, seguranca, false);
+    }
+
     /**
      * Realiza o login do funcionário.
+     * Emite o token de sessão assinado no cabeçalho X-Token-Sessao, a ser enviado nas
+     * próximas requisições como "Authorization: Bearer {token}".
      * @return 200 OK (Sucesso) ou 401 UNAUTHORIZED (Credenciais inválidas).
      */
     @POST
@@ -76,7 +161,8 @@ public class FuncionarioResource {
         FuncionarioTO resultado = funcionarioBO.login(loginData.getEmail(), loginData.getSenha());
 
         if (resultado != null) {
-            return Response.ok(resultado).build();
+            String token = TokenSessao.emitir(new PerfilAcessoTO(resultado.getId(), resultado.getIdFuncao(), resultado.getEquipeId()));
+            return Response.ok(resultado).header(CABECALHO_TOKEN, token).build();
         } else {
             return Response.status(401)
                     .entity("Credenciais de login inválidas. Verifique o e-mail e a senha.")
@@ -147,7 +233,8 @@ public class FuncionarioResource {
     }
 
     /**
-     * Exclui um funcionário e suas dependências.
+     * Exclui um funcionário (exclusão lógica, com efeito imediato). As dependências
+     * (check-ins e favoritos) são removidas em segundo plano pelo expurgo.
      * @return 204 NO CONTENT ou 404 NOT FOUND.
      */
     @DELETE
@@ -163,22 +250,316 @@ public class FuncionarioResource {
         }
     }
 
+    /**
+     * Exclui funcionários em lote (desligamento de uma área): lista de IDs ou todos os de uma equipe.
+     * Implementa a REGRA: Apenas o RH pode excluir em lote.
+     * Path: DELETE /funcionarios/lote/{solicitanteId}
+     * Corpo: {"ids": [..]} ou {"equipeId": N}
+     * @return 200 OK (resultado por ID: EXCLUIDO ou NAO_ENCONTRADO), 400 BAD REQUEST (pedido inválido),
+     * 403 FORBIDDEN (Sem Permissão) ou 500 INTERNAL SERVER ERROR (nada foi excluído).
+     */
+    @DELETE
+    @Path("/lote/{solicitanteId}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response deleteEmLote(ExclusaoFuncionariosTO pedido, @PathParam("solicitanteId") int solicitanteId,
+                                 @Context SecurityContext seguranca) {
+
+        try {
+            PerfilAcessoTO solicitante = PrincipalSessao.resolverSolicitante(seguranca, solicitanteId, funcionarioBO::buscarPerfilAcesso);
+            ArrayList<ResultadoExclusaoTO> resultados = funcionarioBO.deleteEmLote(pedido, solicitante);
+            return Response.ok(resultados).build();
+
+        } catch (AcessoNegadoException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(e.getMessage())
+                    .build();
+
+        } catch (IllegalArgumentException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity(e.getMessage())
+                    .build();
+
+        } catch (PersistenciaException e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(e.getMessage())
+                    .build();
+        }
+    }
+
+    // Método auxiliar: Lê o arquivo linha a linha (sem carregá-lo inteiro), valida cada funcionário
+    // e persiste os válidos em lotes (humanize.funcionario.importacao.lote.tamanho), cada lote em uma transação
+    private Response importar(InputStream corpo, int solicitanteId, SecurityContext seguranca, boolean csv) {
+
+        ArrayList<ResultadoLoteTO> resultados = new ArrayList<>();
+        List<FuncionarioTO> pendentes = new ArrayList<>();
+        List<ResultadoLoteTO> resultadosPendentes = new ArrayList<>();
+
+        try {
+            PerfilAcessoTO solicitante = PrincipalSessao.resolverSolicitante(seguranca, solicitanteId, funcionarioBO::buscarPerfilAcesso);
+            funcionarioBO.validarAcessoCadastro(solicitante);
+        } catch (AcessoNegadoException e) {
+            return Response.status(Response.Status.FORBIDDEN)
+                    .entity(e.getMessage())
+                    .build();
+        }
+
+        int tamanhoLote = funcionarioBO.getTamanhoLoteImportacao();
+        String interrupcao = null;
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+
+            Function<String, FuncionarioTO> conversor;
+            if (csv) {
+                String cabecalho = leitor.readLine();
+                if (cabecalho == null) {
+                    return Response.status(Response.Status.BAD_REQUEST)
+                            .entity("O arquivo CSV está vazio.")
+                            .build();
+                }
+                try {
+                    conversor = conversorCsv(cabecalho);
+                } catch (IllegalArgumentException e) {
+                    // Cabeçalho do CSV sem as colunas obrigatórias
+                    return Response.status(Response.Status.BAD_REQUEST)
+                            .entity(e.getMessage())
+                            .build();
+                }
+            } else {
+                conversor = this::lerNdjson;
+            }
+
+            int indice = 0;
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                ResultadoLoteTO resultado = new ResultadoLoteTO(indice++, null, null);
+                resultados.add(resultado);
+
+                // Importação interrompida: as linhas restantes apenas entram no relatório
+                if (interrupcao != null) {
+                    resultado.setStatus(ResultadoLoteTO.NAO_PROCESSADO);
+                    resultado.setMensagem(interrupcao);
+                    continue;
+                }
+
+                FuncionarioTO funcionario;
+                try {
+                    funcionario = conversor.apply(linha);
+                } catch (IllegalArgumentException e) {
+                    resultado.setStatus(ResultadoLoteTO.INVALIDO);
+                    resultado.setMensagem(e.getMessage());
+                    continue;
+                }
+
+                // Mesma validação do cadastro individual (@Valid)
+                Set<ConstraintViolation<FuncionarioTO>> violacoes = validator.validate(funcionario);
+                if (!violacoes.isEmpty()) {
+                    resultado.setStatus(ResultadoLoteTO.INVALIDO);
+                    resultado.setMensagem(violacoes.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .collect(Collectors.joining(" ")));
+                    continue;
+                }
+
+                pendentes.add(funcionario);
+                resultadosPendentes.add(resultado);
+
+                if (pendentes.size() == tamanhoLote) {
+                    interrupcao = persistirImportacao(pendentes, resultadosPendentes);
+                }
+            }
+            if (interrupcao == null) {
+                interrupcao = persistirImportacao(pendentes, resultadosPendentes);
+            }
+
+        } catch (IOException e) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                    .entity("Erro ao ler o arquivo de importação: " + e.getMessage())
+                    .build();
+        }
+
+        if (interrupcao != null) {
+            // Lotes anteriores já confirmados: o relatório indica o que foi e o que não foi importado
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(resultados).build();
+        }
+        return Response.ok(resultados).build();
+    }
+
+    // Método auxiliar: Persiste os funcionários pendentes e atualiza o status de cada linha.
+    // Se o lote falhar, suas linhas ficam como NAO_PROCESSADO e o motivo da interrupção é retornado (null se gravado).
+    private String persistirImportacao(List<FuncionarioTO> pendentes, List<ResultadoLoteTO> resultadosPendentes) {
+        if (pendentes.isEmpty()) {
+            return null;
+        }
+
+        String interrupcao = null;
+        try {
+            funcionarioBO.importarLote(pendentes, resultadosPendentes);
+        } catch (PersistenciaException e) {
+            interrupcao = "Importação interrompida: " + e.getMessage();
+            for (ResultadoLoteTO resultado : resultadosPendentes) {
+                resultado.setStatus(ResultadoLoteTO.NAO_PROCESSADO);
+                resultado.setMensagem(interrupcao);
+            }
+        }
+
+        pendentes.clear();
+        resultadosPendentes.clear();
+        return interrupcao;
+    }
+
+    // Método auxiliar: Converte uma linha NDJSON em FuncionarioTO (IllegalArgumentException se a linha for inválida ou null)
+    private FuncionarioTO lerNdjson(String linha) {
+        FuncionarioTO funcionario;
+        try {
+            funcionario = objectMapper.readValue(linha, FuncionarioTO.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Funcionário com formato inválido.");
+        }
+        if (funcionario == null) {
+            throw new IllegalArgumentException("Funcionário com formato inválido.");
+        }
+        return funcionario;
+    }
+
+    // Método auxiliar: Mapeia as colunas do cabeçalho e retorna o conversor das linhas do CSV
+    private static Function<String, FuncionarioTO> conversorCsv(String cabecalho) {
+        List<String> nomes = camposCsv(cabecalho.startsWith("\uFEFF") ? cabecalho.substring(1) : cabecalho);
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim(), i);
+        }
+        for (String coluna : COLUNAS_CSV) {
+            if (!colunas.containsKey(coluna)) {
+                throw new IllegalArgumentException("Cabeçalho do CSV sem a coluna obrigatória '" + coluna + "'. Colunas esperadas: "
+                        + String.join(",", COLUNAS_CSV) + ".");
+            }
+        }
+
+        return linha -> {
+            List<String> campos = camposCsv(linha);
+            if (campos.size() < nomes.size()) {
+                throw new IllegalArgumentException("Linha com " + campos.size() + " colunas; esperadas " + nomes.size() + ".");
+            }
+            try {
+                FuncionarioTO funcionario = new FuncionarioTO();
+                funcionario.setNome(vazioComoNulo(campos.get(colunas.get("nome"))));
+                funcionario.setEmail(vazioComoNulo(campos.get(colunas.get("email"))));
+                funcionario.setSenha(vazioComoNulo(campos.get(colunas.get("senha"))));
+                String dataContratacao = vazioComoNulo(campos.get(colunas.get("dataContratacao")));
+                funcionario.setDataContratacao(dataContratacao == null ? null : LocalDate.parse(dataContratacao.trim()));
+                funcionario.setEquipeId(Integer.parseInt(campos.get(colunas.get("equipeId")).trim()));
+                funcionario.setIdFuncao(Integer.parseInt(campos.get(colunas.get("idFuncao")).trim()));
+                return funcionario;
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Data de contratação inválida (formato esperado: AAAA-MM-DD).");
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("equipeId e idFuncao devem ser números inteiros.");
+            }
+        };
+    }
+
+    // Método auxiliar: Divide uma linha CSV em campos (RFC 4180, sem quebras de linha dentro de campos)
+    private static List<String> camposCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c != '\r') {
+                campo.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Linha com aspas não fechadas.");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private static String vazioComoNulo(String valor) {
+        return valor == null || valor.isBlank() ? null : valor;
+    }
+
     /**
      * Lista todos os recursos de bem-estar associados a um funcionário (Favoritos).
+     * A lista vem do cache e é identificada por um ETag (versão da lista): com If-None-Match
+     * igual à versão atual, responde 304 sem consultar o banco nem serializar a lista.
      * Path: /funcionarios/{id}/recursos
-     * @return 200 OK com lista de recursos ou 404 NOT FOUND.
+     * @return 200 OK com lista de recursos, 304 NOT MODIFIED ou 404 NOT FOUND.
      */
     @GET
     @Path("/{id}/recursos")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response listarRecursosFavoritos(@PathParam("id") int id) {
-        ArrayList<RecursoBemEstarTO> lista = funcionarioBO.listarRecursosFavoritos(id);
+    public Response listarRecursosFavoritos(@PathParam("id") int id, @Context Request requisicao) {
+        FavoritosTO favoritos = funcionarioBO.buscarFavoritos(id);
+
+        if (favoritos != null && !favoritos.getRecursos().isEmpty()) {
+            EntityTag etag = new EntityTag(favoritos.getVersao());
+            CacheControl cacheControl = new CacheControl();
+            cacheControl.setPrivate(true);
+            cacheControl.setNoCache(true); // O cliente guarda a lista, mas revalida a cada uso (304)
+
+            Response.ResponseBuilder naoModificado = requisicao.evaluatePreconditions(etag);
+            if (naoModificado != null) {
+                return naoModificado.cacheControl(cacheControl).build();
+            }
+            return Response.ok(favoritos.getRecursos()).tag(etag).cacheControl(cacheControl).build();
+        } else {
+            return Response.status(Response.Status.NOT_FOUND)
+                    .entity("Nenhum recurso favorito encontrado para o funcionário com ID " + id + ".")
+                    .build();
+        }
+    }
 
-        if (lista != null && !lista.isEmpty()) {
+    /**
+     * Define (ou substitui) toda a lista de favoritos do funcionário em uma única requisição
+     * (tela "salvar meus favoritos"). Recursos fora da lista são removidos; duplicidades e IDs
+     * de recursos inexistentes são ignorados.
+     * Path: PUT /funcionarios/{id}/recursos
+     * Corpo: array JSON com os IDs dos recursos, por exemplo [1, 4, 7] ([] remove todos).
+     * @return 200 OK com a lista resultante, 404 NOT FOUND (Funcionário inexistente)
+     * ou 500 INTERNAL SERVER ERROR (nada foi alterado).
+     */
+    @PUT
+    @Path("/{id}/recursos")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response substituirRecursosFavoritos(List<Integer> idsRecursos, @PathParam("id") int id) {
+
+        ArrayList<RecursoBemEstarTO> lista;
+
+        try {
+            lista = funcionarioBO.substituirRecursosFavoritos(id, idsRecursos);
+        } catch (PersistenciaException e) {
+            return Response.status(Response.Status.INTERNAL_SERVER_ERROR)
+                    .entity(e.getMessage())
+                    .build();
+        }
+
+        if (lista != null) {
             return Response.ok(lista).build();
         } else {
             return Response.status(Response.Status.NOT_FOUND)
-                    .entity("Nenhum recurso favorito encontrado para o funcionário com ID " + id + ".")
+                    .entity("Funcionário com ID " + id + " não encontrado.")
                     .build();
         }
     }
@@ -186,7 +567,7 @@ public class FuncionarioResource {
     /**
      * Associa um recurso a um funcionário (Adicionar aos Favoritos).
      * Path: /funcionarios/{idFunc}/recursos/{idRecurso}
-     * @return 201 CREATED ou 400 BAD REQUEST (Falha ou Duplicidade).
+     * @return 201 CREATED ou 400 BAD REQUEST (Recurso já favoritado, inexistente ou falha).
      */
     @POST
     @Path("/{idFunc}/recursos/{idRecurso}")
@@ -0,0 +1,54 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.bo.FilaCheckinHumor;
+import br.com.fiap.cache.CacheReferencia;
+import br.com.fiap.dao.DiarioCheckinHumor;
+
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Gerencia o endpoint RESTful (/metricas) com indicadores operacionais da aplicação.
+ */
+@Path("/metricas")
+public class MetricasResource {
+
+    /**
+     * Retorna as estatísticas (acertos, falhas, invalidações e tamanho) dos caches em memória.
+     * Path: GET /metricas/caches
+     * @return 200 OK (com lista).
+     */
+    @GET
+    @Path("/caches")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getEstatisticasCaches() {
+        return Response.ok(CacheReferencia.getEstatisticasGerais()).build();
+    }
+
+    /**
+     * Retorna os contadores da fila de gravação assíncrona (write-behind) de check-ins.
+     * Path: GET /metricas/fila-checkins
+     * @return 200 OK (profundidade, capacidade, enfileirados, gravados, recusados e descartados).
+     */
+    @GET
+    @Path("/fila-checkins")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getEstatisticasFilaCheckins() {
+        return Response.ok(FilaCheckinHumor.getEstatisticas()).build();
+    }
+
+    /**
+     * Retorna os indicadores do diário local de check-ins (pendentes, registrados, reprocessados e taxa de reprocessamento).
+     * Path: GET /metricas/diario-checkins
+     * @return 200 OK.
+     */
+    @GET
+    @Path("/diario-checkins")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getEstatisticasDiarioCheckins() {
+        return Response.ok(DiarioCheckinHumor.getEstatisticas()).build();
+    }
+}
@@ -0,0 +1,105 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.bo.RecursoBemEstarBO;
+import br.com.fiap.cache.RespostaJsonPreSerializada;
+import br.com.fiap.to.RecursoBemEstarTO;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.Blocking;
+import io.smallrye.mutiny.Uni;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.PUT;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Variante reativa do endpoint RESTful (/recursos), ativa quando humanize.acesso-dados = reativo.
+ * As consultas são atendidas no event loop pelo cliente reativo Oracle (mesmo cache de RecursoBemEstarBO);
+ * as escritas continuam na implementação JDBC, em worker thread, invalidando o cache como antes.
+ */
+@IfBuildProperty(name = "humanize.acesso-dados", stringValue = "reativo")
+@Path("/recursos")
+public class RecursoBemEstarReativoResource {
+
+    private final RecursoBemEstarBO bo = new RecursoBemEstarBO();
+    private final RecursoBemEstarResource bloqueante = new RecursoBemEstarResource();
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Cadastra um novo recurso de bem-estar.
+     * @see RecursoBemEstarResource#save
+     */
+    @POST
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Blocking
+    public Response save(@Valid RecursoBemEstarTO recurso) {
+        return bloqueante.save(recurso);
+    }
+
+    /**
+     * Retorna todos os recursos de bem-estar cadastrados.
+     * @return 200 OK (com lista) ou 404 NOT FOUND (lista vazia).
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<Response> findAll(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        return bo.findAllSerializadoReativo(objectMapper).map(lista -> lista != null
+                ? RespostaReferencia.ok(lista, acceptEncoding)
+                : Response.status(Response.Status.NOT_FOUND)
+                        .entity("Nenhum recurso de bem-estar encontrado.")
+                        .build());
+    }
+
+    /**
+     * Busca e retorna um recurso específico pelo seu ID.
+     * @return 200 OK (Sucesso) ou 404 NOT FOUND (Não encontrado).
+     */
+    @GET
+    @Path("/{id}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<Response> findById(@PathParam("id") int id) {
+        return bo.findByIdReativo(id).map(resultado -> resultado != null
+                ? Response.ok(resultado).build()
+                : Response.status(Response.Status.NOT_FOUND)
+                        .entity("Recurso com ID " + id + " não encontrado.")
+                        .build());
+    }
+
+    /**
+     * Atualiza um recurso de bem-estar existente.
+     * @see RecursoBemEstarResource#update
+     */
+    @PUT
+    @Path("/{id}")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    @Blocking
+    public Response update(@Valid RecursoBemEstarTO recurso, @PathParam("id") int id) {
+        return bloqueante.update(recurso, id);
+    }
+
+    /**
+     * Exclui um recurso pelo seu ID.
+     * @see RecursoBemEstarResource#delete
+     */
+    @DELETE
+    @Path("/{id}")
+    @Blocking
+    public Response delete(@PathParam("id") int id) {
+        return bloqueante.delete(id);
+    }
+}
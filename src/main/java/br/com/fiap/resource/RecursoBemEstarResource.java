@@ -1,29 +1,41 @@
 package br.com.fiap.resource;
 
 import br.com.fiap.bo.RecursoBemEstarBO;
+import br.com.fiap.cache.RespostaJsonPreSerializada;
 import br.com.fiap.to.RecursoBemEstarTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.PUT;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import java.util.ArrayList;
 
 /**
  * Gerencia o endpoint RESTful (/recursos) para a entidade RecursoBemEstar,
  * implementando as operações CRUD.
+ * Implementação bloqueante (JDBC); a variante reativa é RecursoBemEstarReativoResource.
  */
+@IfBuildProperty(name = "humanize.acesso-dados", stringValue = "bloqueante", enableIfMissing = true)
+@RunOnVirtualThread
 @Path("/recursos")
 public class RecursoBemEstarResource {
 
     private final RecursoBemEstarBO bo = new RecursoBemEstarBO();
 
+    @Inject
+    ObjectMapper objectMapper;
+
     /**
      * Cadastra um novo recurso de bem-estar.
      * @return 201 CREATED (Sucesso) ou 400 BAD REQUEST (Falha).
@@ -52,11 +64,12 @@ public class RecursoBemEstarResource {
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll() {
-        ArrayList<RecursoBemEstarTO> lista = bo.findAll();
+    public Response findAll(@HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        // JSON pré-serializado (refeito apenas quando a lista em cache muda)
+        RespostaJsonPreSerializada.Serializacao lista = bo.findAllSerializado(objectMapper);
 
-        if (lista != null && !lista.isEmpty()) {
-            return Response.ok(lista).build();
+        if (lista != null) {
+            return RespostaReferencia.ok(lista, acceptEncoding);
         } else {
             return Response.status(Response.Status.NOT_FOUND)
                     .entity("Nenhum recurso de bem-estar encontrado.")
@@ -0,0 +1,69 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.cache.RespostaJsonPreSerializada;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * Monta as respostas dos endpoints de referência (/equipes, /funcoes, /recursos) a partir do JSON
+ * pré-serializado: os bytes (ou a variante gzip, se o cliente aceitar) são escritos diretamente,
+ * sem passar pelo Jackson. O ETag já calculado dispensa o hash do CacheHttpFilter, que responde 304.
+ * A compressão HTTP do Quarkus (quarkus.http.enable-compression) deve permanecer desabilitada.
+ */
+final class RespostaReferencia {
+
+    private static final String GZIP = "gzip";
+
+    private RespostaReferencia() {
+    }
+
+    /**
+     * Resposta 200 OK com o corpo pré-serializado, comprimido conforme o Accept-Encoding da requisição.
+     */
+    static Response ok(RespostaJsonPreSerializada.Serializacao serializacao, String acceptEncoding) {
+        boolean gzip = aceitaGzip(acceptEncoding);
+
+        Response.ResponseBuilder resposta = Response.ok(gzip ? serializacao.getGzip() : serializacao.getJson(), MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.ETAG, gzip ? serializacao.getEtagGzip() : serializacao.getEtag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        return resposta.build();
+    }
+
+    // Método auxiliar: Verifica se o Accept-Encoding aceita gzip com qualidade maior que zero
+    // (gzip listado explicitamente prevalece sobre o curinga *)
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean curinga = null;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].strip();
+            if (GZIP.equalsIgnoreCase(codificacao)) {
+                return qualidade(partes) > 0;
+            }
+            if ("*".equals(codificacao)) {
+                curinga = qualidade(partes) > 0;
+            }
+        }
+        return Boolean.TRUE.equals(curinga);
+    }
+
+    private static double qualidade(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].strip();
+            if (parametro.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parametro.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
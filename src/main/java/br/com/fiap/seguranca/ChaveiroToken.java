@@ -0,0 +1,156 @@
+package br.com.fiap.seguranca;
+
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * Mantém as chaves HMAC usadas para assinar e verificar os tokens de sessão.
+ * Formato de cada chave: "kid=segredoEmBase64" (segredo com no mínimo 32 bytes).
+ * A primeira chave é a ATIVA (assina novos tokens); as demais apenas verificam tokens
+ * já emitidos, permitindo a rotação sem invalidar as sessões em andamento.
+ *
+ * Origem das chaves, em ordem de prioridade:
+ * 1. Arquivo humanize.token.arquivo-chaves (uma chave por linha; '#' inicia comentário).
+ *    O arquivo é relido quando sua data de modificação muda, sem reiniciar a aplicação.
+ * 2. Propriedade humanize.token.chaves (chaves separadas por vírgula).
+ * Sem chave válida configurada, a aplicação não inicia (VerificacaoChavesToken): uma chave
+ * gerada por processo invalidaria os tokens a cada reinício e entre instâncias.
+ */
+final class ChaveiroToken {
+
+    static final String ALGORITMO = "HmacSHA256";
+    private static final int TAMANHO_MINIMO_SEGREDO = 32;
+    private static final Pattern FORMATO_KID = Pattern.compile("[A-Za-z0-9_-]{1,32}");
+
+    private static final Optional<String> ARQUIVO_CHAVES = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.token.arquivo-chaves", String.class);
+    private static final Optional<String> CHAVES_CONFIGURADAS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.token.chaves", String.class);
+
+    // Intervalo mínimo entre verificações da data de modificação do arquivo
+    private static final long INTERVALO_VERIFICACAO_NANOS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.token.arquivo-chaves.intervalo-verificacao-segundos", Long.class)
+            .orElse(10L) * 1_000_000_000L;
+
+    /**
+     * Conjunto imutável de chaves carregado de uma origem.
+     */
+    static final class Chaves {
+        final String kidAtivo;
+        final Map<String, SecretKeySpec> porKid;
+        final long modificadoEm;
+
+        private Chaves(String kidAtivo, Map<String, SecretKeySpec> porKid, long modificadoEm) {
+            this.kidAtivo = kidAtivo;
+            this.porKid = porKid;
+            this.modificadoEm = modificadoEm;
+        }
+
+        SecretKeySpec ativa() {
+            return porKid.get(kidAtivo);
+        }
+    }
+
+    // ReentrantLock (em vez de synchronized) para não fixar threads virtuais durante a leitura do arquivo
+    private static final ReentrantLock RECARGA = new ReentrantLock();
+
+    private static volatile Chaves chaves;
+    private static volatile long proximaVerificacao;
+
+    private ChaveiroToken() {
+    }
+
+    /**
+     * Retorna as chaves vigentes, relendo o arquivo de chaves se ele foi alterado.
+     */
+    static Chaves obter() {
+        Chaves atuais = chaves;
+        if (atuais == null || (ARQUIVO_CHAVES.isPresent() && System.nanoTime() - proximaVerificacao >= 0)) {
+            RECARGA.lock();
+            try {
+                atuais = chaves;
+                if (atuais == null || (ARQUIVO_CHAVES.isPresent() && System.nanoTime() - proximaVerificacao >= 0)) {
+                    atuais = recarregar(atuais);
+                    chaves = atuais;
+                    proximaVerificacao = System.nanoTime() + INTERVALO_VERIFICACAO_NANOS;
+                }
+            } finally {
+                RECARGA.unlock();
+            }
+        }
+        return atuais;
+    }
+
+    // Método auxiliar: Lê a origem configurada. Em caso de erro, mantém as chaves anteriores.
+    private static Chaves recarregar(Chaves anteriores) {
+        try {
+            if (ARQUIVO_CHAVES.isPresent()) {
+                Path arquivo = Path.of(ARQUIVO_CHAVES.get());
+                long modificadoEm = Files.getLastModifiedTime(arquivo).toMillis();
+                if (anteriores != null && anteriores.modificadoEm == modificadoEm) {
+                    return anteriores;
+                }
+                Chaves lidas = interpretar(Files.readAllLines(arquivo, StandardCharsets.UTF_8), modificadoEm);
+                System.err.println("Chaves de token de sessão carregadas de " + arquivo + " (ativa: " + lidas.kidAtivo + ").");
+                return lidas;
+            }
+            if (CHAVES_CONFIGURADAS.isPresent()) {
+                return interpretar(List.of(CHAVES_CONFIGURADAS.get().split(",")), 0L);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Erro ao carregar as chaves de token de sessão: " + e.getMessage());
+            if (anteriores != null) {
+                return anteriores;
+            }
+        }
+
+        // Sem chaves configuradas (ou primeira carga inválida): não há como assinar tokens
+        throw new IllegalStateException("Nenhuma chave de token de sessão válida configurada "
+                + "(humanize.token.arquivo-chaves ou humanize.token.chaves).");
+    }
+
+    // Método auxiliar: Converte linhas "kid=segredoBase64" no conjunto de chaves
+    private static Chaves interpretar(List<String> linhas, long modificadoEm) {
+        Map<String, SecretKeySpec> porKid = new LinkedHashMap<>();
+        List<String> ordem = new ArrayList<>();
+
+        for (String linha : linhas) {
+            String conteudo = linha.strip();
+            if (conteudo.isEmpty() || conteudo.startsWith("#")) {
+                continue;
+            }
+            int separador = conteudo.indexOf('=');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Chave em formato inválido (esperado kid=segredoBase64).");
+            }
+            String kid = conteudo.substring(0, separador).strip();
+            if (!FORMATO_KID.matcher(kid).matches()) {
+                throw new IllegalArgumentException("Identificador de chave inválido: " + kid);
+            }
+            byte[] segredo = Base64.getDecoder().decode(conteudo.substring(separador + 1).strip());
+            if (segredo.length < TAMANHO_MINIMO_SEGREDO) {
+                throw new IllegalArgumentException("A chave " + kid + " deve ter no mínimo " + TAMANHO_MINIMO_SEGREDO + " bytes.");
+            }
+            porKid.put(kid, new SecretKeySpec(segredo, ALGORITMO));
+            ordem.add(kid);
+        }
+
+        if (ordem.isEmpty()) {
+            throw new IllegalArgumentException("Nenhuma chave encontrada.");
+        }
+        return new Chaves(ordem.get(0), porKid, modificadoEm);
+    }
+}
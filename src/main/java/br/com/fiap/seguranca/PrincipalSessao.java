@@ -0,0 +1,78 @@
+package br.com.fiap.seguranca;
+
+import br.com.fiap.to.PerfilAcessoTO;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.core.SecurityContext;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.security.Principal;
+import java.util.function.IntFunction;
+
+/**
+ * Principal da requisição autenticada por token de sessão.
+ * Carrega o perfil de acesso (função e equipe) lido do próprio token.
+ */
+public class PrincipalSessao implements Principal {
+
+    // Se true (padrão), requisições sem token não são aceitas. Chave de migração: false reativa, apenas
+    // enquanto houver clientes sem token, o fallback inseguro pelo ID do solicitante informado na URL
+    private static final boolean TOKEN_OBRIGATORIO = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.token.obrigatorio", Boolean.class).orElse(true);
+
+    private final PerfilAcessoTO perfil;
+
+    public PrincipalSessao(PerfilAcessoTO perfil) {
+        this.perfil = perfil;
+    }
+
+    public PerfilAcessoTO getPerfil() {
+        return perfil;
+    }
+
+    @Override
+    public String getName() {
+        return String.valueOf(perfil.getId());
+    }
+
+    /**
+     * Retorna o perfil autenticado da requisição, ou null se ela não trouxe token de sessão.
+     */
+    public static PerfilAcessoTO perfilDe(SecurityContext contexto) {
+        if (contexto != null && contexto.getUserPrincipal() instanceof PrincipalSessao principal) {
+            return principal.getPerfil();
+        }
+        return null;
+    }
+
+    /**
+     * Resolve o perfil do solicitante informado na URL.
+     * Com token: o token deve pertencer ao mesmo funcionário; o perfil vigente (função, equipe e se o
+     * funcionário continua ativo) vem da busca pelo ID, servida pelo cache de perfis, que a exclusão e a
+     * alteração invalidam. Um funcionário excluído perde o acesso mesmo com um token ainda válido.
+     * Sem token: utiliza a mesma busca pelo ID (somente com humanize.token.obrigatorio = false, durante a migração).
+     * @param contexto SecurityContext da requisição.
+     * @param solicitanteId ID do funcionário informado na URL.
+     * @param buscaPerfil Busca do perfil vigente pelo ID (null se o funcionário não existir ou tiver sido excluído).
+     * @return O perfil do solicitante, ou null se não autenticado ou inativo.
+     */
+    public static PerfilAcessoTO resolverSolicitante(SecurityContext contexto, int solicitanteId,
+                                                     IntFunction<PerfilAcessoTO> buscaPerfil) {
+        PerfilAcessoTO autenticado = perfilDe(contexto);
+        if (autenticado != null) {
+            return autenticado.getId() == solicitanteId ? buscaPerfil.apply(solicitanteId) : null;
+        }
+        return TOKEN_OBRIGATORIO ? null : buscaPerfil.apply(solicitanteId);
+    }
+
+    /**
+     * Variante reativa de resolverSolicitante: a busca do perfil vigente retorna um Uni.
+     */
+    public static Uni<PerfilAcessoTO> resolverSolicitanteReativo(SecurityContext contexto, int solicitanteId,
+                                                                 IntFunction<Uni<PerfilAcessoTO>> buscaPerfil) {
+        PerfilAcessoTO autenticado = perfilDe(contexto);
+        if (autenticado != null) {
+            return autenticado.getId() == solicitanteId ? buscaPerfil.apply(solicitanteId) : Uni.createFrom().nullItem();
+        }
+        return TOKEN_OBRIGATORIO ? Uni.createFrom().nullItem() : buscaPerfil.apply(solicitanteId);
+    }
+}
@@ -0,0 +1,88 @@
+package br.com.fiap.seguranca;
+
+import br.com.fiap.to.PerfilAcessoTO;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Emite e verifica os tokens de sessão assinados (HMAC-SHA256).
+ * Formato: "kid.idFunc.idFuncao.idEquipe.expiraEm.assinatura", onde expiraEm é o epoch em segundos
+ * e a assinatura (Base64 URL) cobre todo o conteúdo anterior a ela.
+ * A verificação é local (sem acesso ao banco); mudanças de função ou equipe passam a valer
+ * no próximo login ou quando o token expira.
+ */
+public final class TokenSessao {
+
+    private static final long VALIDADE_SEGUNDOS = ConfigProvider.getConfig()
+            .getOptionalValue("humanize.token.validade-minutos", Long.class).orElse(480L) * 60L;
+
+    private static final int TOTAL_CAMPOS = 6;
+
+    private TokenSessao() {
+    }
+
+    /**
+     * Emite um token para o perfil informado, assinado com a chave ativa.
+     * @param perfil Perfil de acesso do funcionário autenticado.
+     * @return O token de sessão.
+     */
+    public static String emitir(PerfilAcessoTO perfil) {
+        ChaveiroToken.Chaves chaves = ChaveiroToken.obter();
+        long expiraEm = Instant.now().getEpochSecond() + VALIDADE_SEGUNDOS;
+
+        String conteudo = chaves.kidAtivo + "." + perfil.getId() + "." + perfil.getIdFuncao() + "."
+                + perfil.getEquipeId() + "." + expiraEm;
+        return conteudo + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(assinar(chaves.ativa(), conteudo));
+    }
+
+    /**
+     * Verifica a assinatura e a validade do token.
+     * @param token Token recebido no cabeçalho Authorization.
+     * @return O perfil contido no token, ou null se o token for inválido, expirado ou assinado com chave desconhecida.
+     */
+    public static PerfilAcessoTO verificar(String token) {
+        String[] campos = token.split("\\.", -1);
+        if (campos.length != TOTAL_CAMPOS) {
+            return null;
+        }
+
+        SecretKeySpec chave = ChaveiroToken.obter().porKid.get(campos[0]);
+        if (chave == null) {
+            return null;
+        }
+
+        try {
+            String conteudo = token.substring(0, token.lastIndexOf('.'));
+            byte[] recebida = Base64.getUrlDecoder().decode(campos[5]);
+            if (!MessageDigest.isEqual(assinar(chave, conteudo), recebida)) {
+                return null;
+            }
+            if (Long.parseLong(campos[4]) <= Instant.now().getEpochSecond()) {
+                return null;
+            }
+            return new PerfilAcessoTO(Integer.parseInt(campos[1]), Integer.parseInt(campos[2]), Integer.parseInt(campos[3]));
+
+        } catch (IllegalArgumentException e) {
+            // Base64 ou número malformado
+            return null;
+        }
+    }
+
+    // Método auxiliar: HMAC do conteúdo (Mac não é thread-safe, uma instância por chamada)
+    private static byte[] assinar(SecretKeySpec chave, String conteudo) {
+        try {
+            Mac mac = Mac.getInstance(ChaveiroToken.ALGORITMO);
+            mac.init(chave);
+            return mac.doFinal(conteudo.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Erro ao assinar o token de sessão.", e);
+        }
+    }
+}
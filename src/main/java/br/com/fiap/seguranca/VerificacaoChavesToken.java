@@ -0,0 +1,19 @@
+package br.com.fiap.seguranca;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+/**
+ * Carrega as chaves do token de sessão na inicialização.
+ * Sem chave válida configurada, a exceção interrompe a inicialização da aplicação,
+ * em vez de falhar apenas no primeiro login.
+ */
+@ApplicationScoped
+public class VerificacaoChavesToken {
+
+    void aoIniciar(@Observes StartupEvent evento) {
+        ChaveiroToken.Chaves chaves = ChaveiroToken.obter();
+        System.err.println("Token de sessão: " + chaves.porKid.size() + " chave(s) carregada(s) (ativa: " + chaves.kidAtivo + ").");
+    }
+}
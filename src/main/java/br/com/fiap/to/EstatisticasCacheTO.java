@@ -0,0 +1,88 @@
+package br.com.fiap.to;
+
+/**
+ * Representa as estatísticas de uso de um cache em memória (GET /metricas/caches).
+ */
+public class EstatisticasCacheTO {
+
+    private String nome;
+    private int tamanho;         // Entradas atualmente em cache
+    private int tamanhoMaximo;
+    private long acertos;        // Consultas respondidas pelo cache
+    private long falhas;         // Consultas que foram ao banco
+    private long invalidacoes;
+    private double taxaAcerto;   // acertos / (acertos + falhas)
+
+    // Construtores
+
+    public EstatisticasCacheTO() {
+    }
+
+    public EstatisticasCacheTO(String nome, int tamanho, int tamanhoMaximo, long acertos, long falhas, long invalidacoes, double taxaAcerto) {
+        this.nome = nome;
+        this.tamanho = tamanho;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.invalidacoes = invalidacoes;
+        this.taxaAcerto = taxaAcerto;
+    }
+
+    // Getters e Setters
+
+    public String getNome() {
+        return nome;
+    }
+
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    public void setTamanhoMaximo(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    public long getAcertos() {
+        return acertos;
+    }
+
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    public long getFalhas() {
+        return falhas;
+    }
+
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    public long getInvalidacoes() {
+        return invalidacoes;
+    }
+
+    public void setInvalidacoes(long invalidacoes) {
+        this.invalidacoes = invalidacoes;
+    }
+
+    public double getTaxaAcerto() {
+        return taxaAcerto;
+    }
+
+    public void setTaxaAcerto(double taxaAcerto) {
+        this.taxaAcerto = taxaAcerto;
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.fiap.to;
+
+import java.util.List;
+
+/**
+ * Representa o pedido de exclusão em lote de funcionários (desligamento de uma área).
+ * Informa a lista de IDs ou o ID de uma equipe (todos os seus funcionários), nunca ambos.
+ */
+public class ExclusaoFuncionariosTO {
+
+    private List<Integer> ids;  // IDs dos funcionários (ID_FUNC)
+    private Integer equipeId;   // ID_EQUIPE: exclui todos os funcionários da equipe
+
+    // Construtores
+
+    public ExclusaoFuncionariosTO() {
+    }
+
+    public ExclusaoFuncionariosTO(List<Integer> ids, Integer equipeId) {
+        this.ids = ids;
+        this.equipeId = equipeId;
+    }
+
+    // Getters e Setters
+
+    public List<Integer> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Integer> ids) {
+        this.ids = ids;
+    }
+
+    public Integer getEquipeId() {
+        return equipeId;
+    }
+
+    public void setEquipeId(Integer equipeId) {
+        this.equipeId = equipeId;
+    }
+}
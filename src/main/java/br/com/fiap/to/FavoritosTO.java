@@ -0,0 +1,41 @@
+package br.com.fiap.to;
+
+import java.util.ArrayList;
+
+/**
+ * Representa a lista de recursos favoritos de um funcionário com a sua versão,
+ * calculada a partir do conteúdo da lista e usada como ETag (GET condicional).
+ */
+public class FavoritosTO {
+
+    private ArrayList<RecursoBemEstarTO> recursos;
+    private String versao;
+
+    // Construtores
+
+    public FavoritosTO() {
+    }
+
+    public FavoritosTO(ArrayList<RecursoBemEstarTO> recursos, String versao) {
+        this.recursos = recursos;
+        this.versao = versao;
+    }
+
+    // Getters e Setters
+
+    public ArrayList<RecursoBemEstarTO> getRecursos() {
+        return recursos;
+    }
+
+    public void setRecursos(ArrayList<RecursoBemEstarTO> recursos) {
+        this.recursos = recursos;
+    }
+
+    public String getVersao() {
+        return versao;
+    }
+
+    public void setVersao(String versao) {
+        this.versao = versao;
+    }
+}
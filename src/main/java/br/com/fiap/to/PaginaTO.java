@@ -0,0 +1,42 @@
+package br.com.fiap.to;
+
+import java.util.List;
+
+/**
+ * Representa uma página de resultados de uma consulta paginada por cursor (keyset).
+ * O proximoCursor é um token opaco que deve ser reenviado para obter a página seguinte;
+ * quando nulo, não há mais registros.
+ */
+public class PaginaTO<T> {
+
+    private List<T> itens;
+    private String proximoCursor;
+
+    // Construtores
+
+    public PaginaTO() {
+    }
+
+    public PaginaTO(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    // Getters e Setters
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+}
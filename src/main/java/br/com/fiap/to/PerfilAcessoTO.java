@@ -0,0 +1,49 @@
+package br.com.fiap.to;
+
+/**
+ * Representa o perfil de acesso de um funcionário: apenas a função e a equipe,
+ * que são os únicos dados necessários para as verificações de autorização.
+ */
+public class PerfilAcessoTO {
+
+    private int id;        // ID_FUNC
+    private int idFuncao;  // ID_FUNCAO (Ex: 5 = RH, 3/4 = Gestores)
+    private int equipeId;  // ID_EQUIPE
+
+    // Construtores
+
+    public PerfilAcessoTO() {
+    }
+
+    public PerfilAcessoTO(int id, int idFuncao, int equipeId) {
+        this.id = id;
+        this.idFuncao = idFuncao;
+        this.equipeId = equipeId;
+    }
+
+    // Getters e Setters
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getIdFuncao() {
+        return idFuncao;
+    }
+
+    public void setIdFuncao(int idFuncao) {
+        this.idFuncao = idFuncao;
+    }
+
+    public int getEquipeId() {
+        return equipeId;
+    }
+
+    public void setEquipeId(int equipeId) {
+        this.equipeId = equipeId;
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.fiap.to;
+
+import java.time.LocalDate;
+
+/**
+ * Representa um ponto (período) da série temporal de humor de uma equipe no Dashboard.
+ * O período começa em inicioPeriodo e tem a duração da granularidade consultada (dia, semana ISO ou mês).
+ */
+public class PontoSerieHumorTO {
+
+    private LocalDate inicioPeriodo;
+    private double mediaEnergia;  // Média de NR_ENERGIA no período
+    private double mediaConexao;  // Média de NR_CONEXAO no período
+    private int totalCheckins;    // Total de registros que compuseram as médias
+
+    // Construtores
+
+    public PontoSerieHumorTO() {
+    }
+
+    public PontoSerieHumorTO(LocalDate inicioPeriodo, double mediaEnergia, double mediaConexao, int totalCheckins) {
+        this.inicioPeriodo = inicioPeriodo;
+        this.mediaEnergia = mediaEnergia;
+        this.mediaConexao = mediaConexao;
+        this.totalCheckins = totalCheckins;
+    }
+
+    // Getters e Setters
+
+    public LocalDate getInicioPeriodo() {
+        return inicioPeriodo;
+    }
+
+    public void setInicioPeriodo(LocalDate inicioPeriodo) {
+        this.inicioPeriodo = inicioPeriodo;
+    }
+
+    public double getMediaEnergia() {
+        return mediaEnergia;
+    }
+
+    public void setMediaEnergia(double mediaEnergia) {
+        this.mediaEnergia = mediaEnergia;
+    }
+
+    public double getMediaConexao() {
+        return mediaConexao;
+    }
+
+    public void setMediaConexao(double mediaConexao) {
+        this.mediaConexao = mediaConexao;
+    }
+
+    public int getTotalCheckins() {
+        return totalCheckins;
+    }
+
+    public void setTotalCheckins(int totalCheckins) {
+        this.totalCheckins = totalCheckins;
+    }
+}
@@ -0,0 +1,84 @@
+package br.com.fiap.to;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Representa o relatório completo do Questionário de Humor de uma equipe para o Dashboard.
+ * Contém as médias das duas escalas numéricas e a distribuição de frequência
+ * de cada resposta categórica, evitando que o cliente baixe o histórico bruto.
+ */
+public class RelatorioQuestionarioTO {
+
+    private int equipeId;
+    private String nomeEquipe;
+    private int totalCheckins;    // Total de registros que compuseram o relatório
+    private double mediaEnergia;  // Q1: Média de NR_ENERGIA
+    private double mediaConexao;  // Q6: Média de NR_CONEXAO
+
+    /**
+     * Pergunta (nome do campo em CheckinHumorTO, ex: "qualidadeSono") -> (resposta -> quantidade).
+     * As respostas de cada pergunta estão em ordem decrescente de frequência.
+     */
+    private Map<String, Map<String, Integer>> distribuicoes = new LinkedHashMap<>();
+
+    // Construtores
+
+    public RelatorioQuestionarioTO() {
+    }
+
+    public RelatorioQuestionarioTO(int equipeId, String nomeEquipe) {
+        this.equipeId = equipeId;
+        this.nomeEquipe = nomeEquipe;
+    }
+
+    // Getters e Setters
+
+    public int getEquipeId() {
+        return equipeId;
+    }
+
+    public void setEquipeId(int equipeId) {
+        this.equipeId = equipeId;
+    }
+
+    public String getNomeEquipe() {
+        return nomeEquipe;
+    }
+
+    public void setNomeEquipe(String nomeEquipe) {
+        this.nomeEquipe = nomeEquipe;
+    }
+
+    public int getTotalCheckins() {
+        return totalCheckins;
+    }
+
+    public void setTotalCheckins(int totalCheckins) {
+        this.totalCheckins = totalCheckins;
+    }
+
+    public double getMediaEnergia() {
+        return mediaEnergia;
+    }
+
+    public void setMediaEnergia(double mediaEnergia) {
+        this.mediaEnergia = mediaEnergia;
+    }
+
+    public double getMediaConexao() {
+        return mediaConexao;
+    }
+
+    public void setMediaConexao(double mediaConexao) {
+        this.mediaConexao = mediaConexao;
+    }
+
+    public Map<String, Map<String, Integer>> getDistribuicoes() {
+        return distribuicoes;
+    }
+
+    public void setDistribuicoes(Map<String, Map<String, Integer>> distribuicoes) {
+        this.distribuicoes = distribuicoes;
+    }
+}
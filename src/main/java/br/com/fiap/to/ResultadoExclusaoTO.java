@@ -0,0 +1,41 @@
+package br.com.fiap.to;
+
+/**
+ * Representa o resultado da exclusão de um funcionário em uma exclusão em lote.
+ */
+public class ResultadoExclusaoTO {
+
+    public static final String EXCLUIDO = "EXCLUIDO";
+    public static final String NAO_ENCONTRADO = "NAO_ENCONTRADO";
+
+    private int funcionarioId;
+    private String status; // EXCLUIDO ou NAO_ENCONTRADO
+
+    // Construtores
+
+    public ResultadoExclusaoTO() {
+    }
+
+    public ResultadoExclusaoTO(int funcionarioId, String status) {
+        this.funcionarioId = funcionarioId;
+        this.status = status;
+    }
+
+    // Getters e Setters
+
+    public int getFuncionarioId() {
+        return funcionarioId;
+    }
+
+    public void setFuncionarioId(int funcionarioId) {
+        this.funcionarioId = funcionarioId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.fiap.to;
+
+/**
+ * Representa o resultado do processamento de um item em uma operação em lote
+ * (ex: ingestão de vários check-ins em uma única requisição).
+ * O índice corresponde à posição do item no array enviado pelo cliente.
+ */
+public class ResultadoLoteTO {
+
+    public static final String CRIADO = "CRIADO";
+    public static final String DUPLICADO = "DUPLICADO";
+    public static final String INVALIDO = "INVALIDO";
+    public static final String NAO_PROCESSADO = "NAO_PROCESSADO";
+
+    private int indice;
+    private String status;   // CRIADO, DUPLICADO, INVALIDO ou NAO_PROCESSADO (operação interrompida)
+    private String mensagem; // Detalhe do erro de validação (quando INVALIDO) ou da interrupção
+
+    // Construtores
+
+    public ResultadoLoteTO() {
+    }
+
+    public ResultadoLoteTO(int indice, String status, String mensagem) {
+        this.indice = indice;
+        this.status = status;
+        this.mensagem = mensagem;
+    }
+
+    // Getters e Setters
+
+    public int getIndice() {
+        return indice;
+    }
+
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getMensagem() {
+        return mensagem;
+    }
+
+    public void setMensagem(String mensagem) {
+        this.mensagem = mensagem;
+    }
+}
@@ -0,0 +1,51 @@
+package br.com.fiap.to;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representa a série temporal de humor de uma equipe para o Dashboard,
+ * com um ponto por período (dia, semana ISO ou mês) que possui check-ins.
+ */
+public class SerieHumorEquipeTO {
+
+    private int equipeId;
+    private String nomeEquipe;
+    private List<PontoSerieHumorTO> pontos = new ArrayList<>();
+
+    // Construtores
+
+    public SerieHumorEquipeTO() {
+    }
+
+    public SerieHumorEquipeTO(int equipeId, String nomeEquipe) {
+        this.equipeId = equipeId;
+        this.nomeEquipe = nomeEquipe;
+    }
+
+    // Getters e Setters
+
+    public int getEquipeId() {
+        return equipeId;
+    }
+
+    public void setEquipeId(int equipeId) {
+        this.equipeId = equipeId;
+    }
+
+    public String getNomeEquipe() {
+        return nomeEquipe;
+    }
+
+    public void setNomeEquipe(String nomeEquipe) {
+        this.nomeEquipe = nomeEquipe;
+    }
+
+    public List<PontoSerieHumorTO> getPontos() {
+        return pontos;
+    }
+
+    public void setPontos(List<PontoSerieHumorTO> pontos) {
+        this.pontos = pontos;
+    }
+}
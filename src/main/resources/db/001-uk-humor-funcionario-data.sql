@@ -0,0 +1,5 @@
+-- Regra de unicidade diária do Check-in de Humor (um registro por funcionário por dia).
+-- Garante a regra no banco, inclusive para requisições concorrentes, e permite que a
+-- inserção detecte a duplicidade em um único comando (ORA-00001).
+-- Registros duplicados pré-existentes precisam ser removidos antes da criação.
+ALTER TABLE T_H_HUMOR ADD CONSTRAINT UK_H_HUMOR_FUNC_DATA UNIQUE (ID_FUNC, DT_CHECKIN);
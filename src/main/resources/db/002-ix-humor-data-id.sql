@@ -0,0 +1,3 @@
+-- Índice para a paginação por cursor (keyset) do histórico anonimizado:
+-- percorre T_H_HUMOR na ordem (DT_CHECKIN DESC, ID_HUMOR DESC) sem ordenação em memória.
+CREATE INDEX IX_H_HUMOR_DT_ID ON T_H_HUMOR (DT_CHECKIN DESC, ID_HUMOR DESC);
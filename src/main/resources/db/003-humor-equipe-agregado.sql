@@ -0,0 +1,20 @@
+-- Agregado de humor por equipe, mantido incrementalmente na mesma transação de cada
+-- check-in (e ajustado na exclusão de funcionários). O Dashboard lê apenas uma linha
+-- por equipe, em vez de agregar todo o T_H_HUMOR a cada acesso.
+CREATE TABLE T_H_HUMOR_EQUIPE_AGG (
+    ID_EQUIPE   NUMBER           NOT NULL,
+    QT_CHECKINS NUMBER DEFAULT 0 NOT NULL,
+    SM_ENERGIA  NUMBER DEFAULT 0 NOT NULL,
+    SM_CONEXAO  NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT PK_H_HUMOR_EQUIPE_AGG PRIMARY KEY (ID_EQUIPE),
+    CONSTRAINT FK_H_HUMOR_EQUIPE_AGG_EQUIPE FOREIGN KEY (ID_EQUIPE) REFERENCES T_H_EQUIPE (ID_EQUIPE)
+);
+
+-- Carga inicial (equivalente a POST /checkins/agregados/reconstruir/{solicitanteId})
+INSERT INTO T_H_HUMOR_EQUIPE_AGG (ID_EQUIPE, QT_CHECKINS, SM_ENERGIA, SM_CONEXAO)
+SELECT f.ID_EQUIPE, COUNT(h.ID_HUMOR), SUM(h.NR_ENERGIA), SUM(h.NR_CONEXAO)
+FROM T_H_HUMOR h
+JOIN T_H_FUNCIONARIO f ON h.ID_FUNC = f.ID_FUNC
+GROUP BY f.ID_EQUIPE;
+
+COMMIT;
@@ -0,0 +1,23 @@
+-- Rollup diário de humor por equipe, mantido incrementalmente junto com T_H_HUMOR_EQUIPE_AGG.
+-- Base das séries temporais do Dashboard: semanas (ISO) e meses são derivados deste rollup,
+-- sem varrer os registros brutos de T_H_HUMOR.
+CREATE TABLE T_H_HUMOR_EQUIPE_DIA (
+    ID_EQUIPE   NUMBER           NOT NULL,
+    DT_DIA      DATE             NOT NULL,
+    QT_CHECKINS NUMBER DEFAULT 0 NOT NULL,
+    SM_ENERGIA  NUMBER DEFAULT 0 NOT NULL,
+    SM_CONEXAO  NUMBER DEFAULT 0 NOT NULL,
+    CONSTRAINT PK_H_HUMOR_EQUIPE_DIA PRIMARY KEY (ID_EQUIPE, DT_DIA),
+    CONSTRAINT FK_H_HUMOR_EQUIPE_DIA_EQUIPE FOREIGN KEY (ID_EQUIPE) REFERENCES T_H_EQUIPE (ID_EQUIPE)
+);
+
+CREATE INDEX IX_H_HUMOR_EQUIPE_DIA_DT ON T_H_HUMOR_EQUIPE_DIA (DT_DIA, ID_EQUIPE);
+
+-- Carga inicial (equivalente a POST /checkins/agregados/reconstruir/{solicitanteId})
+INSERT INTO T_H_HUMOR_EQUIPE_DIA (ID_EQUIPE, DT_DIA, QT_CHECKINS, SM_ENERGIA, SM_CONEXAO)
+SELECT f.ID_EQUIPE, TRUNC(h.DT_CHECKIN), COUNT(h.ID_HUMOR), SUM(h.NR_ENERGIA), SUM(h.NR_CONEXAO)
+FROM T_H_HUMOR h
+JOIN T_H_FUNCIONARIO f ON h.ID_FUNC = f.ID_FUNC
+GROUP BY f.ID_EQUIPE, TRUNC(h.DT_CHECKIN);
+
+COMMIT;
@@ -0,0 +1,9 @@
+-- Exclusão lógica de funcionários: DT_EXCLUSAO preenchida = funcionário desligado.
+-- Login, consultas e autorização passam a ignorar o funcionário imediatamente; os check-ins
+-- (T_H_HUMOR) e favoritos (T_H_FUNC_RECURSO) são removidos depois, em pequenos lotes, pelo
+-- expurgo em segundo plano, que por fim remove a própria linha do funcionário.
+ALTER TABLE T_H_FUNCIONARIO ADD (DT_EXCLUSAO DATE);
+
+-- Chaves totalmente nulas não entram no índice B-tree: o índice contém apenas os funcionários
+-- aguardando expurgo e permanece pequeno.
+CREATE INDEX IX_H_FUNCIONARIO_EXCLUSAO ON T_H_FUNCIONARIO (DT_EXCLUSAO);
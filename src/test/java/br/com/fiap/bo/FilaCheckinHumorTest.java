@@ -0,0 +1,246 @@
+package br.com.fiap.bo;
+
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.exception.PersistenciaException;
+import br.com.fiap.to.CheckinHumorTO;
+import br.com.fiap.to.ResultadoLoteTO;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A fila é estática: os testes usam faixas de IDs distintas e o encerramento (irreversível) é o último.
+ * Sem humanize.checkin.write-behind.habilitado, não há gravadora em segundo plano concorrendo com os testes.
+ */
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class FilaCheckinHumorTest {
+
+    private static final LocalDate DATA = LocalDate.of(2025, 3, 10);
+
+    @Test
+    @Order(1)
+    void montaLotesDeAteOTamanhoConfigurado() throws Exception {
+        for (int id = 1000; id < 1250; id++) {
+            enfileirar(id);
+        }
+
+        List<CheckinHumorTO> lote = new ArrayList<>();
+        FilaCheckinHumor.montarLote(lote);
+        assertEquals(200, lote.size());
+        assertEquals(1000, lote.get(0).getFuncionarioId());
+
+        List<CheckinHumorTO> restante = new ArrayList<>();
+        FilaCheckinHumor.montarLote(restante);
+        assertEquals(50, restante.size());
+
+        lote.addAll(restante);
+        lote.forEach(FilaCheckinHumor::liberar);
+    }
+
+    @Test
+    @Order(2)
+    void loteIncompletoEGravadoAposALatenciaMaxima() throws Exception {
+        enfileirar(2000);
+
+        long inicio = System.nanoTime();
+        List<CheckinHumorTO> lote = new ArrayList<>();
+        FilaCheckinHumor.montarLote(lote);
+
+        assertEquals(1, lote.size());
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio) < 1000, "lote deve sair na latência máxima");
+        lote.forEach(FilaCheckinHumor::liberar);
+    }
+
+    @Test
+    @Order(3)
+    void loteGravadoEmUmaTransacaoLiberaAsChaves() {
+        List<List<CheckinHumorTO>> chamadas = new ArrayList<>();
+        long gravadosAntes = estatistica("gravados");
+        List<CheckinHumorTO> lote = reservar(3000, 3010);
+
+        FilaCheckinHumor.gravar(new GravacaoFalsa(checkins -> {
+            chamadas.add(List.copyOf(checkins));
+            return criados(checkins);
+        }), lote);
+
+        assertEquals(1, chamadas.size());
+        assertEquals(10, chamadas.get(0).size());
+        assertEquals(gravadosAntes + 10, estatistica("gravados"));
+        // Chaves liberadas: o mesmo funcionário pode voltar a ser enfileirado na data
+        assertTrue(FilaCheckinHumor.reservar(checkin(3000)));
+        FilaCheckinHumor.liberar(checkin(3000));
+    }
+
+    @Test
+    @Order(4)
+    void falhaPermanenteDescartaSomenteORegistroInvalido() {
+        long gravadosAntes = estatistica("gravados");
+        long descartadosAntes = estatistica("descartados");
+        long noDiarioAntes = estatistica("noDiario");
+        List<Integer> gravados = new ArrayList<>();
+        List<CheckinHumorTO> lote = reservar(4000, 4005);
+        CheckinHumorTO invalido = checkin(4666);
+        FilaCheckinHumor.reservar(invalido);
+        lote.add(2, invalido);
+
+        GravacaoFalsa bo = new GravacaoFalsa(checkins -> {
+            if (checkins.stream().anyMatch(c -> c.getFuncionarioId() == 4666)) {
+                throw new PersistenciaException("ORA-02291: integrity constraint violated");
+            }
+            checkins.forEach(c -> gravados.add(c.getFuncionarioId()));
+            return criados(checkins);
+        });
+        FilaCheckinHumor.gravar(bo, lote);
+
+        assertEquals(List.of(4000, 4001, 4002, 4003, 4004), gravados);
+        assertEquals(gravadosAntes + 5, estatistica("gravados"));
+        assertEquals(descartadosAntes + 1, estatistica("descartados"));
+        assertEquals(noDiarioAntes, estatistica("noDiario"));
+        assertTrue(bo.diario.isEmpty());
+    }
+
+    @Test
+    @Order(5)
+    void funcionarioInativoEDescartadoSemFalharOLote() {
+        long gravadosAntes = estatistica("gravados");
+        long descartadosAntes = estatistica("descartados");
+        List<CheckinHumorTO> lote = reservar(5000, 5003);
+
+        FilaCheckinHumor.gravar(new GravacaoFalsa(checkins -> {
+            ArrayList<String> status = criados(checkins);
+            status.set(1, ResultadoLoteTO.INVALIDO);
+            return status;
+        }), lote);
+
+        assertEquals(gravadosAntes + 2, estatistica("gravados"));
+        assertEquals(descartadosAntes + 1, estatistica("descartados"));
+    }
+
+    @Test
+    @Order(6)
+    void bancoIndisponivelEnviaOLoteAoDiarioAposAsTentativas() {
+        long noDiarioAntes = estatistica("noDiario");
+        List<Integer> tentativas = new ArrayList<>();
+        List<CheckinHumorTO> lote = reservar(6000, 6004);
+
+        GravacaoFalsa bo = new GravacaoFalsa(checkins -> {
+            tentativas.add(checkins.size());
+            throw new BancoIndisponivelException("Banco de dados indisponível.");
+        });
+        FilaCheckinHumor.gravar(bo, lote);
+
+        assertEquals(List.of(4, 4, 4), tentativas);
+        assertEquals(4, bo.diario.size());
+        assertEquals(noDiarioAntes + 4, estatistica("noDiario"));
+    }
+
+    @Test
+    @Order(7)
+    void gravadoraSobreviveAErroInesperadoEDrenaAFilaNoEncerramento() throws Exception {
+        long descartadosAntes = estatistica("descartados");
+        List<Integer> gravados = new CopyOnWriteArrayList<>();
+        List<Integer> tamanhosLote = new CopyOnWriteArrayList<>();
+        CountDownLatch erro = new CountDownLatch(1);
+        CountDownLatch recuperada = new CountDownLatch(1);
+
+        GravacaoFalsa bo = new GravacaoFalsa(checkins -> {
+            if (checkins.stream().anyMatch(c -> c.getFuncionarioId() == 7013)) {
+                erro.countDown();
+                throw new IllegalStateException("falha inesperada");
+            }
+            tamanhosLote.add(checkins.size());
+            checkins.forEach(c -> gravados.add(c.getFuncionarioId()));
+            recuperada.countDown();
+            return criados(checkins);
+        });
+        Thread gravadora = new Thread(() -> FilaCheckinHumor.executarGravadora(bo));
+        gravadora.start();
+
+        enfileirar(7013);
+        assertTrue(erro.await(5, TimeUnit.SECONDS));
+        enfileirar(7014);
+        assertTrue(recuperada.await(5, TimeUnit.SECONDS), "a gravadora deve continuar após a exceção");
+        assertTrue(gravadora.isAlive());
+        assertEquals(descartadosAntes + 1, estatistica("descartados"));
+
+        for (int id = 8000; id < 8450; id++) {
+            enfileirar(id);
+        }
+        FilaCheckinHumor.encerrar();
+        gravadora.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertFalse(gravadora.isAlive());
+        assertEquals(0L, estatistica("profundidade"));
+        assertEquals(451, gravados.size());
+        assertTrue(tamanhosLote.stream().allMatch(tamanho -> tamanho <= 200));
+        // Após o encerramento, novos check-ins são recusados
+        CheckinHumorTO tardio = checkin(9000);
+        assertTrue(FilaCheckinHumor.reservar(tardio));
+        assertFalse(FilaCheckinHumor.enfileirar(tardio));
+    }
+
+    private static void enfileirar(int funcionarioId) {
+        CheckinHumorTO checkin = checkin(funcionarioId);
+        assertTrue(FilaCheckinHumor.reservar(checkin));
+        assertTrue(FilaCheckinHumor.enfileirar(checkin));
+    }
+
+    // Check-ins com as chaves reservadas, como a gravadora os recebe da fila
+    private static List<CheckinHumorTO> reservar(int primeiroId, int fimId) {
+        List<CheckinHumorTO> lote = new ArrayList<>();
+        for (int id = primeiroId; id < fimId; id++) {
+            CheckinHumorTO checkin = checkin(id);
+            assertTrue(FilaCheckinHumor.reservar(checkin));
+            lote.add(checkin);
+        }
+        return lote;
+    }
+
+    private static ArrayList<String> criados(List<CheckinHumorTO> checkins) {
+        ArrayList<String> status = new ArrayList<>();
+        checkins.forEach(c -> status.add(ResultadoLoteTO.CRIADO));
+        return status;
+    }
+
+    private static long estatistica(String nome) {
+        return FilaCheckinHumor.getEstatisticas().get(nome);
+    }
+
+    private static CheckinHumorTO checkin(int funcionarioId) {
+        return new CheckinHumorTO(0, funcionarioId, DATA, 4, "Motivado", "Normal", null, "Sim",
+                3, "Boa", "Boa", "Sim", null);
+    }
+
+    // CheckinHumorBO sem banco: o lote é entregue à função informada; o diário apenas acumula os check-ins
+    private static final class GravacaoFalsa extends CheckinHumorBO {
+        private final Function<List<CheckinHumorTO>, ArrayList<String>> salvar;
+        private final List<CheckinHumorTO> diario = new ArrayList<>();
+
+        GravacaoFalsa(Function<List<CheckinHumorTO>, ArrayList<String>> salvar) {
+            this.salvar = salvar;
+        }
+
+        @Override
+        public ArrayList<String> salvarLote(List<CheckinHumorTO> checkins) {
+            return salvar.apply(checkins);
+        }
+
+        @Override
+        public boolean registrarNoDiario(CheckinHumorTO checkin) {
+            return diario.add(checkin);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package br.com.fiap.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Concorrência na primeira linha do agregado (ORA-00001), com uma conexão JDBC falsa:
+ * cada execução do batch consome a próxima falha programada (null = sucesso).
+ */
+class AgregadoHumorDAOTest {
+
+    private static final String SQL = "MERGE INTO T_H_HUMOR_EQUIPE_DIA d ...";
+
+    @Test
+    void chaveDuplicadaDesfazOBatchERepeteOMerge() throws SQLException {
+        ConexaoFalsa conexao = new ConexaoFalsa(chaveDuplicada(), null);
+
+        AgregadoHumorDAO.executarMerge(conexao.proxy(), SQL, ps -> {
+            ps.setInt(1, 7);
+            ps.addBatch();
+            ps.setInt(1, 8);
+            ps.addBatch();
+        });
+
+        assertEquals(List.of("savepoint", "prepare", "setInt 7", "addBatch", "setInt 8", "addBatch", "executeBatch",
+                "close", "rollback savepoint", "prepare", "setInt 7", "addBatch", "setInt 8", "addBatch", "executeBatch",
+                "close"), conexao.eventos);
+    }
+
+    @Test
+    void batchSemConflitoExecutaUmaUnicaVez() throws SQLException {
+        ConexaoFalsa conexao = new ConexaoFalsa((SQLException) null);
+
+        AgregadoHumorDAO.executarMerge(conexao.proxy(), SQL, PreparedStatement::addBatch);
+
+        assertEquals(List.of("savepoint", "prepare", "addBatch", "executeBatch", "close"), conexao.eventos);
+    }
+
+    @Test
+    void outrosErrosNaoSaoRepetidos() {
+        SQLException violacao = new SQLException("ORA-02291: integrity constraint violated", "23000", 2291);
+        ConexaoFalsa conexao = new ConexaoFalsa(violacao);
+
+        SQLException lancada = assertThrows(SQLException.class,
+                () -> AgregadoHumorDAO.executarMerge(conexao.proxy(), SQL, PreparedStatement::addBatch));
+
+        assertSame(violacao, lancada);
+        assertEquals(List.of("savepoint", "prepare", "addBatch", "executeBatch", "close"), conexao.eventos);
+    }
+
+    @Test
+    void repeteNoMaximoUmaVez() {
+        SQLException segunda = chaveDuplicada();
+        ConexaoFalsa conexao = new ConexaoFalsa(chaveDuplicada(), segunda);
+
+        SQLException lancada = assertThrows(SQLException.class,
+                () -> AgregadoHumorDAO.executarMerge(conexao.proxy(), SQL, PreparedStatement::addBatch));
+
+        assertSame(segunda, lancada);
+        assertEquals(2, conexao.eventos.stream().filter("executeBatch"::equals).count());
+    }
+
+    private static SQLException chaveDuplicada() {
+        return new SQLException("ORA-00001: unique constraint (PK_H_HUMOR_EQUIPE_DIA) violated", "23000", 1);
+    }
+
+    private static final class ConexaoFalsa {
+        private final List<SQLException> falhas;
+        private final List<String> eventos = new ArrayList<>();
+        private final Savepoint savepoint = (Savepoint) Proxy.newProxyInstance(AgregadoHumorDAOTest.class.getClassLoader(),
+                new Class<?>[] {Savepoint.class}, (instancia, metodo, argumentos) -> null);
+
+        ConexaoFalsa(SQLException... falhas) {
+            this.falhas = new ArrayList<>(Arrays.asList(falhas));
+        }
+
+        Connection proxy() {
+            return (Connection) Proxy.newProxyInstance(AgregadoHumorDAOTest.class.getClassLoader(), new Class<?>[] {Connection.class},
+                    (instancia, metodo, argumentos) -> switch (metodo.getName()) {
+                        case "setSavepoint" -> {
+                            eventos.add("savepoint");
+                            yield savepoint;
+                        }
+                        case "rollback" -> {
+                            eventos.add(argumentos[0] == savepoint ? "rollback savepoint" : "rollback");
+                            yield null;
+                        }
+                        case "prepareStatement" -> {
+                            assertEquals(SQL, argumentos[0]);
+                            eventos.add("prepare");
+                            yield comando();
+                        }
+                        default -> throw new UnsupportedOperationException(metodo.getName());
+                    });
+        }
+
+        private PreparedStatement comando() {
+            return (PreparedStatement) Proxy.newProxyInstance(AgregadoHumorDAOTest.class.getClassLoader(), new Class<?>[] {PreparedStatement.class},
+                    (instancia, metodo, argumentos) -> switch (metodo.getName()) {
+                        case "setInt" -> {
+                            eventos.add("setInt " + argumentos[1]);
+                            yield null;
+                        }
+                        case "addBatch", "close" -> {
+                            eventos.add(metodo.getName());
+                            yield null;
+                        }
+                        case "executeBatch" -> {
+                            eventos.add("executeBatch");
+                            SQLException falha = falhas.isEmpty() ? null : falhas.remove(0);
+                            if (falha != null) {
+                                throw falha;
+                            }
+                            yield new int[0];
+                        }
+                        default -> throw new UnsupportedOperationException(metodo.getName());
+                    });
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package br.com.fiap.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClausulaInTest {
+
+    @Test
+    void particionaEmBlocosDeAteMilValores() {
+        List<Integer> ids = IntStream.rangeClosed(1, 2500).boxed().toList();
+
+        List<List<Integer>> blocos = ClausulaIn.particionar(ids);
+
+        assertEquals(3, blocos.size());
+        assertEquals(1000, blocos.get(0).size());
+        assertEquals(1000, blocos.get(1).size());
+        assertEquals(500, blocos.get(2).size());
+        assertEquals(1, blocos.get(0).get(0));
+        assertEquals(2500, blocos.get(2).get(499));
+    }
+
+    @Test
+    void listaVaziaNaoGeraBlocos() {
+        assertTrue(ClausulaIn.particionar(List.of()).isEmpty());
+    }
+
+    @Test
+    void marcadoresCompletadosAteOTamanhoFixoDoBloco() {
+        assertEquals(1, quantidadeMarcadores(ClausulaIn.marcadores(1)));
+        assertEquals(8, quantidadeMarcadores(ClausulaIn.marcadores(2)));
+        assertEquals(8, quantidadeMarcadores(ClausulaIn.marcadores(8)));
+        assertEquals(32, quantidadeMarcadores(ClausulaIn.marcadores(9)));
+        assertEquals(512, quantidadeMarcadores(ClausulaIn.marcadores(300)));
+        assertEquals(1000, quantidadeMarcadores(ClausulaIn.marcadores(513)));
+        assertEquals("?, ?, ?, ?, ?, ?, ?, ?", ClausulaIn.marcadores(5));
+    }
+
+    @Test
+    void blocoAcimaDoLimiteERecusado() {
+        assertThrows(IllegalArgumentException.class, () -> ClausulaIn.marcadores(ClausulaIn.LIMITE_IDS + 1));
+    }
+
+    @Test
+    void preencheRepetindoOUltimoValorAteOTamanhoDoBloco() throws Exception {
+        Map<Integer, Object> parametros = new LinkedHashMap<>();
+
+        int proxima = ClausulaIn.preencher(registrarParametros(parametros), 3, List.of(10, 20, 30));
+
+        assertEquals(11, proxima);
+        assertEquals(8, parametros.size());
+        assertEquals(List.of(10, 20, 30, 30, 30, 30, 30, 30), new ArrayList<>(parametros.values()));
+        assertEquals(3, parametros.keySet().iterator().next());
+    }
+
+    // Conta os "?" do SQL gerado
+    private static long quantidadeMarcadores(String sql) {
+        return sql.chars().filter(c -> c == '?').count();
+    }
+
+    // PreparedStatement que apenas registra os parâmetros recebidos por setObject
+    private static PreparedStatement registrarParametros(Map<Integer, Object> parametros) {
+        return (PreparedStatement) Proxy.newProxyInstance(ClausulaInTest.class.getClassLoader(),
+                new Class<?>[] {PreparedStatement.class}, (proxy, metodo, argumentos) -> {
+                    if ("setObject".equals(metodo.getName())) {
+                        parametros.put((Integer) argumentos[0], argumentos[1]);
+                        return null;
+                    }
+                    throw new UnsupportedOperationException(metodo.getName());
+                });
+    }
+}
@@ -0,0 +1,178 @@
+package br.com.fiap.dao;
+
+import br.com.fiap.bo.CheckinHumorBO;
+import br.com.fiap.exception.BancoIndisponivelException;
+import br.com.fiap.exception.PersistenciaException;
+import br.com.fiap.to.CheckinHumorTO;
+import br.com.fiap.to.ResultadoLoteTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Requer o diário habilitado (humanize.checkin.diario.*, definidos no maven-surefire-plugin).
+ */
+class DiarioCheckinHumorTest {
+
+    private static final LocalDate DATA = LocalDate.of(2025, 3, 10);
+
+    @BeforeEach
+    @AfterEach
+    void esvaziarDiario() {
+        for (Path segmento : DiarioCheckinHumor.selarSegmentos()) {
+            DiarioCheckinHumor.descartar(segmento, DiarioCheckinHumor.ler(segmento).size(), 0);
+        }
+    }
+
+    @Test
+    void registraELeOsCheckinsNaOrdemDeGravacao() {
+        long pendentesAntes = DiarioCheckinHumor.getPendentes();
+        assertTrue(DiarioCheckinHumor.registrar(checkin(1)));
+        assertTrue(DiarioCheckinHumor.registrar(checkin(2)));
+        CheckinHumorTO semOpcionais = checkin(3);
+        semOpcionais.setBloqueios(null);
+        semOpcionais.setPequenoGanho(null);
+        assertTrue(DiarioCheckinHumor.registrar(semOpcionais));
+
+        List<CheckinHumorTO> lidos = lerTodos();
+
+        assertEquals(3, lidos.size());
+        assertEquals(List.of(1, 2, 3), lidos.stream().map(CheckinHumorTO::getFuncionarioId).toList());
+        CheckinHumorTO primeiro = lidos.get(0);
+        assertEquals(DATA, primeiro.getDataCheckin());
+        assertEquals(4, primeiro.getNivelEnergia());
+        assertEquals("Motivado", primeiro.getSentimento());
+        assertEquals("Reuniões demais", primeiro.getBloqueios());
+        assertEquals(3, primeiro.getNivelConexao());
+        assertEquals("Terminei o relatório", primeiro.getPequenoGanho());
+        assertNull(lidos.get(2).getBloqueios());
+        assertNull(lidos.get(2).getPequenoGanho());
+        assertEquals(pendentesAntes + 3, DiarioCheckinHumor.getPendentes());
+    }
+
+    @Test
+    void segmentoCheioContinuaEmUmNovoSegmento() {
+        int total = 2000;
+        for (int i = 1; i <= total; i++) {
+            assertTrue(DiarioCheckinHumor.registrar(checkin(i)));
+        }
+
+        List<Path> segmentos = DiarioCheckinHumor.selarSegmentos();
+        List<CheckinHumorTO> lidos = new ArrayList<>();
+        for (Path segmento : segmentos) {
+            lidos.addAll(DiarioCheckinHumor.ler(segmento));
+        }
+
+        assertTrue(segmentos.size() > 1, "esperados vários segmentos");
+        assertEquals(total, lidos.size());
+        for (int i = 0; i < total; i++) {
+            assertEquals(i + 1, lidos.get(i).getFuncionarioId());
+        }
+    }
+
+    @Test
+    void crcDivergenteEncerraALeituraDoSegmento() throws Exception {
+        for (int i = 1; i <= 3; i++) {
+            DiarioCheckinHumor.registrar(checkin(i));
+        }
+        List<Path> segmentos = DiarioCheckinHumor.selarSegmentos();
+        assertEquals(1, segmentos.size());
+
+        // Altera um byte dos dados do segundo registro ([tamanho][CRC32][dados])
+        try (FileChannel canal = FileChannel.open(segmentos.get(0), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer tamanho = ByteBuffer.allocate(Integer.BYTES);
+            canal.read(tamanho, 0);
+            long posicao = Integer.BYTES + Long.BYTES + tamanho.flip().getInt() + Integer.BYTES + Long.BYTES + 2;
+            ByteBuffer original = ByteBuffer.allocate(1);
+            canal.read(original, posicao);
+            canal.write(ByteBuffer.wrap(new byte[] {(byte) (original.get(0) ^ 0x7F)}), posicao);
+        }
+
+        List<CheckinHumorTO> lidos = DiarioCheckinHumor.ler(segmentos.get(0));
+
+        assertEquals(1, lidos.size());
+        assertEquals(1, lidos.get(0).getFuncionarioId());
+    }
+
+    @Test
+    void reprocessamentoGravaOsValidosEMoveOsRecusadosParaAQuarentena() {
+        long pendentesAntes = DiarioCheckinHumor.getPendentes();
+        // 666: recusado pelo banco (erro permanente); 777: funcionário excluído (INVALIDO)
+        for (int funcionarioId : new int[] {1, 666, 2, 777, 3}) {
+            DiarioCheckinHumor.registrar(checkin(funcionarioId));
+        }
+        long rejeitadosAntes = (Long) DiarioCheckinHumor.getEstatisticas().get("rejeitados");
+        List<Integer> gravados = new ArrayList<>();
+
+        CheckinHumorBO bo = new CheckinHumorBO() {
+            @Override
+            public ArrayList<String> salvarLote(List<CheckinHumorTO> checkins) {
+                if (checkins.stream().anyMatch(c -> c.getFuncionarioId() == 666)) {
+                    throw new PersistenciaException("ORA-02291: integrity constraint violated");
+                }
+                ArrayList<String> status = new ArrayList<>();
+                for (CheckinHumorTO checkin : checkins) {
+                    if (checkin.getFuncionarioId() == 777) {
+                        status.add(ResultadoLoteTO.INVALIDO);
+                    } else {
+                        gravados.add(checkin.getFuncionarioId());
+                        status.add(ResultadoLoteTO.CRIADO);
+                    }
+                }
+                return status;
+            }
+        };
+
+        assertEquals(5, bo.reprocessarDiario());
+
+        assertEquals(List.of(1, 2, 3), gravados);
+        assertEquals(rejeitadosAntes + 2, (Long) DiarioCheckinHumor.getEstatisticas().get("rejeitados"));
+        assertEquals(pendentesAntes, DiarioCheckinHumor.getPendentes());
+        assertTrue(DiarioCheckinHumor.selarSegmentos().isEmpty(), "segmento reprocessado deve ser removido");
+    }
+
+    @Test
+    void bancoIndisponivelMantemOSegmentoParaOProximoCiclo() {
+        long pendentesAntes = DiarioCheckinHumor.getPendentes();
+        DiarioCheckinHumor.registrar(checkin(1));
+        DiarioCheckinHumor.registrar(checkin(2));
+
+        CheckinHumorBO bo = new CheckinHumorBO() {
+            @Override
+            public ArrayList<String> salvarLote(List<CheckinHumorTO> checkins) {
+                throw new BancoIndisponivelException("Banco de dados indisponível.");
+            }
+        };
+
+        assertThrows(BancoIndisponivelException.class, bo::reprocessarDiario);
+
+        assertEquals(pendentesAntes + 2, DiarioCheckinHumor.getPendentes());
+        assertEquals(2, lerTodos().size());
+    }
+
+    private static List<CheckinHumorTO> lerTodos() {
+        List<CheckinHumorTO> lidos = new ArrayList<>();
+        for (Path segmento : DiarioCheckinHumor.selarSegmentos()) {
+            lidos.addAll(DiarioCheckinHumor.ler(segmento));
+        }
+        return lidos;
+    }
+
+    private static CheckinHumorTO checkin(int funcionarioId) {
+        return new CheckinHumorTO(0, funcionarioId, DATA, 4, "Motivado", "Normal", "Reuniões demais", "Sim",
+                3, "Boa", "Boa", "Sim", "Terminei o relatório");
+    }
+}
@@ -0,0 +1,176 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.cache.RespostaJsonPreSerializada;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.core.UriInfo;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CacheHttpFilterTest {
+
+    private final CacheHttpFilter filtro = new CacheHttpFilter();
+
+    @Test
+    void getSemEtagRecebeEtagForteDoCorpoSerializado() throws Exception {
+        Resposta resposta = new Resposta(200, "[{\"id\":1}]");
+
+        filtro.filter(requisicao("GET", "/funcionarios/1", null), resposta.contexto());
+
+        byte[] corpo = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        assertEquals(200, resposta.status);
+        assertArrayEquals(corpo, (byte[]) resposta.entidade);
+        assertEquals(RespostaJsonPreSerializada.etagForte(corpo), resposta.headers.getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void ifNoneMatchIgualAoEtagRetorna304SemCorpo() throws Exception {
+        String etag = RespostaJsonPreSerializada.etagForte("conteudo".getBytes(StandardCharsets.UTF_8));
+        Resposta resposta = new Resposta(200, "conteudo");
+        resposta.headers.putSingle(HttpHeaders.CONTENT_ENCODING, "gzip");
+
+        filtro.filter(requisicao("GET", "/equipes", etag), resposta.contexto());
+
+        assertEquals(304, resposta.status);
+        assertNull(resposta.entidade);
+        assertEquals(etag, resposta.headers.getFirst(HttpHeaders.ETAG));
+        assertFalse(resposta.headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void ifNoneMatchFracoEmListaTambemCorresponde() throws Exception {
+        String etag = RespostaJsonPreSerializada.etagForte("conteudo".getBytes(StandardCharsets.UTF_8));
+        Resposta resposta = new Resposta(200, "conteudo");
+
+        filtro.filter(requisicao("GET", "/equipes", "\"outro\", W/" + etag), resposta.contexto());
+
+        assertEquals(304, resposta.status);
+    }
+
+    @Test
+    void ifNoneMatchDiferenteMantem200ComCorpo() throws Exception {
+        Resposta resposta = new Resposta(200, "conteudo");
+
+        filtro.filter(requisicao("GET", "/equipes", "\"desatualizado\""), resposta.contexto());
+
+        assertEquals(200, resposta.status);
+        assertArrayEquals("conteudo".getBytes(StandardCharsets.UTF_8), (byte[]) resposta.entidade);
+    }
+
+    @Test
+    void etagDefinidoPeloResourceEhMantido() throws Exception {
+        Resposta resposta = new Resposta(200, "favoritos");
+        resposta.headers.putSingle(HttpHeaders.ETAG, "\"v7\"");
+
+        filtro.filter(requisicao("GET", "/funcionarios/1/recursos", "\"v7\""), resposta.contexto());
+
+        assertEquals(304, resposta.status);
+        assertEquals("\"v7\"", resposta.headers.getFirst(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void cacheControlDefinidoPorEndpoint() throws Exception {
+        Resposta referencia = new Resposta(200, "[]");
+        filtro.filter(requisicao("GET", "/funcoes", null), referencia.contexto());
+        assertEquals("public, max-age=300", referencia.headers.getFirst(HttpHeaders.CACHE_CONTROL));
+
+        Resposta privada = new Resposta(200, "{}");
+        filtro.filter(requisicao("GET", "/funcionarios/1", null), privada.contexto());
+        assertEquals("private, no-cache", privada.headers.getFirst(HttpHeaders.CACHE_CONTROL));
+
+        // Métricas: nunca armazenadas, sem ETag
+        Resposta metricas = new Resposta(200, "{}");
+        filtro.filter(requisicao("GET", "/metricas/caches", null), metricas.contexto());
+        assertEquals("no-store", metricas.headers.getFirst(HttpHeaders.CACHE_CONTROL));
+        assertFalse(metricas.headers.containsKey(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void respostasQueNaoSaoGet200NaoSaoAlteradas() throws Exception {
+        Resposta post = new Resposta(201, "criado");
+        filtro.filter(requisicao("POST", "/checkins", "*"), post.contexto());
+        assertEquals(201, post.status);
+        assertEquals("criado", post.entidade);
+        assertFalse(post.headers.containsKey(HttpHeaders.ETAG));
+
+        Resposta erro = new Resposta(404, "não encontrado");
+        filtro.filter(requisicao("GET", "/funcionarios/99", "*"), erro.contexto());
+        assertEquals(404, erro.status);
+        assertFalse(erro.headers.containsKey(HttpHeaders.CACHE_CONTROL));
+    }
+
+    // Requisição com método, caminho e If-None-Match (opcional)
+    private static ContainerRequestContext requisicao(String metodo, String caminho, String ifNoneMatch) {
+        UriInfo uriInfo = proxy(UriInfo.class, Map.of("getPath", argumentos -> caminho));
+        Map<String, Chamada> chamadas = new HashMap<>();
+        chamadas.put("getMethod", argumentos -> metodo);
+        chamadas.put("getUriInfo", argumentos -> uriInfo);
+        chamadas.put("getHeaderString", argumentos -> HttpHeaders.IF_NONE_MATCH.equals(argumentos[0]) ? ifNoneMatch : null);
+        return proxy(ContainerRequestContext.class, chamadas);
+    }
+
+    // Resposta mutável (status, corpo e cabeçalhos) observada pelos testes
+    private static final class Resposta {
+        int status;
+        Object entidade;
+        final MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+
+        Resposta(int status, Object entidade) {
+            this.status = status;
+            this.entidade = entidade;
+        }
+
+        ContainerResponseContext contexto() {
+            Map<String, Chamada> chamadas = new HashMap<>();
+            chamadas.put("getStatus", argumentos -> status);
+            chamadas.put("setStatus", argumentos -> {
+                status = (Integer) argumentos[0];
+                return null;
+            });
+            chamadas.put("getHeaders", argumentos -> headers);
+            chamadas.put("getHeaderString", argumentos -> {
+                List<Object> valores = headers.get((String) argumentos[0]);
+                return valores == null || valores.isEmpty() ? null : String.valueOf(valores.get(0));
+            });
+            chamadas.put("hasEntity", argumentos -> entidade != null);
+            chamadas.put("getEntity", argumentos -> entidade);
+            chamadas.put("setEntity", argumentos -> {
+                entidade = argumentos[0];
+                return null;
+            });
+            chamadas.put("getEntityAnnotations", argumentos -> new Annotation[0]);
+            chamadas.put("getMediaType", argumentos -> null);
+            return proxy(ContainerResponseContext.class, chamadas);
+        }
+    }
+
+    private interface Chamada {
+        Object executar(Object[] argumentos);
+    }
+
+    // Implementa somente os métodos usados pelo filtro
+    private static <T> T proxy(Class<T> tipo, Map<String, Chamada> chamadas) {
+        return tipo.cast(Proxy.newProxyInstance(CacheHttpFilterTest.class.getClassLoader(), new Class<?>[] {tipo},
+                (instancia, metodo, argumentos) -> {
+                    Chamada chamada = chamadas.get(metodo.getName());
+                    if (chamada == null) {
+                        throw new UnsupportedOperationException(metodo.getName());
+                    }
+                    return chamada.executar(argumentos);
+                }));
+    }
+}